@@ -0,0 +1,87 @@
+package com.example.othello.bench;
+
+import com.example.othello.engine.BitBoard;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rule primitives on the move path, each run over the whole corpus per invocation.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class MoveGenerationBenchmark {
+
+    private static final int CORPUS_SIZE = 8;
+
+    @Param({"midgame", "endgame"})
+    public String corpus;
+
+    private Positions.Position[] positions;
+    private int[] firstMove;
+
+    @Setup
+    public void setup() {
+        positions = Positions.named(corpus);
+        firstMove = new int[positions.length];
+        for (int i = 0; i < positions.length; i++) {
+            Positions.Position p = positions[i];
+            firstMove[i] = Long.numberOfTrailingZeros(BitBoard.legalMoves(p.own(), p.opp()));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CORPUS_SIZE)
+    public void legalMoves(Blackhole bh) {
+        for (Positions.Position p : positions) bh.consume(BitBoard.legalMoves(p.own(), p.opp()));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CORPUS_SIZE)
+    public void flips(Blackhole bh) {
+        for (int i = 0; i < positions.length; i++) {
+            Positions.Position p = positions[i];
+            bh.consume(BitBoard.flips(p.own(), p.opp(), firstMove[i]));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CORPUS_SIZE)
+    public void applyMove(Blackhole bh) {
+        for (int i = 0; i < positions.length; i++) {
+            Positions.Position p = positions[i];
+            BitBoard board = new BitBoard(p.black, p.white);
+            bh.consume(board.applyMove(firstMove[i] >>> 3, firstMove[i] & 7, p.sideToMove));
+        }
+    }
+
+    /** The per-move work of OthelloService.checkGameOver: both sides' mobility, then the disc count. */
+    @Benchmark
+    @OperationsPerInvocation(CORPUS_SIZE)
+    public void gameOverCheck(Blackhole bh) {
+        for (Positions.Position p : positions) {
+            BitBoard board = new BitBoard(p.black, p.white);
+            boolean blackHasMove = board.hasValidMove(BitBoard.BLACK);
+            boolean whiteHasMove = board.hasValidMove(BitBoard.WHITE);
+            bh.consume(!blackHasMove && !whiteHasMove
+                    ? board.count(BitBoard.BLACK) - board.count(BitBoard.WHITE)
+                    : blackHasMove ? 1 : 2);
+        }
+    }
+}
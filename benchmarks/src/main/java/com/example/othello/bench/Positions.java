@@ -0,0 +1,73 @@
+package com.example.othello.bench;
+
+import com.example.othello.engine.BitBoard;
+
+/**
+ * Fixed benchmark corpus. Boards are 64 characters in row-major order
+ * ('.' empty, 'B' black, 'W' white), taken from seeded random games so results
+ * stay comparable between releases.
+ */
+final class Positions {
+
+    /** A corpus position and the side to move in it. */
+    static final class Position {
+        final long black;
+        final long white;
+        final int sideToMove;
+
+        Position(String board, int sideToMove) {
+            long b = 0, w = 0;
+            for (int sq = 0; sq < 64; sq++) {
+                char c = board.charAt(sq);
+                if (c == 'B') b |= 1L << sq;
+                else if (c == 'W') w |= 1L << sq;
+            }
+            this.black = b;
+            this.white = w;
+            this.sideToMove = sideToMove;
+        }
+
+        long own() {
+            return sideToMove == BitBoard.BLACK ? black : white;
+        }
+
+        long opp() {
+            return sideToMove == BitBoard.BLACK ? white : black;
+        }
+
+        BitBoard board() {
+            return new BitBoard(black, white);
+        }
+    }
+
+    // 39-40 empties
+    static final Position[] MIDGAME = {
+            new Position(".W.W....WWWW......BWB....BBBW....BBBBW.....BWWW......W........W.", BitBoard.BLACK),
+            new Position(".....................BBW..BBBBWW..WBBW.W.WWWWW.W...WWWW.........", BitBoard.BLACK),
+            new Position("........B..W.....BWWBB.W..WWWBWB.WWWWW....BBB.W.....B...........", BitBoard.BLACK),
+            new Position(".................W.......WBBBBB..WBBWWW..WWWWWWW...WB......W.B..", BitBoard.BLACK),
+            new Position("..........B..B....BWB.....BWWBBB.BBWW.B..BWW.W...BWWWW..........", BitBoard.WHITE),
+            new Position("......W..B..BW..WWBWWB....WBWWB...WWB.....WBWB......BW......B...", BitBoard.WHITE),
+            new Position(".....B......B....WBBBBB...WBB.W..WWWWB.....BBBB.....BB.....WB...", BitBoard.WHITE),
+            new Position("..W.B.....W.B.....WWB.....WBBB...BWBBB..BBWB.B..W.BB.......B....", BitBoard.WHITE),
+    };
+
+    // 13-14 empties, inside the exact solver's range
+    static final Position[] ENDGAME = {
+            new Position("BW.B.B..BBWWWWW.BWBW.WB.BWWBWB.BBWWWBWWBBWWWWWWBB.BWWWBBB....W.B", BitBoard.BLACK),
+            new Position("B.W.WB.BWWWWWWB.W.WBWBB.WWWWWB.B.BWWBBB.BWBBBBW.WWB.B.BWWWBBBB..", BitBoard.BLACK),
+            new Position("..BW.BBW.W.BWBWW..WWBWBWBBWBBWBW.BWWBBB..BWWBWBB.BWWWWBBB..WWWW.", BitBoard.BLACK),
+            new Position("WWW.WWWBWWWBWWB.WWWWWBWBWBWBBWB.BWWBWWB...WWWBBB.BWWBBB......B.B", BitBoard.BLACK),
+            new Position(".W.BWW..BWWBBBBBBWBWBWBWBWBBWWBWBWBBBWBW.BBWBW.WBBBWWW.W...B.W..", BitBoard.WHITE),
+            new Position("W...BBBW.WB.WBW.WWBWBW...WBWWBWBBBBBWWWW.BBWWBWWWWWWWWWW.BBBW..W", BitBoard.WHITE),
+            new Position("..BBWW...BB.WWW.B.BWWWWWBBBWW.W.BBBBWBWBBBWWBWW.BBBWWWWWBBBBB.B.", BitBoard.WHITE),
+            new Position(".BWWWWW.WBBWWWW.WBBBWB..WBWWBWBWWWBWBB.BWWWBWBBB..WWBB....BBBBW.", BitBoard.WHITE),
+    };
+
+    static Position[] named(String corpus) {
+        return "endgame".equals(corpus) ? ENDGAME : MIDGAME;
+    }
+
+    private Positions() {
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.othello.bench;
+
+import org.openjdk.jmh.Main;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Entry point of benchmarks.jar: JMH's own launcher, except that results are written
+ * as JSON to {@code jmh-results.json} unless {@code -rf}/{@code -rff} are given, so
+ * every run leaves a file that can be diffed against the previous release.
+ */
+public final class RunBenchmarks {
+
+    private RunBenchmarks() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        List<String> options = new ArrayList<>(Arrays.asList(args));
+        if (!options.contains("-rf")) options.addAll(List.of("-rf", "json"));
+        if (!options.contains("-rff")) options.addAll(List.of("-rff", "jmh-results.json"));
+        Main.main(options.toArray(new String[0]));
+    }
+}
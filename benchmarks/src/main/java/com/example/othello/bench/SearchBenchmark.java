@@ -0,0 +1,113 @@
+package com.example.othello.bench;
+
+import com.example.othello.engine.EndgameSolver;
+import com.example.othello.engine.SearchEngine;
+import com.example.othello.engine.SearchResult;
+import com.example.othello.engine.TranspositionTable;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * AI move selection over the corpus: fixed-depth search time, what a fixed time
+ * budget buys (reported as depth and node counters), and exact endgame solves.
+ * The transposition table is cleared before every invocation so runs do not
+ * feed each other.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SearchBenchmark {
+
+    private static final int CORPUS_SIZE = 8;
+    private static final long NO_BUDGET_MS = 600_000;
+
+    @State(Scope.Thread)
+    public static class Engine {
+        TranspositionTable table;
+        SearchEngine engine;
+        EndgameSolver solver;
+
+        @Setup(Level.Trial)
+        public void create() {
+            table = new TranspositionTable(64);
+            engine = new SearchEngine(table);
+            solver = new EndgameSolver();
+        }
+
+        @Setup(Level.Invocation)
+        public void clearTable() {
+            table.clear();
+        }
+    }
+
+    public static class FixedDepth extends Engine {
+        @Param({"4", "6", "8"})
+        public int depth;
+    }
+
+    public static class Budget extends Engine {
+        @Param({"50", "200"})
+        public long budgetMs;
+    }
+
+    /** Reported next to the timing in the results, per operation. */
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    @State(Scope.Thread)
+    public static class Work {
+        public long nodes;
+        public long depthReached;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CORPUS_SIZE)
+    public int fixedDepth(FixedDepth e, Work work) {
+        int sum = 0;
+        for (Positions.Position p : Positions.MIDGAME) {
+            SearchResult r = e.engine.search(p.own(), p.opp(), p.sideToMove, NO_BUDGET_MS, e.depth);
+            work.nodes += r.getNodes();
+            sum += r.getMove();
+        }
+        return sum;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CORPUS_SIZE)
+    public int timeBudget(Budget e, Work work) {
+        int sum = 0;
+        for (Positions.Position p : Positions.MIDGAME) {
+            SearchResult r = e.engine.search(p.own(), p.opp(), p.sideToMove, e.budgetMs, 64);
+            work.nodes += r.getNodes();
+            work.depthReached += r.getDepth();
+            sum += r.getMove();
+        }
+        return sum;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CORPUS_SIZE)
+    public int endgameSolve(Engine e, Work work) {
+        int sum = 0;
+        for (Positions.Position p : Positions.ENDGAME) {
+            SearchResult r = e.solver.solve(p.own(), p.opp(), NO_BUDGET_MS);
+            work.nodes += r.getNodes();
+            sum += r.getScore();
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.othello.bench;
+
+import com.example.othello.engine.BitBoard;
+import com.example.othello.model.CompactGameState;
+import com.example.othello.model.GameState;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson cost of a GameState response, full JSON against the compact format,
+ * early in a game and at its end. A compact response sends only the newest ply.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class SerializationBenchmark {
+
+    @Param({"4", "60"})
+    public int plies;
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private GameState state;
+
+    @Setup
+    public void setup() {
+        state = new GameState();
+        state.setGameId("bench");
+        state.setBlackPlayerName("Benchmark");
+        BitBoard position = state.getPosition();
+        Random random = new Random(42);
+        int player = BitBoard.BLACK;
+        while (state.getMoves().size() < plies) {
+            long moves = position.legalMoves(player);
+            if (moves == 0) {
+                if (!position.hasValidMove(BitBoard.opponent(player))) break;
+                state.getMoves().addPass(false);
+            } else {
+                for (int skip = random.nextInt(Long.bitCount(moves)); skip > 0; skip--) moves &= moves - 1;
+                int sq = Long.numberOfTrailingZeros(moves);
+                position.applyMove(sq >>> 3, sq & 7, player);
+                state.getMoves().addMove(sq, player == BitBoard.WHITE);
+                state.setLastMove(new int[]{sq >>> 3, sq & 7});
+            }
+            player = BitBoard.opponent(player);
+        }
+        state.setCurrentPlayer(player);
+    }
+
+    @Benchmark
+    public String fullJson() throws JsonProcessingException {
+        return mapper.writeValueAsString(state);
+    }
+
+    @Benchmark
+    public String compactJson() throws JsonProcessingException {
+        return mapper.writeValueAsString(CompactGameState.of(state, state.historySize() - 1));
+    }
+}
@@ -0,0 +1,186 @@
+package com.example.othello.engine;
+
+/**
+ * Othello position held as two 64-bit masks, one per colour.
+ * Square index is {@code row * 8 + col}, so bit 0 is (0, 0) and bit 63 is (7, 7).
+ * Players use the same encoding as {@code GameState}: 1 = Black, 2 = White.
+ *
+ * Move generation and flipping are done with shift-and-mask floods over the
+ * eight directions, so nothing on the move path allocates.
+ */
+public final class BitBoard {
+
+    public static final int EMPTY = 0;
+    public static final int BLACK = 1;
+    public static final int WHITE = 2;
+
+    // Masks that clear the column a shift would wrap into
+    private static final long NOT_A_FILE = 0xfefefefefefefefeL; // column 0 cleared
+    private static final long NOT_H_FILE = 0x7f7f7f7f7f7f7f7fL; // column 7 cleared
+
+    // E, W, S, N, SE, SW, NE, NW
+    private static final int[] SHIFTS = {1, -1, 8, -8, 9, 7, -7, -9};
+    private static final long[] MASKS = {
+            NOT_A_FILE, NOT_H_FILE, -1L, -1L, NOT_A_FILE, NOT_H_FILE, NOT_A_FILE, NOT_H_FILE
+    };
+
+    private long black;
+    private long white;
+
+    public BitBoard() {
+        reset();
+    }
+
+    public BitBoard(long black, long white) {
+        this.black = black;
+        this.white = white;
+    }
+
+    public void reset() {
+        black = bit(3, 4) | bit(4, 3);
+        white = bit(3, 3) | bit(4, 4);
+    }
+
+    // ---------------- Accessors ----------------
+    public long getBlack() {
+        return black;
+    }
+
+    public long getWhite() {
+        return white;
+    }
+
+    public long discs(int player) {
+        return player == BLACK ? black : white;
+    }
+
+    public int get(int row, int col) {
+        long m = bit(row, col);
+        if ((black & m) != 0) return BLACK;
+        if ((white & m) != 0) return WHITE;
+        return EMPTY;
+    }
+
+    public int count(int player) {
+        return Long.bitCount(discs(player));
+    }
+
+    public BitBoard copy() {
+        return new BitBoard(black, white);
+    }
+
+    // ---------------- Rules ----------------
+    public boolean isValidMove(int row, int col, int player) {
+        return (legalMoves(player) & bit(row, col)) != 0;
+    }
+
+    public boolean hasValidMove(int player) {
+        return legalMoves(player) != 0;
+    }
+
+    public long legalMoves(int player) {
+        return player == BLACK ? legalMoves(black, white) : legalMoves(white, black);
+    }
+
+    public int countFlippableDiscs(int row, int col, int player) {
+        long own = discs(player), opp = discs(opponent(player));
+        int sq = square(row, col);
+        if (((own | opp) & (1L << sq)) != 0) return 0;
+        return Long.bitCount(flips(own, opp, sq));
+    }
+
+    /**
+     * Places a disc for {@code player} at (row, col) and flips the bracketed discs.
+     * Returns false and leaves the board untouched if the move is illegal.
+     */
+    public boolean applyMove(int row, int col, int player) {
+        int sq = square(row, col);
+        long m = 1L << sq;
+        if (((black | white) & m) != 0) return false;
+        long own = discs(player), opp = discs(opponent(player));
+        long f = flips(own, opp, sq);
+        if (f == 0) return false;
+        own |= f | m;
+        opp &= ~f;
+        if (player == BLACK) {
+            black = own;
+            white = opp;
+        } else {
+            white = own;
+            black = opp;
+        }
+        return true;
+    }
+
+    // ---------------- int[][] conversion (GameState JSON shape) ----------------
+    public int[][] toArray() {
+        int[][] board = new int[8][8];
+        for (int sq = 0; sq < 64; sq++) {
+            long m = 1L << sq;
+            if ((black & m) != 0) board[sq >>> 3][sq & 7] = BLACK;
+            else if ((white & m) != 0) board[sq >>> 3][sq & 7] = WHITE;
+        }
+        return board;
+    }
+
+    public static BitBoard fromArray(int[][] board) {
+        long b = 0, w = 0;
+        for (int r = 0; r < 8; r++) {
+            for (int c = 0; c < 8; c++) {
+                if (board[r][c] == BLACK) b |= bit(r, c);
+                else if (board[r][c] == WHITE) w |= bit(r, c);
+            }
+        }
+        return new BitBoard(b, w);
+    }
+
+    // ---------------- Static bit helpers (used by search code) ----------------
+    public static int opponent(int player) {
+        return player == BLACK ? WHITE : BLACK;
+    }
+
+    public static int square(int row, int col) {
+        return row * 8 + col;
+    }
+
+    public static long bit(int row, int col) {
+        return 1L << square(row, col);
+    }
+
+    private static long shift(long b, int dir) {
+        int s = SHIFTS[dir];
+        return (s > 0 ? b << s : b >>> -s) & MASKS[dir];
+    }
+
+    /** All empty squares where {@code own} may legally play against {@code opp}. */
+    public static long legalMoves(long own, long opp) {
+        long empty = ~(own | opp);
+        long moves = 0;
+        for (int d = 0; d < 8; d++) {
+            long x = shift(own, d) & opp;
+            x |= shift(x, d) & opp;
+            x |= shift(x, d) & opp;
+            x |= shift(x, d) & opp;
+            x |= shift(x, d) & opp;
+            x |= shift(x, d) & opp;
+            moves |= shift(x, d) & empty;
+        }
+        return moves;
+    }
+
+    /** Mask of opponent discs flipped when {@code own} plays on {@code sq}; 0 if the move is illegal. */
+    public static long flips(long own, long opp, int sq) {
+        long m = 1L << sq;
+        long flipped = 0;
+        for (int d = 0; d < 8; d++) {
+            long line = 0;
+            long x = shift(m, d);
+            while ((x & opp) != 0) {
+                line |= x;
+                x = shift(x, d);
+            }
+            if ((x & own) != 0) flipped |= line;
+        }
+        return flipped;
+    }
+}
@@ -0,0 +1,178 @@
+package com.example.othello.engine;
+
+/**
+ * Exact endgame solver: plays every line to the end and returns the perfect-play
+ * disc differential (empties counted for the winner) together with the best move.
+ *
+ * Move ordering uses fewest opponent replies while many squares are empty and
+ * quadrant parity (odd regions first) near the end, where computing mobility
+ * costs more than it saves. All buffers are preallocated, so a solve makes no
+ * garbage; like SearchEngine, an instance must not be shared between threads.
+ */
+public class EndgameSolver {
+
+    // Below this many empties, parity ordering alone is used
+    private static final int MOBILITY_ORDER_MIN_EMPTIES = 7;
+    private static final int TIME_CHECK_MASK = 4095;
+    private static final int MAX_MOVES = 40;
+
+    private static final long CORNERS = 0x8100000000000081L;
+    private static final long[] QUADRANTS = {
+            0x000000000f0f0f0fL, 0x00000000f0f0f0f0L, 0x0f0f0f0f00000000L, 0xf0f0f0f000000000L
+    };
+
+    private final int[][] moveBuf = new int[65][MAX_MOVES];
+    private final int[][] keyBuf = new int[65][MAX_MOVES];
+
+    private long nodes;
+    private long deadline;
+    private boolean aborted;
+
+    /**
+     * Solves the position for the side owning {@code own}. Returns null if the
+     * solve did not finish within {@code budgetMillis}; the score of a finished
+     * solve is the final disc differential times {@link SearchEngine#WIN_SCALE}.
+     */
+    public SearchResult solve(long own, long opp, long budgetMillis) {
+        long start = System.nanoTime();
+        deadline = start + budgetMillis * 1_000_000L;
+        nodes = 0;
+        aborted = false;
+
+        int empties = Long.bitCount(~(own | opp));
+        long moves = BitBoard.legalMoves(own, opp);
+        if (moves == 0) {
+            int score = BitBoard.legalMoves(opp, own) == 0 ? discDiff(own, opp) : -solve(opp, own, -64, 64);
+            if (aborted) return null;
+            return new SearchResult(-1, score * SearchEngine.WIN_SCALE, empties, nodes, System.nanoTime() - start,
+                    1, 1.0, true);
+        }
+
+        int count = orderMoves(own, opp, moves, empties);
+        int[] list = moveBuf[empties];
+        int bestMove = list[0];
+        int alpha = -65;
+        for (int i = 0; i < count; i++) {
+            int sq = list[i];
+            long flipped = BitBoard.flips(own, opp, sq);
+            long nOwn = opp & ~flipped, nOpp = own | flipped | (1L << sq);
+            int score;
+            if (i == 0) {
+                score = -solve(nOwn, nOpp, -65, 65);
+            } else {
+                // Null-window test first; only re-search moves that beat the current best
+                score = -solve(nOwn, nOpp, -alpha - 1, -alpha);
+                if (score > alpha && !aborted) score = -solve(nOwn, nOpp, -65, -alpha);
+            }
+            if (aborted) return null;
+            if (score > alpha) {
+                alpha = score;
+                bestMove = sq;
+            }
+        }
+        return new SearchResult(bestMove, alpha * SearchEngine.WIN_SCALE, empties, nodes, System.nanoTime() - start,
+                1, 1.0, true);
+    }
+
+    public long getNodes() {
+        return nodes;
+    }
+
+    private int solve(long own, long opp, int alpha, int beta) {
+        nodes++;
+        if ((nodes & TIME_CHECK_MASK) == 0 && System.nanoTime() > deadline) aborted = true;
+        if (aborted) return 0;
+
+        long empty = ~(own | opp);
+        int empties = Long.bitCount(empty);
+        if (empties == 0) return Long.bitCount(own) - Long.bitCount(opp);
+        if (empties == 1) return solveLast(own, opp, Long.numberOfTrailingZeros(empty));
+
+        long moves = BitBoard.legalMoves(own, opp);
+        if (moves == 0) {
+            if (BitBoard.legalMoves(opp, own) == 0) return discDiff(own, opp);
+            return -solve(opp, own, -beta, -alpha);
+        }
+
+        int best = -65;
+        if (empties >= MOBILITY_ORDER_MIN_EMPTIES) {
+            int count = orderMoves(own, opp, moves, empties);
+            int[] list = moveBuf[empties];
+            for (int i = 0; i < count; i++) {
+                int sq = list[i];
+                long flipped = BitBoard.flips(own, opp, sq);
+                int score = -solve(opp & ~flipped, own | flipped | (1L << sq), -beta, -alpha);
+                if (score > best) {
+                    best = score;
+                    if (best > alpha) alpha = best;
+                    if (alpha >= beta) break;
+                }
+            }
+            return best;
+        }
+
+        // Parity ordering: moves in regions with an odd number of empties first
+        long odd = oddRegions(empty);
+        long first = moves & odd, second = moves & ~odd;
+        for (int pass = 0; pass < 2; pass++) {
+            for (long m = pass == 0 ? first : second; m != 0; m &= m - 1) {
+                int sq = Long.numberOfTrailingZeros(m);
+                long flipped = BitBoard.flips(own, opp, sq);
+                int score = -solve(opp & ~flipped, own | flipped | (1L << sq), -beta, -alpha);
+                if (score > best) {
+                    best = score;
+                    if (best > alpha) alpha = best;
+                    if (alpha >= beta) return best;
+                }
+            }
+        }
+        return best;
+    }
+
+    /** Exact result with one empty square left, without generating moves. */
+    private int solveLast(long own, long opp, int sq) {
+        int ownCount = Long.bitCount(own), oppCount = Long.bitCount(opp);
+        int flipped = Long.bitCount(BitBoard.flips(own, opp, sq));
+        if (flipped > 0) return (ownCount + flipped + 1) - (oppCount - flipped);
+        flipped = Long.bitCount(BitBoard.flips(opp, own, sq));
+        if (flipped > 0) return (ownCount - flipped) - (oppCount + flipped + 1);
+        return discDiff(own, opp);
+    }
+
+    /** Fills moveBuf[empties] ordered by fewest opponent replies, odd-parity regions breaking ties. */
+    private int orderMoves(long own, long opp, long moves, int empties) {
+        int[] list = moveBuf[empties];
+        int[] keys = keyBuf[empties];
+        long odd = oddRegions(~(own | opp));
+        int count = 0;
+        for (; moves != 0; moves &= moves - 1) {
+            int sq = Long.numberOfTrailingZeros(moves);
+            long flipped = BitBoard.flips(own, opp, sq);
+            int replies = Long.bitCount(BitBoard.legalMoves(opp & ~flipped, own | flipped | (1L << sq)));
+            int key = -replies * 4 + (int) ((odd >>> sq) & 1L) * 2 + (int) ((CORNERS >>> sq) & 1L) * 8;
+
+            int i = count++;
+            while (i > 0 && keys[i - 1] < key) {
+                keys[i] = keys[i - 1];
+                list[i] = list[i - 1];
+                i--;
+            }
+            keys[i] = key;
+            list[i] = sq;
+        }
+        return count;
+    }
+
+    private static long oddRegions(long empty) {
+        long odd = 0;
+        for (long q : QUADRANTS) {
+            if ((Long.bitCount(empty & q) & 1) != 0) odd |= q;
+        }
+        return odd;
+    }
+
+    /** Disc differential when nobody can move; empties go to the winner. */
+    static int discDiff(long own, long opp) {
+        return SearchEngine.finalScore(own, opp) / SearchEngine.WIN_SCALE;
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.othello.engine;
+
+/**
+ * Static evaluation of a position for the side owning {@code own}, in the units
+ * SearchEngine uses: kept below {@link SearchEngine#WIN_SCALE} so an exact result
+ * always outranks a heuristic one. Implementations are called at every leaf, so
+ * they must not allocate, and must be safe to share between search threads.
+ */
+public interface Evaluator {
+
+    /** The built-in positional weights plus mobility. */
+    Evaluator HEURISTIC = SearchEngine::evaluate;
+
+    int evaluate(long own, long opp);
+}
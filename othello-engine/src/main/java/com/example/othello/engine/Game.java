@@ -0,0 +1,72 @@
+package com.example.othello.engine;
+
+/**
+ * A game in progress with the server's rules and none of its machinery: position,
+ * move log and side to move. A side without a legal move passes automatically and
+ * the pass is logged, so {@link #sideToMove()} always has something to play until
+ * the game is over. Not thread-safe.
+ */
+public final class Game {
+
+    private final BitBoard position = new BitBoard();
+    private final MoveLog moves = new MoveLog();
+    private int sideToMove = BitBoard.BLACK;
+    private int result = Rules.IN_PROGRESS;
+
+    /** Rebuilds a game from its log; passes in the log are re-derived, not replayed. */
+    public static Game replay(MoveLog log) {
+        Game game = new Game();
+        for (int ply = 0; ply < log.size(); ply++) {
+            if (!log.isPass(ply) && !game.play(log.square(ply), log.isAi(ply))) {
+                throw new IllegalArgumentException("Illegal move at ply " + ply + ": " + log.describe(ply));
+            }
+        }
+        return game;
+    }
+
+    /** The live position; read it, do not change it. */
+    public BitBoard position() {
+        return position;
+    }
+
+    public MoveLog moves() {
+        return moves;
+    }
+
+    /** {@link BitBoard#BLACK} or {@link BitBoard#WHITE}; meaningless once the game is over. */
+    public int sideToMove() {
+        return sideToMove;
+    }
+
+    public long legalMoves() {
+        return isOver() ? 0 : position.legalMoves(sideToMove);
+    }
+
+    public boolean isOver() {
+        return result != Rules.IN_PROGRESS;
+    }
+
+    /** {@link Rules#result}: the winner, {@link Rules#DRAW} or {@link Rules#IN_PROGRESS}. */
+    public int result() {
+        return result;
+    }
+
+    /**
+     * Plays {@code sq} for the side to move and hands the turn over, logging a pass for a
+     * side that cannot move. Returns false, changing nothing, if the move is illegal.
+     */
+    public boolean play(int sq, boolean ai) {
+        if (!Rules.isLegal(legalMoves(), sq)) return false;
+        position.applyMove(sq >>> 3, sq & 7, sideToMove);
+        moves.addMove(sq, ai);
+        sideToMove = BitBoard.opponent(sideToMove);
+
+        long blackMoves = position.legalMoves(BitBoard.BLACK), whiteMoves = position.legalMoves(BitBoard.WHITE);
+        result = Rules.result(position, blackMoves, whiteMoves);
+        if (Rules.mustPass(sideToMove, blackMoves, whiteMoves)) {
+            moves.addPass(false);
+            sideToMove = BitBoard.opponent(sideToMove);
+        }
+        return true;
+    }
+}
@@ -0,0 +1,105 @@
+package com.example.othello.engine;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+/**
+ * Post-game review: every move of a game is scored against the best move of its
+ * position. Positions are independent, so they are queued separately as analysis work
+ * on the {@link SearchScheduler}, one search engine and solver per scheduler thread and
+ * one table shared between them. Results are handed to the caller as each position
+ * finishes, in no particular order. Under load the scheduler shortens each position's
+ * budget, so a review gets shallower rather than slower.
+ *
+ * Positions with at most {@code endgameEmpties} empty squares are solved exactly when
+ * both the best and the played move solve within the budget; otherwise both are
+ * searched to the requested depth.
+ */
+public class GameAnalyzer {
+
+    private final SearchScheduler scheduler;
+    private final ThreadLocal<SearchEngine> engines;
+    private final ThreadLocal<EndgameSolver> solvers = ThreadLocal.withInitial(EndgameSolver::new);
+    private final int endgameEmpties;
+
+    public GameAnalyzer(SearchScheduler scheduler, TranspositionTable table, Evaluator evaluator, int endgameEmpties) {
+        this.scheduler = scheduler;
+        this.endgameEmpties = endgameEmpties;
+        this.engines = ThreadLocal.withInitial(() -> new SearchEngine(table, evaluator));
+    }
+
+    public int getThreads() {
+        return scheduler.getThreads();
+    }
+
+    /**
+     * Queues every non-pass ply of {@code log} and calls {@code onMove} (from scheduler threads,
+     * one call at a time) as each finishes. Setting {@code stop} skips plies not yet started
+     * and cuts running searches short. The returned future completes once every ply is done,
+     * or fails if the scheduler refused a ply.
+     */
+    public CompletableFuture<Void> analyze(MoveLog log, int depth, long budgetMillis, AtomicBoolean stop,
+                                           Consumer<MoveAnalysis> onMove) {
+        // Replaying is cheap; collect the position before every ply up front
+        List<CompletableFuture<Void>> plies = new ArrayList<>(log.size());
+        BitBoard board = new BitBoard();
+        for (int ply = 0; ply < log.size(); ply++) {
+            int sq = log.square(ply);
+            int player = MoveLog.mover(ply);
+            if (sq != MoveLog.PASS) {
+                long own = board.discs(player), opp = board.discs(BitBoard.opponent(player));
+                int index = ply;
+                CompletableFuture<MoveAnalysis> queued = scheduler.submit(SearchScheduler.Priority.ANALYSIS, null,
+                        budgetMillis, stop, grant -> stop.get() ? null
+                                : analyzePly(index, player, own, opp, sq, depth, grant.getBudgetMillis(), stop));
+                plies.add(queued.thenAccept(result -> {
+                    if (result != null && !stop.get()) {
+                        synchronized (onMove) {
+                            onMove.accept(result);
+                        }
+                    }
+                }));
+                // Refused: the scheduler is full, so do not queue the rest of the game behind it
+                if (queued.isCompletedExceptionally()) break;
+                board.applyMove(sq >>> 3, sq & 7, player);
+            }
+        }
+        return CompletableFuture.allOf(plies.toArray(CompletableFuture<?>[]::new));
+    }
+
+    MoveAnalysis analyzePly(int ply, int player, long own, long opp, int move, int depth, long budgetMillis,
+                            AtomicBoolean stop) {
+        long flips = BitBoard.flips(own, opp, move);
+        long nOwn = opp & ~flips, nOpp = own | flips | (1L << move);
+
+        if (Long.bitCount(~(own | opp)) <= endgameEmpties) {
+            EndgameSolver solver = solvers.get();
+            SearchResult best = solver.solve(own, opp, budgetMillis);
+            SearchResult reply = best == null ? null : solver.solve(nOwn, nOpp, budgetMillis);
+            if (reply != null) {
+                return new MoveAnalysis(ply, player, move, -reply.getScore(), best.getMove(), best.getScore(),
+                        best.getDepth(), true);
+            }
+        }
+
+        SearchEngine engine = engines.get();
+        SearchResult best = engine.search(own, opp, player, budgetMillis, depth, 1, stop);
+        // The played move is searched one ply shallower than the root, so both scores see as far ahead
+        int replyDepth = Math.max(1, best.getDepth() - 1);
+        int score;
+        if (best.getMove() == move) {
+            score = best.getScore();
+        } else if (BitBoard.legalMoves(nOwn, nOpp) != 0) {
+            score = -engine.search(nOwn, nOpp, BitBoard.opponent(player), budgetMillis, replyDepth, 1, stop).getScore();
+        } else if (BitBoard.legalMoves(nOpp, nOwn) != 0) {
+            // The opponent has to pass, so the mover plays again
+            score = engine.search(nOpp, nOwn, player, budgetMillis, replyDepth, 1, stop).getScore();
+        } else {
+            score = SearchEngine.finalScore(nOpp, nOwn);
+        }
+        return new MoveAnalysis(ply, player, move, score, best.getMove(), best.getScore(), best.getDepth(), false);
+    }
+}
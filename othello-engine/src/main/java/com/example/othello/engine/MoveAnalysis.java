@@ -0,0 +1,69 @@
+package com.example.othello.engine;
+
+/**
+ * Engine verdict on one ply of a finished game. Scores are from the mover's point of
+ * view, in search units, or final disc differential times {@link SearchEngine#WIN_SCALE}
+ * when {@code exact}. The error is how much the played move gave up against the best
+ * one found, never negative.
+ */
+public final class MoveAnalysis {
+
+    private final int ply;
+    private final int player;
+    private final int move;
+    private final int score;
+    private final int bestMove;
+    private final int bestScore;
+    private final int depth;
+    private final boolean exact;
+
+    public MoveAnalysis(int ply, int player, int move, int score, int bestMove, int bestScore, int depth, boolean exact) {
+        this.ply = ply;
+        this.player = player;
+        this.move = move;
+        this.score = score;
+        this.bestMove = bestMove;
+        this.bestScore = bestScore;
+        this.depth = depth;
+        this.exact = exact;
+    }
+
+    public int getPly() {
+        return ply;
+    }
+
+    public int getPlayer() {
+        return player;
+    }
+
+    /** Square played, {@code row * 8 + col}. */
+    public int getMove() {
+        return move;
+    }
+
+    /** Value of the played move. */
+    public int getScore() {
+        return score;
+    }
+
+    /** Best move found; equal to {@link #getMove()} when the played move was best. */
+    public int getBestMove() {
+        return bestMove;
+    }
+
+    public int getBestScore() {
+        return bestScore;
+    }
+
+    public int getError() {
+        return bestMove == move ? 0 : Math.max(0, bestScore - score);
+    }
+
+    public int getDepth() {
+        return depth;
+    }
+
+    public boolean isExact() {
+        return exact;
+    }
+}
@@ -0,0 +1,136 @@
+package com.example.othello.engine;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Canonical game record: one byte per ply from the standard start position.
+ *
+ * The low seven bits hold the square ({@code row * 8 + col}) or {@link #PASS};
+ * the high bit marks a ply chosen by the AI. Every ply, pass or move, hands the
+ * turn over, so Black plays the even plies and White the odd ones and the log
+ * alone is enough to rebuild any position. Display strings are only produced
+ * when asked for.
+ */
+public final class MoveLog {
+
+    public static final int PASS = 64;
+
+    private static final int SQUARE_MASK = 0x7F;
+    private static final int AI_FLAG = 0x80;
+
+    private byte[] plies;
+    private int size;
+
+    public MoveLog() {
+        plies = new byte[64];
+    }
+
+    public void addMove(int square, boolean ai) {
+        add(square, ai);
+    }
+
+    public void addPass(boolean ai) {
+        add(PASS, ai);
+    }
+
+    private void add(int value, boolean ai) {
+        if (size == plies.length) plies = Arrays.copyOf(plies, size * 2);
+        plies[size++] = (byte) (value | (ai ? AI_FLAG : 0));
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public void clear() {
+        size = 0;
+    }
+
+    /** Drops every ply from {@code newSize} on. */
+    public void truncate(int newSize) {
+        if (newSize < 0 || newSize > size) throw new IndexOutOfBoundsException("ply " + newSize + " of " + size);
+        size = newSize;
+    }
+
+    /** Square of ply {@code i}, or {@link #PASS}. */
+    public int square(int i) {
+        return plies[check(i)] & SQUARE_MASK;
+    }
+
+    public boolean isPass(int i) {
+        return square(i) == PASS;
+    }
+
+    public boolean isAi(int i) {
+        return (plies[check(i)] & AI_FLAG) != 0;
+    }
+
+    /** Colour that played ply {@code i}. */
+    public static int mover(int i) {
+        return (i & 1) == 0 ? BitBoard.BLACK : BitBoard.WHITE;
+    }
+
+    /** Index of the last ply that placed a disc, or -1. */
+    public int lastMoveIndex() {
+        for (int i = size - 1; i >= 0; i--) {
+            if (!isPass(i)) return i;
+        }
+        return -1;
+    }
+
+    private int check(int i) {
+        if (i < 0 || i >= size) throw new IndexOutOfBoundsException("ply " + i + " of " + size);
+        return i;
+    }
+
+    // ---------------- Replay ----------------
+    /**
+     * Rebuilds the position after the first {@code count} plies into {@code board}
+     * and returns the side to move there.
+     */
+    public int replay(int count, BitBoard board) {
+        if (count < 0 || count > size) throw new IndexOutOfBoundsException("ply " + count + " of " + size);
+        board.reset();
+        for (int i = 0; i < count; i++) {
+            int sq = square(i);
+            if (sq != PASS && !board.applyMove(sq >>> 3, sq & 7, mover(i))) {
+                throw new IllegalStateException("Illegal ply " + i + " in move log: square " + sq);
+            }
+        }
+        return mover(count);
+    }
+
+    public byte[] toByteArray() {
+        return Arrays.copyOf(plies, size);
+    }
+
+    public static MoveLog fromByteArray(byte[] bytes) {
+        MoveLog log = new MoveLog();
+        log.plies = Arrays.copyOf(bytes, Math.max(64, bytes.length));
+        log.size = bytes.length;
+        return log;
+    }
+
+    // ---------------- Display ----------------
+    public String describe(int i) {
+        String side = mover(i) == BitBoard.BLACK ? "Black" : "White";
+        if (isAi(i)) side += " (AI)";
+        if (isPass(i)) {
+            String other = mover(i) == BitBoard.BLACK ? "White" : "Black";
+            return isAi(i)
+                    ? side + " has no valid moves and passes."
+                    : "⚠️ " + side + " has no valid moves — turn passes to " + other + ".";
+        }
+        int sq = square(i);
+        return side + ": (" + ((sq >>> 3) + 1) + ", " + ((sq & 7) + 1) + ")";
+    }
+
+    /** Display strings for plies {@code from} (inclusive) to {@code to} (exclusive). */
+    public List<String> describe(int from, int to) {
+        List<String> lines = new ArrayList<>(Math.max(0, to - from));
+        for (int i = from; i < to; i++) lines.add(describe(i));
+        return lines;
+    }
+}
@@ -0,0 +1,143 @@
+package com.example.othello.engine;
+
+import java.io.DataOutputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Read-only opening book memory-mapped from a compact binary file.
+ *
+ * File layout (big-endian): magic {@code OBK1}, int version, int entry count,
+ * then fixed 12-byte entries sorted by unsigned key:
+ * long canonical hash | byte move | byte depth | short score.
+ * Keys come from {@link Symmetry#canonicalHash} and moves are stored in the
+ * canonical frame, so one entry serves all eight symmetric positions.
+ * Lookups are a binary search over the mapping and never allocate.
+ */
+public final class OpeningBook {
+
+    public static final int MAGIC = 0x4F424B31; // "OBK1"
+    public static final int VERSION = 1;
+
+    private static final int HEADER_BYTES = 12;
+    private static final int ENTRY_BYTES = 12;
+
+    private final ByteBuffer buffer;
+    private final int size;
+
+    private OpeningBook(ByteBuffer buffer, int size) {
+        this.buffer = buffer;
+        this.size = size;
+    }
+
+    public static OpeningBook empty() {
+        return new OpeningBook(ByteBuffer.allocate(0), 0);
+    }
+
+    public static OpeningBook open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            MappedByteBuffer map = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (map.limit() < HEADER_BYTES || map.getInt(0) != MAGIC) {
+                throw new IOException("Not an opening book: " + path);
+            }
+            if (map.getInt(4) != VERSION) {
+                throw new IOException("Unsupported opening book version " + map.getInt(4) + " in " + path);
+            }
+            int count = map.getInt(8);
+            if ((long) HEADER_BYTES + (long) count * ENTRY_BYTES > map.limit()) {
+                throw new IOException("Truncated opening book: " + path);
+            }
+            // The mapping stays valid after the channel is closed
+            return new OpeningBook(map, count);
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Book move for {@code sideToMove} as a real-board square, or -1 if the position is not in the book.
+     */
+    public int lookup(long black, long white, int sideToMove) {
+        if (size == 0) return -1;
+        int sym = Symmetry.canonicalSymmetry(black, white, sideToMove);
+        long key = Zobrist.hash(Symmetry.transform(black, sym), Symmetry.transform(white, sym), sideToMove);
+        int index = find(key);
+        if (index < 0) return -1;
+        int move = buffer.get(offset(index) + 8);
+        return Symmetry.inverseSquare(move, sym);
+    }
+
+    /** Stored score for a position, meaningful only when {@link #lookup} found it. */
+    public int score(long black, long white, int sideToMove) {
+        int index = find(Symmetry.canonicalHash(black, white, sideToMove));
+        return index < 0 ? 0 : buffer.getShort(offset(index) + 10);
+    }
+
+    private int find(long key) {
+        int lo = 0, hi = size - 1;
+        while (lo <= hi) {
+            int mid = (lo + hi) >>> 1;
+            int cmp = Long.compareUnsigned(buffer.getLong(offset(mid)), key);
+            if (cmp < 0) lo = mid + 1;
+            else if (cmp > 0) hi = mid - 1;
+            else return mid;
+        }
+        return -1;
+    }
+
+    private static int offset(int index) {
+        return HEADER_BYTES + index * ENTRY_BYTES;
+    }
+
+    // ---------------- Reading and writing whole books (build tooling) ----------------
+    public static final class Entry {
+        public final long key;
+        public final int move;
+        public final int depth;
+        public final int score;
+
+        public Entry(long key, int move, int depth, int score) {
+            this.key = key;
+            this.move = move;
+            this.depth = depth;
+            this.score = score;
+        }
+    }
+
+    public List<Entry> entries() {
+        List<Entry> entries = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            int off = offset(i);
+            entries.add(new Entry(buffer.getLong(off), buffer.get(off + 8), buffer.get(off + 9), buffer.getShort(off + 10)));
+        }
+        return entries;
+    }
+
+    public static void write(Path path, Collection<Entry> entries) throws IOException {
+        List<Entry> sorted = new ArrayList<>(entries);
+        sorted.sort((a, b) -> Long.compareUnsigned(a.key, b.key));
+        if (path.getParent() != null) Files.createDirectories(path.getParent());
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(path)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(sorted.size());
+            for (Entry e : sorted) {
+                out.writeLong(e.key);
+                out.writeByte(e.move);
+                out.writeByte(Math.min(e.depth, 127));
+                out.writeShort(Math.max(Short.MIN_VALUE, Math.min(Short.MAX_VALUE, e.score)));
+            }
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.example.othello.engine;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Command-line tool that builds or extends an opening book from self-played games.
+ *
+ * <pre>
+ * java -cp othello-engine.jar com.example.othello.engine.OpeningBookBuilder \
+ *      &lt;book file&gt; [games=500] [plies=12] [depth=10] [randomness=0.3] [seed=1]
+ * </pre>
+ *
+ * Every position up to {@code plies} deep is searched to {@code depth}; positions
+ * already in the book at the same or greater depth are kept. Games follow the
+ * searched move, except that with probability {@code randomness} a random legal
+ * move is played instead so the book covers more than one line.
+ */
+public final class OpeningBookBuilder {
+
+    private OpeningBookBuilder() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.err.println("Usage: OpeningBookBuilder <book file> [games] [plies] [depth] [randomness] [seed]");
+            System.exit(1);
+        }
+        Path path = Paths.get(args[0]);
+        int games = args.length > 1 ? Integer.parseInt(args[1]) : 500;
+        int plies = args.length > 2 ? Integer.parseInt(args[2]) : 12;
+        int depth = args.length > 3 ? Integer.parseInt(args[3]) : 10;
+        double randomness = args.length > 4 ? Double.parseDouble(args[4]) : 0.3;
+        long seed = args.length > 5 ? Long.parseLong(args[5]) : 1L;
+
+        Map<Long, OpeningBook.Entry> book = new HashMap<>();
+        if (Files.exists(path)) {
+            for (OpeningBook.Entry e : OpeningBook.open(path).entries()) book.put(e.key, e);
+            System.out.println("Extending existing book with " + book.size() + " positions");
+        }
+
+        int before = book.size();
+        long start = System.nanoTime();
+        build(book, games, plies, depth, randomness, new Random(seed));
+        OpeningBook.write(path, book.values());
+        System.out.printf("Wrote %d positions (%d new) to %s in %.1fs%n",
+                book.size(), book.size() - before, path, (System.nanoTime() - start) / 1e9);
+    }
+
+    /** Plays {@code games} self-play openings, adding every searched position to {@code book}. */
+    public static void build(Map<Long, OpeningBook.Entry> book, int games, int plies, int depth,
+                             double randomness, Random random) {
+        SearchEngine engine = new SearchEngine(new TranspositionTable(32));
+        for (int g = 0; g < games; g++) {
+            Game game = new Game();
+            for (int ply = 0; ply < plies && !game.isOver(); ply++) {
+                BitBoard board = game.position();
+                int player = game.sideToMove();
+                long moves = game.legalMoves();
+
+                long black = board.getBlack(), white = board.getWhite();
+                int sym = Symmetry.canonicalSymmetry(black, white, player);
+                long key = Zobrist.hash(Symmetry.transform(black, sym), Symmetry.transform(white, sym), player);
+                OpeningBook.Entry known = book.get(key);
+
+                int move;
+                if (known != null && known.depth >= depth) {
+                    move = Symmetry.inverseSquare(known.move, sym);
+                } else {
+                    SearchResult result = engine.search(board.discs(player), board.discs(BitBoard.opponent(player)),
+                            player, depth);
+                    move = result.getMove();
+                    book.put(key, new OpeningBook.Entry(key, Symmetry.transformSquare(move, sym),
+                            result.getDepth(), result.getScore()));
+                }
+
+                if (random.nextDouble() < randomness) {
+                    int skip = random.nextInt(Long.bitCount(moves));
+                    for (int i = 0; i < skip; i++) moves &= moves - 1;
+                    move = Long.numberOfTrailingZeros(moves);
+                }
+                game.play(move, false);
+            }
+        }
+    }
+}
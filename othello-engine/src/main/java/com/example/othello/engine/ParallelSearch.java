@@ -0,0 +1,127 @@
+package com.example.othello.engine;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Lazy SMP: the calling thread runs a normal iterative-deepening search while
+ * helper threads search the same root, half of them one ply deeper, all sharing
+ * one TranspositionTable. Helpers fill the table with results that let the main
+ * thread cut off earlier; when the main search ends the helpers are stopped.
+ *
+ * Helpers run either on a private pool or, when built with a {@link SearchScheduler},
+ * as interactive jobs of the game being searched. On the scheduler they count against
+ * its thread cap and are charged to the game's CPU budget like the main search; a
+ * helper still queued when the main search ends is dropped rather than waited for.
+ */
+public class ParallelSearch {
+
+    private final int helpers;
+    private final SearchScheduler scheduler;
+    private final ExecutorService pool;
+    private final ThreadLocal<SearchEngine> engines;
+
+    /** @param helpers number of helper threads on top of the calling thread */
+    public ParallelSearch(TranspositionTable table, int helpers) {
+        this(table, helpers, Evaluator.HEURISTIC);
+    }
+
+    public ParallelSearch(TranspositionTable table, int helpers, Evaluator evaluator) {
+        this(table, helpers, evaluator, null);
+    }
+
+    /** @param scheduler runs the helpers; null for a private pool of {@code helpers} threads */
+    public ParallelSearch(TranspositionTable table, int helpers, Evaluator evaluator, SearchScheduler scheduler) {
+        this.helpers = Math.max(0, helpers);
+        this.scheduler = scheduler;
+        this.engines = ThreadLocal.withInitial(() -> new SearchEngine(table, evaluator));
+        if (scheduler != null) {
+            this.pool = null;
+        } else {
+            AtomicInteger counter = new AtomicInteger();
+            this.pool = Executors.newFixedThreadPool(Math.max(1, this.helpers), r -> {
+                Thread t = new Thread(r, "othello-smp-" + counter.incrementAndGet());
+                t.setDaemon(true);
+                return t;
+            });
+        }
+    }
+
+    public int getHelpers() {
+        return helpers;
+    }
+
+    public SearchResult search(long own, long opp, int player, long budgetMillis, int maxDepth) {
+        return search(own, opp, player, budgetMillis, maxDepth, null);
+    }
+
+    /** @param gameId the game whose budget scheduler-run helpers are charged to; null for none */
+    public SearchResult search(long own, long opp, int player, long budgetMillis, int maxDepth, String gameId) {
+        long start = System.nanoTime();
+        AtomicBoolean stop = new AtomicBoolean();
+        List<CompletableFuture<SearchResult>> futures = new ArrayList<>(helpers);
+        // Whoever claims a helper first decides: the helper runs, or the main search gives up on it
+        List<AtomicBoolean> claims = new ArrayList<>(helpers);
+        for (int i = 0; i < helpers; i++) {
+            int startDepth = 1 + (i & 1);
+            AtomicBoolean claimed = new AtomicBoolean();
+            claims.add(claimed);
+            if (scheduler != null) {
+                futures.add(scheduler.submit(SearchScheduler.Priority.INTERACTIVE, gameId, budgetMillis, stop, grant ->
+                        helper(claimed, stop, own, opp, player, grant.getBudgetMillis(), maxDepth, startDepth)));
+            } else {
+                futures.add(CompletableFuture.supplyAsync(
+                        () -> helper(claimed, stop, own, opp, player, budgetMillis, maxDepth, startDepth), pool));
+            }
+        }
+
+        SearchEngine engine = engines.get();
+        SearchResult main = engine.search(own, opp, player, budgetMillis, maxDepth, 1, stop);
+        stop.set(true);
+
+        SearchResult best = main;
+        long totalNodes = main.getNodes();
+        int threads = 1;
+        for (int i = 0; i < futures.size(); i++) {
+            // Never started: it will find the claim taken and return at once, without us waiting for a thread
+            if (claims.get(i).compareAndSet(false, true)) continue;
+            SearchResult helper;
+            try {
+                helper = futures.get(i).join();
+            } catch (CompletionException e) {
+                continue;
+            }
+            if (helper == null) continue;
+            threads++;
+            totalNodes += helper.getNodes();
+            // A helper that finished a deeper iteration has the better-informed move
+            if (helper.getDepth() > best.getDepth() && helper.getMove() >= 0) best = helper;
+        }
+
+        long elapsed = System.nanoTime() - start;
+        // Time-to-depth: how long the main thread alone would have needed for the depth returned, going by its
+        // own iteration timings, over how long this search took. Only a helper finishing deeper shows a gain
+        long serialNanos = best == main ? 0 : engine.nanosToDepth(best.getDepth());
+        double speedup = serialNanos == 0 ? 1.0 : (double) serialNanos / Math.max(1, elapsed);
+        // Nodes searched by all threads per node of the main search: how much extra work the helpers did
+        double nodeRatio = main.getNodes() == 0 ? 1.0 : (double) totalNodes / main.getNodes();
+        return new SearchResult(best.getMove(), best.getScore(), best.getDepth(), totalNodes, elapsed,
+                threads, speedup, nodeRatio);
+    }
+
+    private SearchResult helper(AtomicBoolean claimed, AtomicBoolean stop, long own, long opp, int player,
+                                long budgetMillis, int maxDepth, int startDepth) {
+        if (!claimed.compareAndSet(false, true) || stop.get()) return null;
+        return engines.get().search(own, opp, player, budgetMillis, maxDepth, startDepth, stop);
+    }
+
+    public void shutdown() {
+        if (pool != null) pool.shutdownNow();
+    }
+}
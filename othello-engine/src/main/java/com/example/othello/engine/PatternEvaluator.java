@@ -0,0 +1,239 @@
+package com.example.othello.engine;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+/**
+ * Pattern-based evaluation with game-phase-dependent weights.
+ *
+ * Edges, corners, lines and diagonals are read as base-3 numbers (0 empty, 1 own,
+ * 2 opponent) and each number indexes a weight table. Symmetric copies of a
+ * pattern (the four edges, say) share one table. A position's value is the sum of
+ * one table entry per pattern instance plus a mobility term, with a separate set of
+ * tables for each stage of the game. Evaluation is a fixed loop of shifts, masks and
+ * array reads, and never allocates.
+ *
+ * Weights come from a binary file written by {@link PatternTrainer}. Layout
+ * (big-endian): magic {@code OWT1}, int version, int phases, int pattern count,
+ * one int per pattern with its square count (to catch a file built for other
+ * patterns), then per phase: one short mobility weight followed by every
+ * pattern's 3^n shorts. Weights are in 1/{@link #WEIGHT_SCALE} disc units.
+ */
+public final class PatternEvaluator implements Evaluator {
+
+    public static final int MAGIC = 0x4F575431; // "OWT1"
+    public static final int VERSION = 1;
+
+    public static final int PHASES = 8;
+    /** Stored weights per disc of predicted final margin. */
+    public static final int WEIGHT_SCALE = 128;
+    /** Evaluation units per disc; the sum of weights is shifted down to this. */
+    public static final int EVAL_SCALE = 8;
+    private static final int EVAL_SHIFT = 4; // WEIGHT_SCALE / EVAL_SCALE = 2^4
+    private static final int MAX_EVAL = SearchEngine.WIN_SCALE - 1;
+
+    // Base shapes in the top-left orientation, as squares (row * 8 + col). The order of
+    // the squares is the bit order produced by bits(), so it must not be changed alone.
+    private static final int[][] SHAPES = {
+            {0, 1, 2, 3, 4, 5, 6, 7, 9, 14},       // edge plus both X-squares
+            {0, 1, 2, 8, 9, 10, 16, 17, 18},       // 3x3 corner
+            {0, 1, 2, 3, 4, 8, 9, 10, 11, 12},     // 2x5 corner
+            {8, 9, 10, 11, 12, 13, 14, 15},        // second line
+            {16, 17, 18, 19, 20, 21, 22, 23},      // third line
+            {24, 25, 26, 27, 28, 29, 30, 31},      // fourth line
+            {0, 9, 18, 27, 36, 45, 54, 63},        // main diagonal
+            {1, 10, 19, 28, 37, 46, 55},           // 7-square diagonal
+            {2, 11, 20, 29, 38, 47},               // 6-square diagonal
+            {3, 12, 21, 30, 39},                   // 5-square diagonal
+            {4, 13, 22, 31}                        // 4-square diagonal
+    };
+
+    public static final int PATTERNS = SHAPES.length;
+
+    // Diagonal shapes as masks; multiplying one by COLUMN_GATHER stacks each column's bit into the top byte
+    private static final long[] DIAGONALS = new long[5];
+    private static final long COLUMN_GATHER = 0x0101010101010101L;
+
+    /** Pattern instances, grouped by the symmetry that maps them onto their base shape. */
+    static final int INSTANCES;
+    /** Instances SYM_START[s] .. SYM_START[s + 1] are read from the board transformed by s. */
+    private static final int[] SYM_START = new int[Symmetry.COUNT + 1];
+    /** Symmetry that undoes s, so transform(board, UNDO[s]) shows instance squares in base positions. */
+    private static final int[] UNDO = new int[Symmetry.COUNT];
+    /** Pattern of each instance. */
+    static final int[] PATTERN_OF;
+    /** Offset of each pattern's table within a phase, and the phase's total size. */
+    static final int[] PATTERN_OFFSET = new int[PATTERNS + 1];
+    /** Pattern bits (bit j = square j of the shape) to a base-3 index with every digit 1. */
+    private static final int[] BASE3 = new int[1 << 10];
+    private static final int[] PHASE_OF_DISCS = new int[65];
+
+    static {
+        for (int p = 0; p < PATTERNS; p++) PATTERN_OFFSET[p + 1] = PATTERN_OFFSET[p] + pow3(SHAPES[p].length);
+
+        // Every distinct image of every shape, keeping the symmetry that produced it
+        int[] patternOf = new int[Symmetry.COUNT * PATTERNS];
+        int[] symOf = new int[Symmetry.COUNT * PATTERNS];
+        long[] masks = new long[Symmetry.COUNT * PATTERNS];
+        int count = 0;
+        for (int p = 0; p < PATTERNS; p++) {
+            next:
+            for (int sym = 0; sym < Symmetry.COUNT; sym++) {
+                long mask = 0;
+                for (int sq : SHAPES[p]) mask |= 1L << Symmetry.transformSquare(sq, sym);
+                for (int i = 0; i < count; i++) if (masks[i] == mask && patternOf[i] == p) continue next;
+                masks[count] = mask;
+                patternOf[count] = p;
+                symOf[count] = sym;
+                count++;
+            }
+        }
+        INSTANCES = count;
+        PATTERN_OF = new int[count];
+        int n = 0;
+        for (int sym = 0; sym < Symmetry.COUNT; sym++) {
+            SYM_START[sym] = n;
+            for (int i = 0; i < count; i++) if (symOf[i] == sym) PATTERN_OF[n++] = patternOf[i];
+            for (int undo = 0; undo < Symmetry.COUNT; undo++) {
+                boolean identity = true;
+                for (int sq = 0; sq < 64; sq++) {
+                    identity &= Symmetry.transformSquare(Symmetry.transformSquare(sq, sym), undo) == sq;
+                }
+                if (identity) UNDO[sym] = undo;
+            }
+        }
+        SYM_START[Symmetry.COUNT] = n;
+
+        for (int c = 0; c < DIAGONALS.length; c++) {
+            for (int sq : SHAPES[6 + c]) DIAGONALS[c] |= 1L << sq;
+        }
+        for (int bits = 0; bits < BASE3.length; bits++) {
+            int index = 0;
+            for (int j = 9; j >= 0; j--) index = index * 3 + ((bits >>> j) & 1);
+            BASE3[bits] = index;
+        }
+        for (int discs = 0; discs <= 64; discs++) {
+            PHASE_OF_DISCS[discs] = Math.min(PHASES - 1, Math.max(0, discs - 4) * PHASES / 61);
+        }
+    }
+
+    // weights[phase][PATTERN_OFFSET[p] + index]
+    private final short[][] weights;
+    private final short[] mobilityWeights;
+
+    PatternEvaluator(short[][] weights, short[] mobilityWeights) {
+        this.weights = weights;
+        this.mobilityWeights = mobilityWeights;
+    }
+
+    @Override
+    public int evaluate(long own, long opp) {
+        int phase = phase(own, opp);
+        short[] w = weights[phase];
+        int sum = 0;
+        for (int sym = 0; sym < Symmetry.COUNT; sym++) {
+            long o = Symmetry.transform(own, UNDO[sym]), p = Symmetry.transform(opp, UNDO[sym]);
+            for (int i = SYM_START[sym], end = SYM_START[sym + 1]; i < end; i++) {
+                int pattern = PATTERN_OF[i];
+                sum += w[PATTERN_OFFSET[pattern] + BASE3[bits(pattern, o)] + 2 * BASE3[bits(pattern, p)]];
+            }
+        }
+        sum += mobilityWeights[phase] * mobility(own, opp);
+        return Math.max(-MAX_EVAL, Math.min(MAX_EVAL, sum >> EVAL_SHIFT));
+    }
+
+    static int phase(long own, long opp) {
+        return PHASE_OF_DISCS[Long.bitCount(own | opp)];
+    }
+
+    static int mobility(long own, long opp) {
+        return Long.bitCount(BitBoard.legalMoves(own, opp)) - Long.bitCount(BitBoard.legalMoves(opp, own));
+    }
+
+    /** Fills {@code out} with each instance's table slot within its phase; used by the trainer. */
+    static void features(long own, long opp, int[] out) {
+        for (int sym = 0; sym < Symmetry.COUNT; sym++) {
+            long o = Symmetry.transform(own, UNDO[sym]), p = Symmetry.transform(opp, UNDO[sym]);
+            for (int i = SYM_START[sym], end = SYM_START[sym + 1]; i < end; i++) {
+                int pattern = PATTERN_OF[i];
+                out[i] = PATTERN_OFFSET[pattern] + BASE3[bits(pattern, o)] + 2 * BASE3[bits(pattern, p)];
+            }
+        }
+    }
+
+    /** The squares of a base shape packed into the low bits, in SHAPES order. */
+    static int bits(int pattern, long b) {
+        switch (pattern) {
+            case 0:
+                return (int) (b & 0xFF) | (int) ((b >>> 9) & 1) << 8 | (int) ((b >>> 14) & 1) << 9;
+            case 1:
+                return (int) (b & 7) | (int) ((b >>> 8) & 7) << 3 | (int) ((b >>> 16) & 7) << 6;
+            case 2:
+                return (int) (b & 31) | (int) ((b >>> 8) & 31) << 5;
+            case 3:
+            case 4:
+            case 5:
+                return (int) (b >>> (8 * (pattern - 2))) & 0xFF;
+            default:
+                // Diagonal starting at column c: its 8 - c columns land in bits c..7 of the top byte
+                int c = pattern - 6;
+                return (int) (((b & DIAGONALS[c]) * COLUMN_GATHER) >>> (56 + c));
+        }
+    }
+
+    private static int pow3(int n) {
+        int r = 1;
+        for (int i = 0; i < n; i++) r *= 3;
+        return r;
+    }
+
+    // ---------------- Weight files ----------------
+    public static PatternEvaluator load(Path path) throws IOException {
+        try (InputStream in = Files.newInputStream(path)) {
+            return read(in);
+        }
+    }
+
+    public static PatternEvaluator read(InputStream stream) throws IOException {
+        DataInputStream in = new DataInputStream(new BufferedInputStream(stream, 1 << 16));
+        if (in.readInt() != MAGIC) throw new IOException("Not a pattern weight file");
+        int version = in.readInt();
+        if (version != VERSION) throw new IOException("Unsupported weight file version " + version);
+        if (in.readInt() != PHASES || in.readInt() != PATTERNS) {
+            throw new IOException("Weight file was built for a different phase or pattern layout");
+        }
+        for (int[] shape : SHAPES) {
+            if (in.readInt() != shape.length) throw new IOException("Weight file was built for different patterns");
+        }
+        short[][] weights = new short[PHASES][PATTERN_OFFSET[PATTERNS]];
+        short[] mobility = new short[PHASES];
+        for (int phase = 0; phase < PHASES; phase++) {
+            mobility[phase] = in.readShort();
+            short[] w = weights[phase];
+            for (int i = 0; i < w.length; i++) w[i] = in.readShort();
+        }
+        return new PatternEvaluator(weights, mobility);
+    }
+
+    static void write(Path path, short[][] weights, short[] mobilityWeights) throws IOException {
+        if (path.getParent() != null) Files.createDirectories(path.getParent());
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(path), 1 << 16))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(PHASES);
+            out.writeInt(PATTERNS);
+            for (int[] shape : SHAPES) out.writeInt(shape.length);
+            for (int phase = 0; phase < PHASES; phase++) {
+                out.writeShort(mobilityWeights[phase]);
+                for (short w : weights[phase]) out.writeShort(w);
+            }
+        }
+    }
+}
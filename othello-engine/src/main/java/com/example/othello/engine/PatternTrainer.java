@@ -0,0 +1,222 @@
+package com.example.othello.engine;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+/**
+ * Command-line tool that produces self-play game records and fits
+ * {@link PatternEvaluator} weights to them.
+ *
+ * <pre>
+ * java -cp othello-engine.jar com.example.othello.engine.PatternTrainer generate \
+ *      &lt;games file&gt; [games=5000] [depth=4] [random plies=10] [seed=1]
+ * java -cp othello-engine.jar com.example.othello.engine.PatternTrainer fit \
+ *      &lt;games file&gt; &lt;weight file&gt; [epochs=10] [learning rate=0.005]
+ * </pre>
+ *
+ * A games file holds one game per line: the {@link MoveLog} bytes in hex. Fitting
+ * takes every position of every game and regresses the final disc margin, from
+ * the side to move's point of view, on the pattern and mobility features of
+ * that position's phase, by stochastic gradient descent.
+ */
+public final class PatternTrainer {
+
+    private PatternTrainer() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length >= 2 && args[0].equals("generate")) {
+            Path games = Paths.get(args[1]);
+            int count = args.length > 2 ? Integer.parseInt(args[2]) : 5000;
+            int depth = args.length > 3 ? Integer.parseInt(args[3]) : 4;
+            int randomPlies = args.length > 4 ? Integer.parseInt(args[4]) : 10;
+            long seed = args.length > 5 ? Long.parseLong(args[5]) : 1L;
+            long start = System.nanoTime();
+            generate(games, count, depth, randomPlies, seed);
+            System.out.printf("Wrote %d games to %s in %.1fs%n", count, games, (System.nanoTime() - start) / 1e9);
+        } else if (args.length >= 3 && args[0].equals("fit")) {
+            Path games = Paths.get(args[1]);
+            Path weights = Paths.get(args[2]);
+            int epochs = args.length > 3 ? Integer.parseInt(args[3]) : 10;
+            double rate = args.length > 4 ? Double.parseDouble(args[4]) : 0.005;
+            Samples samples = Samples.read(games);
+            System.out.println("Fitting on " + samples.size + " positions");
+            fit(samples, epochs, rate, new Random(1)).write(weights);
+            System.out.println("Wrote weights to " + weights);
+        } else {
+            System.err.println("Usage: PatternTrainer generate <games file> [games] [depth] [random plies] [seed]");
+            System.err.println("       PatternTrainer fit <games file> <weight file> [epochs] [learning rate]");
+            System.exit(1);
+        }
+    }
+
+    // ---------------- Game records ----------------
+    /** Plays {@code count} fixed-depth self-play games on all cores and writes their move logs. */
+    public static void generate(Path path, int count, int depth, int randomPlies, long seed) throws IOException {
+        ThreadLocal<SearchEngine> engines = ThreadLocal.withInitial(() -> new SearchEngine(new TranspositionTable(4)));
+        String[] lines = new String[count];
+        IntStream.range(0, count).parallel().forEach(game -> {
+            Random random = new Random(seed * 0x9E3779B97F4A7C15L + game);
+            lines[game] = HexFormat.of().formatHex(play(engines.get(), depth, randomPlies, random).toByteArray());
+        });
+        if (path.getParent() != null) Files.createDirectories(path.getParent());
+        try (BufferedWriter out = Files.newBufferedWriter(path, StandardCharsets.US_ASCII)) {
+            for (String line : lines) {
+                out.write(line);
+                out.newLine();
+            }
+        }
+    }
+
+    private static MoveLog play(SearchEngine engine, int depth, int randomPlies, Random random) {
+        Game game = new Game();
+        while (!game.isOver()) {
+            int player = game.sideToMove();
+            long moves = game.legalMoves();
+            int move;
+            if (game.moves().size() < randomPlies) {
+                int skip = random.nextInt(Long.bitCount(moves));
+                for (int i = 0; i < skip; i++) moves &= moves - 1;
+                move = Long.numberOfTrailingZeros(moves);
+            } else {
+                BitBoard board = game.position();
+                move = engine.search(board.discs(player), board.discs(BitBoard.opponent(player)), player, depth)
+                        .getMove();
+            }
+            game.play(move, false);
+        }
+        return game.moves();
+    }
+
+    /** Every position of a set of games with the final margin for the side to move. */
+    static final class Samples {
+        long[] own = new long[1 << 16];
+        long[] opp = new long[1 << 16];
+        byte[] target = new byte[1 << 16];
+        int size;
+
+        static Samples read(Path path) throws IOException {
+            Samples samples = new Samples();
+            try (BufferedReader in = Files.newBufferedReader(path, StandardCharsets.US_ASCII)) {
+                String line;
+                while ((line = in.readLine()) != null) {
+                    if (!line.isBlank()) samples.addGame(MoveLog.fromByteArray(HexFormat.of().parseHex(line.trim())));
+                }
+            }
+            return samples;
+        }
+
+        void addGame(MoveLog log) {
+            BitBoard board = new BitBoard();
+            log.replay(log.size(), board);
+            int blackMargin = SearchEngine.finalScore(board.getBlack(), board.getWhite()) / SearchEngine.WIN_SCALE;
+
+            board.reset();
+            for (int ply = 0; ply <= log.size(); ply++) {
+                int player = MoveLog.mover(ply);
+                long o = board.discs(player), p = board.discs(BitBoard.opponent(player));
+                if (BitBoard.legalMoves(o, p) != 0) add(o, p, player == BitBoard.BLACK ? blackMargin : -blackMargin);
+                if (ply == log.size()) break;
+                int sq = log.square(ply);
+                if (sq != MoveLog.PASS) board.applyMove(sq >>> 3, sq & 7, player);
+            }
+        }
+
+        void add(long o, long p, int margin) {
+            if (size == own.length) {
+                own = Arrays.copyOf(own, size * 2);
+                opp = Arrays.copyOf(opp, size * 2);
+                target = Arrays.copyOf(target, size * 2);
+            }
+            own[size] = o;
+            opp[size] = p;
+            target[size] = (byte) margin;
+            size++;
+        }
+    }
+
+    // ---------------- Fitting ----------------
+    /** Weights under training, in discs. */
+    static final class Model {
+        final float[][] weights = new float[PatternEvaluator.PHASES][PatternEvaluator.PATTERN_OFFSET[PatternEvaluator.PATTERNS]];
+        final float[] mobility = new float[PatternEvaluator.PHASES];
+
+        float predict(int phase, int[] features, int mob) {
+            float[] w = weights[phase];
+            float sum = mobility[phase] * mob;
+            for (int f : features) sum += w[f];
+            return sum;
+        }
+
+        PatternEvaluator toEvaluator() {
+            short[][] w = quantize();
+            return new PatternEvaluator(w, quantizeMobility());
+        }
+
+        void write(Path path) throws IOException {
+            PatternEvaluator.write(path, quantize(), quantizeMobility());
+        }
+
+        private short[][] quantize() {
+            short[][] out = new short[weights.length][];
+            for (int phase = 0; phase < weights.length; phase++) {
+                out[phase] = new short[weights[phase].length];
+                for (int i = 0; i < out[phase].length; i++) out[phase][i] = toShort(weights[phase][i]);
+            }
+            return out;
+        }
+
+        private short[] quantizeMobility() {
+            short[] out = new short[mobility.length];
+            for (int phase = 0; phase < mobility.length; phase++) out[phase] = toShort(mobility[phase]);
+            return out;
+        }
+
+        private static short toShort(float discs) {
+            long v = Math.round(discs * PatternEvaluator.WEIGHT_SCALE);
+            return (short) Math.max(Short.MIN_VALUE, Math.min(Short.MAX_VALUE, v));
+        }
+    }
+
+    static Model fit(Samples samples, int epochs, double rate, Random random) {
+        Model model = new Model();
+        int[] order = new int[samples.size];
+        for (int i = 0; i < order.length; i++) order[i] = i;
+        int[] features = new int[PatternEvaluator.INSTANCES];
+        // Spread each update over the active features so the step size does not depend on their number
+        float step = (float) (rate / PatternEvaluator.INSTANCES);
+
+        for (int epoch = 1; epoch <= epochs; epoch++) {
+            for (int i = order.length - 1; i > 0; i--) {
+                int j = random.nextInt(i + 1);
+                int t = order[i];
+                order[i] = order[j];
+                order[j] = t;
+            }
+            double squared = 0;
+            for (int k : order) {
+                long own = samples.own[k], opp = samples.opp[k];
+                int phase = PatternEvaluator.phase(own, opp);
+                int mob = PatternEvaluator.mobility(own, opp);
+                PatternEvaluator.features(own, opp, features);
+                float error = samples.target[k] - model.predict(phase, features, mob);
+                squared += error * error;
+                float delta = step * error;
+                float[] w = model.weights[phase];
+                for (int f : features) w[f] += delta;
+                model.mobility[phase] += delta * mob * 0.1f;
+            }
+            System.out.printf("epoch %d: rms error %.2f discs%n", epoch, Math.sqrt(squared / Math.max(1, order.length)));
+        }
+        return model;
+    }
+}
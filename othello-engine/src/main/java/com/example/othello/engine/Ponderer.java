@@ -0,0 +1,173 @@
+package com.example.othello.engine;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Searches on the opponent's time. While a human thinks, a ponder task plays each
+ * of their legal moves in turn and searches the AI's reply to it, deepening one ply
+ * per round over all candidates so every likely move gets some attention early.
+ *
+ * When the human moves, {@link #take} stops the task and hands back the finished
+ * search for the position actually reached; the other candidates' results are
+ * dropped. Their transposition table entries are simply left to age out, while the
+ * matching subtree's entries make the follow-up search start deep.
+ *
+ * Tasks run as the lowest priority work of the {@link SearchScheduler}, which stops them
+ * when a move needs the thread and may grant less than {@code maxMillis} under load.
+ * At most {@code maxTasks} games ponder at once; a game that would exceed the cap, or
+ * that the scheduler refuses, just does not ponder.
+ */
+public class Ponderer {
+
+    private record Position(long own, long opp) {
+    }
+
+    private static final class Task {
+        final AtomicBoolean stop = new AtomicBoolean();
+        final Map<Position, SearchResult> results = new ConcurrentHashMap<>();
+        volatile long finishedAt;
+    }
+
+    private final SearchScheduler scheduler;
+    private final ThreadLocal<SearchEngine> engines;
+    private final int maxTasks;
+    private final long maxMillis;
+    private final int maxDepth;
+    private final Map<String, Task> tasks = new ConcurrentHashMap<>();
+
+    private final AtomicInteger active = new AtomicInteger();
+    private final AtomicLong started = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    public Ponderer(SearchScheduler scheduler, TranspositionTable table, Evaluator evaluator, int maxTasks,
+                    long maxMillis, int maxDepth) {
+        this.scheduler = scheduler;
+        this.maxTasks = Math.max(1, maxTasks);
+        this.engines = ThreadLocal.withInitial(() -> new SearchEngine(table, evaluator));
+        this.maxMillis = maxMillis;
+        this.maxDepth = maxDepth;
+    }
+
+    /**
+     * Starts pondering for {@code key} (a game id): {@code player} owns {@code own} and is
+     * to move. Replaces any earlier task of the same key. Returns false if the cap is reached
+     * or there is nothing to ponder.
+     */
+    public boolean start(String key, long own, long opp, int player) {
+        cancel(key);
+        // Results of games nobody came back to are kept for maxMillis after their task ended
+        long now = System.currentTimeMillis();
+        tasks.values().removeIf(t -> t.finishedAt != 0 && now - t.finishedAt > maxMillis);
+        long moves = BitBoard.legalMoves(own, opp);
+        if (moves == 0) return false;
+
+        // Candidate positions from the replying side's point of view
+        List<Position> candidates = new ArrayList<>(Long.bitCount(moves));
+        for (long m = moves; m != 0; m &= m - 1) {
+            int sq = Long.numberOfTrailingZeros(m);
+            long flips = BitBoard.flips(own, opp, sq);
+            candidates.add(new Position(opp & ~flips, own | flips | (1L << sq)));
+        }
+
+        if (active.incrementAndGet() > maxTasks) {
+            active.decrementAndGet();
+            rejected.incrementAndGet();
+            return false;
+        }
+        Task task = new Task();
+        tasks.put(key, task);
+        CompletableFuture<Void> run = scheduler.submit(SearchScheduler.Priority.PONDER, key, maxMillis, task.stop,
+                grant -> {
+                    // A ponder that waited until the human moved has already been stopped by take()
+                    if (!task.stop.get()) ponder(task, candidates, BitBoard.opponent(player), grant.getBudgetMillis());
+                    return null;
+                });
+        run.whenComplete((v, e) -> {
+            task.finishedAt = System.currentTimeMillis();
+            active.decrementAndGet();
+        });
+        if (run.isCompletedExceptionally()) {
+            // Refused by the scheduler: its queue is full of work that matters more
+            tasks.remove(key, task);
+            rejected.incrementAndGet();
+            return false;
+        }
+        started.incrementAndGet();
+        return true;
+    }
+
+    private void ponder(Task task, List<Position> candidates, int replier, long budgetMillis) {
+        long deadline = System.currentTimeMillis() + budgetMillis;
+        SearchEngine engine = engines.get();
+        boolean[] done = new boolean[candidates.size()];
+        for (int depth = 1; depth <= maxDepth; depth++) {
+            boolean any = false;
+            for (int i = 0; i < candidates.size(); i++) {
+                if (done[i]) continue;
+                long remaining = deadline - System.currentTimeMillis();
+                if (task.stop.get() || remaining <= 0) return;
+                Position p = candidates.get(i);
+                // Shallower iterations come straight from the table filled by the previous round
+                SearchResult result = engine.search(p.own(), p.opp(), replier, remaining, depth, 1, task.stop);
+                if (result.getMove() < 0 || result.getDepth() >= Long.bitCount(~(p.own() | p.opp()))) done[i] = true;
+                if (result.getMove() >= 0 && result.getDepth() > 0) task.results.put(p, result);
+                if (result.getDepth() < depth && !done[i]) return; // stopped or out of time
+                any = true;
+            }
+            if (!any) return;
+        }
+    }
+
+    /**
+     * Stops {@code key}'s ponder task and returns its search of the position where the
+     * replying side owns {@code own}, or null if that position was not reached in time.
+     */
+    public SearchResult take(String key, long own, long opp) {
+        Task task = tasks.remove(key);
+        if (task == null) return null;
+        task.stop.set(true);
+        SearchResult result = task.results.get(new Position(own, opp));
+        if (result != null) hits.incrementAndGet();
+        else misses.incrementAndGet();
+        return result;
+    }
+
+    public void cancel(String key) {
+        Task task = tasks.remove(key);
+        if (task != null) task.stop.set(true);
+    }
+
+    /** Ponder tasks queued or running. */
+    public int getActive() {
+        return active.get();
+    }
+
+    public long getStarted() {
+        return started.get();
+    }
+
+    public long getRejected() {
+        return rejected.get();
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    public void shutdown() {
+        tasks.values().forEach(task -> task.stop.set(true));
+    }
+}
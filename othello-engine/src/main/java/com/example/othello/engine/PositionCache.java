@@ -0,0 +1,186 @@
+package com.example.othello.engine;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Finished searches shared across games, so a position that many players reach is
+ * searched once. Unlike the transposition table, which is overwritten continually by
+ * the nodes inside searches, this only holds root results: best move, score and
+ * depth of positions the AI or a hint was actually asked about.
+ *
+ * Positions are stored in canonical orientation (see {@link Symmetry}), so all eight
+ * rotations and reflections of a position share one entry; moves are mapped back to
+ * the caller's orientation on the way out. A deeper result replaces a shallower one,
+ * and an exact (solved) result replaces any heuristic one.
+ *
+ * The cache is split into independently locked segments, each a small LRU map, so
+ * concurrent games rarely wait on each other; the least recently used entry of a
+ * full segment is evicted.
+ */
+public final class PositionCache {
+
+    private static final int SEGMENT_BITS = 4;
+    private static final int SEGMENTS = 1 << SEGMENT_BITS;
+
+    /** A cached search, with the move in the orientation of the position it was looked up with. */
+    public static final class Entry {
+        private final long black;
+        private final long white;
+        private final int move;
+        private final int score;
+        private final int depth;
+        private final boolean exact;
+
+        Entry(long black, long white, int move, int score, int depth, boolean exact) {
+            this.black = black;
+            this.white = white;
+            this.move = move;
+            this.score = score;
+            this.depth = depth;
+            this.exact = exact;
+        }
+
+        public int getMove() {
+            return move;
+        }
+
+        /** From the side to move's point of view, as the search returned it. */
+        public int getScore() {
+            return score;
+        }
+
+        public int getDepth() {
+            return depth;
+        }
+
+        public boolean isExact() {
+            return exact;
+        }
+
+        // Solved beats any depth; otherwise deeper wins and an equal depth refreshes the entry
+        boolean supersedes(Entry other) {
+            if (exact != other.exact) return exact;
+            return depth >= other.depth;
+        }
+    }
+
+    private final Map<Long, Entry>[] segments;
+    private final int maxEntries;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder stores = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public PositionCache(int maxEntries) {
+        this.maxEntries = Math.max(0, maxEntries);
+        int perSegment = (this.maxEntries + SEGMENTS - 1) / SEGMENTS;
+        segments = new Map[SEGMENTS];
+        for (int i = 0; i < SEGMENTS; i++) {
+            segments[i] = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Long, Entry> eldest) {
+                    if (size() <= perSegment) return false;
+                    evictions.increment();
+                    return true;
+                }
+            };
+        }
+    }
+
+    /** The cached search of this position with {@code sideToMove} to play, or null. */
+    public Entry get(long black, long white, int sideToMove) {
+        if (maxEntries == 0) return null;
+        int sym = Symmetry.canonicalSymmetry(black, white, sideToMove);
+        long cBlack = Symmetry.transform(black, sym), cWhite = Symmetry.transform(white, sym);
+        long key = Zobrist.hash(cBlack, cWhite, sideToMove);
+        Map<Long, Entry> segment = segment(key);
+        Entry entry;
+        synchronized (segment) {
+            entry = segment.get(key);
+        }
+        // The key is a hash; the stored discs rule out the rare collision
+        if (entry == null || entry.black != cBlack || entry.white != cWhite) {
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        int move = Symmetry.inverseSquare(entry.move, sym);
+        return new Entry(black, white, move, entry.score, entry.depth, entry.exact);
+    }
+
+    /**
+     * Records a finished search of this position. Passes, book moves and zero-depth results
+     * (forced moves) carry no search worth keeping and are ignored, as is anything shallower
+     * than what is already cached.
+     */
+    public void put(long black, long white, int sideToMove, SearchResult result) {
+        if (maxEntries == 0 || result.getMove() < 0 || result.isFromBook() || result.getDepth() <= 0) return;
+        int sym = Symmetry.canonicalSymmetry(black, white, sideToMove);
+        long cBlack = Symmetry.transform(black, sym), cWhite = Symmetry.transform(white, sym);
+        long key = Zobrist.hash(cBlack, cWhite, sideToMove);
+        Entry entry = new Entry(cBlack, cWhite, Symmetry.transformSquare(result.getMove(), sym),
+                result.getScore(), result.getDepth(), result.isExact());
+        Map<Long, Entry> segment = segment(key);
+        synchronized (segment) {
+            Entry existing = segment.get(key);
+            if (existing != null && existing.black == cBlack && existing.white == cWhite
+                    && !entry.supersedes(existing)) {
+                return;
+            }
+            segment.put(key, entry);
+        }
+        stores.increment();
+    }
+
+    private Map<Long, Entry> segment(long key) {
+        return segments[(int) (key >>> (64 - SEGMENT_BITS))];
+    }
+
+    public void clear() {
+        for (Map<Long, Entry> segment : segments) {
+            synchronized (segment) {
+                segment.clear();
+            }
+        }
+    }
+
+    // ---------------- Stats ----------------
+    public int size() {
+        int size = 0;
+        for (Map<Long, Entry> segment : segments) {
+            synchronized (segment) {
+                size += segment.size();
+            }
+        }
+        return size;
+    }
+
+    public int capacity() {
+        return maxEntries;
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public long getStores() {
+        return stores.sum();
+    }
+
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+    public double getHitRate() {
+        long h = hits.sum(), total = h + misses.sum();
+        return total == 0 ? 0.0 : (double) h / total;
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.othello.engine;
+
+/**
+ * The rules of the game that are not about flipping discs: whose turn it is after
+ * a move, when a side has to pass and when the game is over. Everything is static
+ * and takes the legal-move masks, so callers that cache them pay nothing extra.
+ */
+public final class Rules {
+
+    /** {@link #result} of a game that is still being played. */
+    public static final int IN_PROGRESS = -1;
+    /** {@link #result} of a finished game with equal disc counts. */
+    public static final int DRAW = 0;
+
+    private Rules() {
+    }
+
+    /** Whether square {@code sq} ({@code row * 8 + col}) is among the mover's {@code legalMoves}. */
+    public static boolean isLegal(long legalMoves, int sq) {
+        return sq >= 0 && sq < 64 && (legalMoves & (1L << sq)) != 0;
+    }
+
+    /**
+     * {@link BitBoard#BLACK}, {@link BitBoard#WHITE} or {@link #DRAW} once neither side can
+     * move, otherwise {@link #IN_PROGRESS}. The side with more discs wins; empty squares
+     * left at the end count for nobody.
+     */
+    public static int result(BitBoard position, long blackMoves, long whiteMoves) {
+        if (blackMoves != 0 || whiteMoves != 0) return IN_PROGRESS;
+        int black = position.count(BitBoard.BLACK), white = position.count(BitBoard.WHITE);
+        return black > white ? BitBoard.BLACK : white > black ? BitBoard.WHITE : DRAW;
+    }
+
+    public static int result(BitBoard position) {
+        return result(position, position.legalMoves(BitBoard.BLACK), position.legalMoves(BitBoard.WHITE));
+    }
+
+    /** True when {@code player} is to move, has no legal move, but the game goes on: they pass. */
+    public static boolean mustPass(int player, long blackMoves, long whiteMoves) {
+        long own = player == BitBoard.BLACK ? blackMoves : whiteMoves;
+        long opp = player == BitBoard.BLACK ? whiteMoves : blackMoves;
+        return own == 0 && opp != 0;
+    }
+}
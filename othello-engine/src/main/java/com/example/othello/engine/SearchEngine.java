@@ -0,0 +1,287 @@
+package com.example.othello.engine;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Negamax alpha-beta search with iterative deepening under a wall-clock budget.
+ *
+ * An instance keeps its move buffers and history table between calls, so it is
+ * cheap to reuse but must not be shared between threads. The optional
+ * TranspositionTable and the Evaluator, on the other hand, are meant to be shared.
+ */
+public class SearchEngine {
+
+    public static final int INFINITY = 1_000_000;
+    /** Scale applied to the final disc differential so exact results always outrank heuristics. */
+    public static final int WIN_SCALE = 1_000;
+    /** A budget that never runs out, for depth-limited searches; small enough not to overflow the deadline. */
+    public static final long NO_TIME_LIMIT = Long.MAX_VALUE / 2_000_000L;
+
+    private static final int MAX_PLY = 128;
+    private static final int MAX_MOVES = 40;
+    // How often (in nodes) the clock is read
+    private static final int TIME_CHECK_MASK = 1023;
+
+    // ---------------- Static evaluation masks ----------------
+    private static final long CORNERS = 0x8100000000000081L;
+    private static final long X_SQUARES = 0x0042000000004200L;
+    private static final long C_SQUARES = 0x4281000000008142L;
+    private static final long A_SQUARES = 0x2400810000810024L;
+    private static final long B_SQUARES = 0x1800008181000018L;
+    private static final long INNER_RING = 0x003c424242423c00L;
+    // Heuristic scores stay strictly below the smallest win
+    private static final int MAX_EVAL = WIN_SCALE - 1;
+
+    private static final int[] SQUARE_ORDER = {
+            100, -20, 10, 5, 5, 10, -20, 100,
+            -20, -50, -2, -2, -2, -2, -50, -20,
+            10, -2, -1, -1, -1, -1, -2, 10,
+            5, -2, -1, -1, -1, -1, -2, 5,
+            5, -2, -1, -1, -1, -1, -2, 5,
+            10, -2, -1, -1, -1, -1, -2, 10,
+            -20, -50, -2, -2, -2, -2, -50, -20,
+            100, -20, 10, 5, 5, 10, -20, 100
+    };
+
+    private final int[][] moveBuf = new int[MAX_PLY][MAX_MOVES];
+    private final int[][] keyBuf = new int[MAX_PLY][MAX_MOVES];
+    private final int[] history = new int[64];
+    // Nanos from the start of the last search to the end of each depth it completed
+    private final long[] completedAt = new long[MAX_PLY];
+    private final TranspositionTable table;
+    private final Evaluator evaluator;
+
+    private long nodes;
+    private long deadline;
+    private AtomicBoolean stop;
+    private boolean canAbort;
+    private boolean aborted;
+    private int rootBest;
+    private int firstDepth;
+    private int lastDepth;
+
+    public SearchEngine() {
+        this(null);
+    }
+
+    public SearchEngine(TranspositionTable table) {
+        this(table, Evaluator.HEURISTIC);
+    }
+
+    public SearchEngine(TranspositionTable table, Evaluator evaluator) {
+        this.table = table;
+        this.evaluator = evaluator;
+    }
+
+    /** Searches to {@code maxDepth} however long it takes, for offline tools where depth matters, not time. */
+    public SearchResult search(long own, long opp, int player, int maxDepth) {
+        return search(own, opp, player, NO_TIME_LIMIT, maxDepth);
+    }
+
+    /**
+     * Searches the position for {@code player}, who owns {@code own}, until {@code maxDepth}
+     * is completed or {@code budgetMillis} runs out. Depth 1 always completes.
+     */
+    public SearchResult search(long own, long opp, int player, long budgetMillis, int maxDepth) {
+        return search(own, opp, player, budgetMillis, maxDepth, 1, new AtomicBoolean());
+    }
+
+    /**
+     * As above, but iterative deepening begins at {@code startDepth} and the search also
+     * ends as soon as {@code stop} is set. Used by helper threads in ParallelSearch.
+     */
+    public SearchResult search(long own, long opp, int player, long budgetMillis, int maxDepth,
+                               int startDepth, AtomicBoolean stop) {
+        long start = System.nanoTime();
+        deadline = start + budgetMillis * 1_000_000L;
+        nodes = 0;
+        aborted = false;
+        canAbort = false;
+        this.stop = stop;
+        Arrays.fill(history, 0);
+        firstDepth = Math.max(1, startDepth);
+        lastDepth = 0;
+
+        long moves = BitBoard.legalMoves(own, opp);
+        if (moves == 0) {
+            return new SearchResult(-1, evaluator.evaluate(own, opp), 0, 0, System.nanoTime() - start);
+        }
+
+        int empties = Long.bitCount(~(own | opp));
+        int limit = Math.max(1, Math.min(maxDepth, empties));
+        int bestMove = Long.numberOfTrailingZeros(moves);
+        int bestScore = 0;
+        int completed = 0;
+        rootBest = -1;
+        long hash = player == BitBoard.BLACK ? Zobrist.hash(own, opp, player) : Zobrist.hash(opp, own, player);
+        if (table != null) table.newSearch();
+
+        for (int depth = Math.min(Math.max(1, startDepth), limit); depth <= limit; depth++) {
+            long iterationStart = System.nanoTime();
+            int score = negamax(own, opp, player, hash, depth, -INFINITY, INFINITY, 0);
+            if (aborted) break;
+            bestMove = rootBest;
+            bestScore = score;
+            completed = depth;
+            canAbort = true;
+            long now = System.nanoTime();
+            completedAt[depth] = now - start;
+            lastDepth = depth;
+
+            // Next iteration usually costs several times this one; stop early rather than overrun
+            if (now + (now - iterationStart) * 3 > deadline) break;
+        }
+
+        return new SearchResult(bestMove, bestScore, completed, nodes, System.nanoTime() - start);
+    }
+
+    /**
+     * How long the last search took, or on its own would have taken, to complete {@code depth}:
+     * the measured time when it got there, otherwise its own last iteration grown by the ratio
+     * of its last two for each further depth. 0 when there are too few iterations to tell.
+     */
+    long nanosToDepth(int depth) {
+        if (depth <= lastDepth) return depth < firstDepth ? 0 : completedAt[depth];
+        if (lastDepth - firstDepth < 2) return 0;
+        long last = completedAt[lastDepth] - completedAt[lastDepth - 1];
+        long previous = completedAt[lastDepth - 1] - completedAt[lastDepth - 2];
+        double growth = Math.max(1.0, (double) last / Math.max(1, previous));
+        double total = completedAt[lastDepth];
+        double iteration = last;
+        for (int d = lastDepth + 1; d <= depth; d++) {
+            iteration *= growth;
+            total += iteration;
+        }
+        return (long) total;
+    }
+
+    private int negamax(long own, long opp, int player, long hash, int depth, int alpha, int beta, int ply) {
+        nodes++;
+        if (canAbort && (nodes & TIME_CHECK_MASK) == 0 && (stop.get() || System.nanoTime() > deadline)) {
+            aborted = true;
+        }
+        if (aborted) return 0;
+
+        long moves = BitBoard.legalMoves(own, opp);
+        if (moves == 0) {
+            if (BitBoard.legalMoves(opp, own) == 0) return finalScore(own, opp);
+            // Pass: the opponent moves on the same depth
+            return -negamax(opp, own, BitBoard.opponent(player), Zobrist.afterPass(hash), depth, -beta, -alpha, ply + 1);
+        }
+        if (depth == 0) return evaluator.evaluate(own, opp);
+
+        int ttMove = TranspositionTable.NO_MOVE;
+        if (table != null) {
+            long entry = table.probe(hash);
+            if (entry != 0) {
+                ttMove = TranspositionTable.move(entry);
+                // The root still needs a move, so cut-offs are only taken below it
+                if (ply > 0 && TranspositionTable.depth(entry) >= depth) {
+                    int ttScore = TranspositionTable.score(entry);
+                    int bound = TranspositionTable.bound(entry);
+                    if (bound == TranspositionTable.BOUND_EXACT) return ttScore;
+                    if (bound == TranspositionTable.BOUND_LOWER && ttScore >= beta) return ttScore;
+                    if (bound == TranspositionTable.BOUND_UPPER && ttScore <= alpha) return ttScore;
+                }
+            }
+        }
+
+        int alphaOrig = alpha;
+        int count = orderMoves(own, opp, moves, depth, ply, ttMove);
+        int[] list = moveBuf[ply];
+        int best = -INFINITY;
+        int bestSq = TranspositionTable.NO_MOVE;
+        int next = BitBoard.opponent(player);
+
+        for (int i = 0; i < count; i++) {
+            int sq = list[i];
+            long flipped = BitBoard.flips(own, opp, sq);
+            long childHash = Zobrist.afterMove(hash, player, sq, flipped);
+            int score = -negamax(opp & ~flipped, own | flipped | (1L << sq), next, childHash,
+                    depth - 1, -beta, -alpha, ply + 1);
+            if (aborted) return 0;
+
+            if (score > best) {
+                best = score;
+                bestSq = sq;
+                if (ply == 0) rootBest = sq;
+            }
+            if (best > alpha) alpha = best;
+            if (alpha >= beta) {
+                history[sq] += depth * depth;
+                break;
+            }
+        }
+
+        if (table != null) {
+            int bound = best <= alphaOrig ? TranspositionTable.BOUND_UPPER
+                    : best >= beta ? TranspositionTable.BOUND_LOWER
+                    : TranspositionTable.BOUND_EXACT;
+            table.store(hash, bestSq, depth, bound, best);
+        }
+        return best;
+    }
+
+    /**
+     * Fills moveBuf[ply] with the legal moves, best candidates first: the previous
+     * iteration's choice at the root or the table move below it, then fewest opponent
+     * replies, square value and history.
+     */
+    private int orderMoves(long own, long opp, long moves, int depth, int ply, int ttMove) {
+        int[] list = moveBuf[ply];
+        int[] keys = keyBuf[ply];
+        int count = 0;
+        for (; moves != 0; moves &= moves - 1) {
+            int sq = Long.numberOfTrailingZeros(moves);
+            int key = SQUARE_ORDER[sq] * 4 + history[sq];
+            if (depth >= 3) {
+                long flipped = BitBoard.flips(own, opp, sq);
+                long replies = BitBoard.legalMoves(opp & ~flipped, own | flipped | (1L << sq));
+                key -= Long.bitCount(replies) * 64;
+            }
+            if (ply == 0 ? sq == rootBest : sq == ttMove) key = Integer.MAX_VALUE;
+
+            // Insertion sort, descending by key
+            int i = count++;
+            while (i > 0 && keys[i - 1] < key) {
+                keys[i] = keys[i - 1];
+                list[i] = list[i - 1];
+                i--;
+            }
+            keys[i] = key;
+            list[i] = sq;
+        }
+        return count;
+    }
+
+    // ---------------- Evaluation ----------------
+    /**
+     * Positional value plus mobility, from the point of view of {@code own}. Clamped inside
+     * {@link #WIN_SCALE}, which lopsided positions would otherwise reach.
+     */
+    public static int evaluate(long own, long opp) {
+        int score = weigh(own) - weigh(opp);
+        int mobility = Long.bitCount(BitBoard.legalMoves(own, opp)) - Long.bitCount(BitBoard.legalMoves(opp, own));
+        return Math.max(-MAX_EVAL, Math.min(MAX_EVAL, score + mobility * 10));
+    }
+
+    private static int weigh(long discs) {
+        return 100 * Long.bitCount(discs & CORNERS)
+                - 50 * Long.bitCount(discs & X_SQUARES)
+                - 20 * Long.bitCount(discs & C_SQUARES)
+                + 10 * Long.bitCount(discs & A_SQUARES)
+                + 5 * Long.bitCount(discs & B_SQUARES)
+                - 2 * Long.bitCount(discs & INNER_RING)
+                - Long.bitCount(discs & ~(CORNERS | X_SQUARES | C_SQUARES | A_SQUARES | B_SQUARES | INNER_RING));
+    }
+
+    /** Exact result once neither side can move: empties go to the winner, as in standard scoring. */
+    public static int finalScore(long own, long opp) {
+        int diff = Long.bitCount(own) - Long.bitCount(opp);
+        int empties = 64 - Long.bitCount(own | opp);
+        if (diff > 0) diff += empties;
+        else if (diff < 0) diff -= empties;
+        return diff * WIN_SCALE;
+    }
+}
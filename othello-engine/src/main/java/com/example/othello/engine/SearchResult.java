@@ -0,0 +1,146 @@
+package com.example.othello.engine;
+
+/**
+ * Outcome of one AI search: the chosen square (or -1 to pass) and how hard the engine worked for it.
+ */
+public final class SearchResult {
+
+    private final int move;
+    private final int score;
+    private final int depth;
+    private final long nodes;
+    private final long elapsedNanos;
+    private final int threads;
+    private final double speedup;
+    private final double nodeRatio;
+    private final boolean exact;
+    private final boolean fromBook;
+    private final boolean pondered;
+    private final boolean cached;
+
+    public SearchResult(int move, int score, int depth, long nodes, long elapsedNanos) {
+        this(move, score, depth, nodes, elapsedNanos, 1, 1.0, false);
+    }
+
+    public SearchResult(int move, int score, int depth, long nodes, long elapsedNanos,
+                        int threads, double speedup, double nodeRatio) {
+        this(move, score, depth, nodes, elapsedNanos, threads, speedup, nodeRatio, false, false, false, false);
+    }
+
+    public SearchResult(int move, int score, int depth, long nodes, long elapsedNanos,
+                        int threads, double nodeRatio, boolean exact) {
+        this(move, score, depth, nodes, elapsedNanos, threads, 1.0, nodeRatio, exact, false, false, false);
+    }
+
+    private SearchResult(int move, int score, int depth, long nodes, long elapsedNanos, int threads, double speedup,
+                         double nodeRatio, boolean exact, boolean fromBook, boolean pondered, boolean cached) {
+        this.move = move;
+        this.score = score;
+        this.depth = depth;
+        this.nodes = nodes;
+        this.elapsedNanos = elapsedNanos;
+        this.threads = threads;
+        this.speedup = speedup;
+        this.nodeRatio = nodeRatio;
+        this.exact = exact;
+        this.fromBook = fromBook;
+        this.pondered = pondered;
+        this.cached = cached;
+    }
+
+    /** A reply taken straight from the opening book; depth and score are the ones recorded at build time. */
+    public static SearchResult fromBook(int move, int score, int depth, long elapsedNanos) {
+        return new SearchResult(move, score, depth, 0, elapsedNanos, 1, 1.0, 1.0, false, true, false, false);
+    }
+
+    /** A search finished on the opponent's time; nodes are the ponder's, elapsed time is what the reply cost. */
+    public static SearchResult fromPonder(SearchResult pondered, long elapsedNanos) {
+        return new SearchResult(pondered.move, pondered.score, pondered.depth, pondered.nodes, elapsedNanos,
+                1, 1.0, 1.0, pondered.exact, false, true, false);
+    }
+
+    /** A reply found in the {@link PositionCache}: an earlier search of this position, possibly from another game. */
+    public static SearchResult fromCache(PositionCache.Entry entry, long elapsedNanos) {
+        return new SearchResult(entry.getMove(), entry.getScore(), entry.getDepth(), 0, elapsedNanos,
+                1, 1.0, 1.0, entry.isExact(), false, false, true);
+    }
+
+    /** Square index {@code row * 8 + col}, or -1 when the side to move has to pass. */
+    public int getMove() {
+        return move;
+    }
+
+    public int getRow() {
+        return move < 0 ? -1 : move >>> 3;
+    }
+
+    public int getCol() {
+        return move < 0 ? -1 : move & 7;
+    }
+
+    public int getScore() {
+        return score;
+    }
+
+    /** Deepest fully completed iteration. */
+    public int getDepth() {
+        return depth;
+    }
+
+    /** Total nodes over all threads that took part. */
+    public long getNodes() {
+        return nodes;
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    public long getNodesPerSecond() {
+        return elapsedNanos <= 0 ? nodes : nodes * 1_000_000_000L / elapsedNanos;
+    }
+
+    public int getThreads() {
+        return threads;
+    }
+
+    /**
+     * Estimated time-to-depth speedup of a parallel search: the time the main thread alone would have needed
+     * for {@link #getDepth()}, extrapolated from its own iteration timings, over the time the search took.
+     * 1.0 when no helper completed a deeper iteration than the main thread, and for single-threaded searches.
+     */
+    public double getSpeedup() {
+        return speedup;
+    }
+
+    /**
+     * Nodes searched by all threads over those of the main search thread; 1.0 for single-threaded searches.
+     * This is the extra work the helpers did, not how much sooner the result came: see {@link #getSpeedup()}.
+     */
+    public double getNodeRatio() {
+        return nodeRatio;
+    }
+
+    /** True when the score is a proven final result (endgame solver) rather than a heuristic estimate. */
+    public boolean isExact() {
+        return exact;
+    }
+
+    public boolean isFromBook() {
+        return fromBook;
+    }
+
+    public boolean isPondered() {
+        return pondered;
+    }
+
+    public boolean isCached() {
+        return cached;
+    }
+
+    @Override
+    public String toString() {
+        return "SearchResult{move=" + move + ", score=" + score + ", depth=" + depth
+                + ", nodes=" + nodes + ", nps=" + getNodesPerSecond() + ", threads=" + threads + "}";
+    }
+}
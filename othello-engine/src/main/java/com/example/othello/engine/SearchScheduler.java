@@ -0,0 +1,305 @@
+package com.example.othello.engine;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Runs all AI compute (interactive moves, post-game analysis, pondering) on a fixed set
+ * of threads of its own, so searches never occupy the web server's request threads and
+ * never take more than {@code threads} cores. That holds only for work that runs here:
+ * a job that fans out must submit its helpers as jobs too (as {@link ParallelSearch} does
+ * when built with a scheduler), or their threads and CPU time go uncounted.
+ *
+ * Queued jobs run in priority order: interactive moves first, then analysis, then
+ * pondering, first come first served within a priority. A job's time budget is set when
+ * it starts, not when it is submitted:
+ * <ul>
+ *   <li>It is scaled down by the number of jobs of at least its priority still waiting,
+ *   so a backlog drains in roughly the time one job would have taken. Iterative
+ *   deepening turns the shorter budget into a shallower search rather than a timeout.</li>
+ *   <li>Interactive jobs are limited by their game's budget: CPU time one game may use
+ *   per window.</li>
+ *   <li>Analysis and pondering share a global CPU budget per window; pondering gets
+ *   nothing once it is spent.</li>
+ * </ul>
+ * Interactive jobs are always admitted. Background jobs are refused once
+ * {@code queueCapacity} jobs are waiting, and a running ponder is stopped when an
+ * interactive job would otherwise have to wait for a thread.
+ */
+public class SearchScheduler {
+
+    public enum Priority {
+        INTERACTIVE, ANALYSIS, PONDER
+    }
+
+    /** Work run on a scheduler thread with the budget it was granted. */
+    public interface Job<T> {
+        T run(Grant grant);
+    }
+
+    /** What a job may spend: the granted milliseconds and the fraction of its request they are. */
+    public static final class Grant {
+        private final long budgetMillis;
+        private final double scale;
+        private final long queuedNanos;
+
+        Grant(long budgetMillis, double scale, long queuedNanos) {
+            this.budgetMillis = budgetMillis;
+            this.scale = scale;
+            this.queuedNanos = queuedNanos;
+        }
+
+        public long getBudgetMillis() {
+            return budgetMillis;
+        }
+
+        /** Granted over requested, 1.0 when the job got everything it asked for. */
+        public double getScale() {
+            return scale;
+        }
+
+        /** Scales another budget of the same job (an endgame solve, say) by the same factor. */
+        public long scale(long millis) {
+            return Math.max(1, Math.round(millis * scale));
+        }
+
+        public long getQueuedNanos() {
+            return queuedNanos;
+        }
+    }
+
+    private final class Task<T> implements Runnable, Comparable<Task<?>> {
+        final Priority priority;
+        final long sequence = sequencer.incrementAndGet();
+        final String gameId;
+        final long requestedMillis;
+        final AtomicBoolean stop;
+        final Job<T> job;
+        final CompletableFuture<T> future = new CompletableFuture<>();
+        final long submitted = System.nanoTime();
+
+        Task(Priority priority, String gameId, long requestedMillis, AtomicBoolean stop, Job<T> job) {
+            this.priority = priority;
+            this.gameId = gameId;
+            this.requestedMillis = requestedMillis;
+            this.stop = stop;
+            this.job = job;
+        }
+
+        @Override
+        public int compareTo(Task<?> other) {
+            int byPriority = priority.compareTo(other.priority);
+            return byPriority != 0 ? byPriority : Long.compare(sequence, other.sequence);
+        }
+
+        @Override
+        public void run() {
+            waiting[priority.ordinal()].decrementAndGet();
+            if (future.isDone()) return;
+            running.add(this);
+            long cpuStart = cpuNanos();
+            T result = null;
+            Throwable failure = null;
+            try {
+                result = job.run(grant(this));
+            } catch (Throwable e) {
+                failure = e;
+            }
+            running.remove(this);
+            // Charged before the caller hears back, so its next job sees the usage
+            charge(this, cpuNanos() - cpuStart);
+            if (failure != null) future.completeExceptionally(failure);
+            else future.complete(result);
+        }
+    }
+
+    private final ThreadPoolExecutor pool;
+    private final int threads;
+    private final int queueCapacity;
+    private final long gameBudgetNanos;
+    private final long globalBudgetNanos;
+    private final long windowNanos;
+    private final long minBudgetMillis;
+    private final ThreadMXBean cpu = ManagementFactory.getThreadMXBean();
+    private final boolean cpuTime;
+
+    private final AtomicLong sequencer = new AtomicLong();
+    private final AtomicInteger[] waiting = new AtomicInteger[Priority.values().length];
+    private final Set<Task<?>> running = ConcurrentHashMap.newKeySet();
+
+    // Usage in the current window; the window is reset lazily by whoever notices it has expired
+    private volatile long windowStart = System.nanoTime();
+    private final Map<String, AtomicLong> gameUsage = new ConcurrentHashMap<>();
+    private final AtomicLong backgroundUsage = new AtomicLong();
+
+    private final AtomicLong completed = new AtomicLong();
+    private final AtomicLong degraded = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong preempted = new AtomicLong();
+
+    /**
+     * @param gameBudgetMillis  CPU time one game's interactive moves may use per window
+     * @param globalBudgetMillis CPU time all analysis and pondering may use per window
+     * @param minBudgetMillis   floor for interactive and analysis grants; depth 1 always completes anyway
+     */
+    public SearchScheduler(int threads, int queueCapacity, long gameBudgetMillis, long globalBudgetMillis,
+                           long windowMillis, long minBudgetMillis) {
+        this.threads = Math.max(1, threads);
+        this.queueCapacity = queueCapacity;
+        this.gameBudgetNanos = gameBudgetMillis * 1_000_000L;
+        this.globalBudgetNanos = globalBudgetMillis * 1_000_000L;
+        this.windowNanos = windowMillis * 1_000_000L;
+        this.minBudgetMillis = minBudgetMillis;
+        for (int i = 0; i < waiting.length; i++) waiting[i] = new AtomicInteger();
+        this.cpuTime = cpu.isCurrentThreadCpuTimeSupported();
+        if (cpuTime && !cpu.isThreadCpuTimeEnabled()) cpu.setThreadCpuTimeEnabled(true);
+
+        AtomicInteger threadCount = new AtomicInteger();
+        this.pool = new ThreadPoolExecutor(this.threads, this.threads, 0, TimeUnit.MILLISECONDS,
+                new PriorityBlockingQueue<>(), r -> {
+                    Thread t = new Thread(r, "othello-search-" + threadCount.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                });
+    }
+
+    /**
+     * Queues {@code job} for {@code gameId} asking for {@code budgetMillis}. For background
+     * jobs the scheduler may set {@code stop} to preempt them; pass the flag the job's
+     * searches watch. The future fails with RejectedExecutionException when a background
+     * job is refused.
+     */
+    public <T> CompletableFuture<T> submit(Priority priority, String gameId, long budgetMillis, AtomicBoolean stop,
+                                           Job<T> job) {
+        Task<T> task = new Task<>(priority, gameId, budgetMillis, stop, job);
+        if (priority != Priority.INTERACTIVE && pool.getQueue().size() >= queueCapacity) {
+            rejected.incrementAndGet();
+            task.future.completeExceptionally(new RejectedExecutionException("AI scheduler queue is full"));
+            return task.future;
+        }
+        waiting[priority.ordinal()].incrementAndGet();
+        try {
+            pool.execute(task);
+        } catch (RejectedExecutionException e) {
+            waiting[priority.ordinal()].decrementAndGet();
+            rejected.incrementAndGet();
+            task.future.completeExceptionally(e);
+            return task.future;
+        }
+        if (priority == Priority.INTERACTIVE && pool.getActiveCount() >= threads) preemptPonder();
+        return task.future;
+    }
+
+    // Stops one running ponder so the waiting move gets its thread
+    private void preemptPonder() {
+        for (Task<?> t : running) {
+            if (t.priority == Priority.PONDER && t.stop != null && !t.stop.get()) {
+                t.stop.set(true);
+                preempted.incrementAndGet();
+                return;
+            }
+        }
+    }
+
+    private Grant grant(Task<?> task) {
+        rollWindow();
+        long queuedNanos = System.nanoTime() - task.submitted;
+        // Share the threads with everything of at least this priority that is still waiting
+        int ahead = 0;
+        for (int p = 0; p <= task.priority.ordinal(); p++) ahead += waiting[p].get();
+        double budget = task.requestedMillis * (double) threads / (threads + ahead);
+
+        if (task.priority == Priority.INTERACTIVE) {
+            AtomicLong used = task.gameId == null ? null : gameUsage.get(task.gameId);
+            long left = gameBudgetNanos - (used == null ? 0 : used.get());
+            budget = Math.min(budget, left / 1_000_000.0);
+        } else {
+            budget = Math.min(budget, (globalBudgetNanos - backgroundUsage.get()) / 1_000_000.0);
+        }
+
+        long granted = task.priority == Priority.PONDER
+                ? Math.max(0, (long) budget)
+                : Math.max(minBudgetMillis, (long) budget);
+        if (granted < task.requestedMillis) degraded.incrementAndGet();
+        double scale = task.requestedMillis <= 0 ? 1.0 : Math.min(1.0, (double) granted / task.requestedMillis);
+        return new Grant(granted, scale, queuedNanos);
+    }
+
+    private void charge(Task<?> task, long nanos) {
+        completed.incrementAndGet();
+        if (task.priority == Priority.INTERACTIVE) {
+            if (task.gameId != null) gameUsage.computeIfAbsent(task.gameId, k -> new AtomicLong()).addAndGet(nanos);
+        } else {
+            backgroundUsage.addAndGet(nanos);
+        }
+    }
+
+    private void rollWindow() {
+        long now = System.nanoTime();
+        long start = windowStart;
+        if (now - start < windowNanos) return;
+        synchronized (this) {
+            if (windowStart != start) return;
+            gameUsage.clear();
+            backgroundUsage.set(0);
+            windowStart = now;
+        }
+    }
+
+    private long cpuNanos() {
+        return cpuTime ? cpu.getCurrentThreadCpuTime() : System.nanoTime();
+    }
+
+    // ---------------- Stats ----------------
+    public int getThreads() {
+        return threads;
+    }
+
+    public int getQueued(Priority priority) {
+        return waiting[priority.ordinal()].get();
+    }
+
+    public int getRunning() {
+        return running.size();
+    }
+
+    public long getCompleted() {
+        return completed.get();
+    }
+
+    /** Jobs granted less than they asked for. */
+    public long getDegraded() {
+        return degraded.get();
+    }
+
+    public long getRejected() {
+        return rejected.get();
+    }
+
+    public long getPreempted() {
+        return preempted.get();
+    }
+
+    /** Analysis and ponder CPU time used in the current window, in milliseconds. */
+    public long getBackgroundMillis() {
+        return backgroundUsage.get() / 1_000_000L;
+    }
+
+    public void shutdown() {
+        running.forEach(t -> {
+            if (t.stop != null) t.stop.set(true);
+        });
+        pool.shutdownNow();
+    }
+}
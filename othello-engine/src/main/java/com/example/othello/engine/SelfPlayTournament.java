@@ -0,0 +1,406 @@
+package com.example.othello.engine;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Headless engine-vs-engine match runner, used to compare AI changes and as a
+ * sustained-load benchmark.
+ *
+ * <pre>
+ * java -cp othello-engine.jar com.example.othello.engine.SelfPlayTournament \
+ *      &lt;engine A&gt; &lt;engine B&gt; [games=200] [threads=0] [random plies=6] [seed=1]
+ * </pre>
+ *
+ * An engine is a comma-separated spec such as {@code depth=6}, {@code time=100}
+ * or {@code time=100,endgame=14,weights=pattern.weights}; see {@link Player#parse}.
+ *
+ * Games are played in pairs from the same randomized opening, once with each
+ * engine as Black, so neither side profits from a lucky start. Turns, passes and
+ * the result follow the same rules as the web game. Every worker thread owns its
+ * engines and transposition tables, so games run on all cores without sharing state.
+ */
+public final class SelfPlayTournament {
+
+    private static final int DEFAULT_TT_MB = 8;
+
+    private final Player first;
+    private final Player second;
+    private final int games;
+    private final int threads;
+    private final int randomPlies;
+    private final long seed;
+
+    public SelfPlayTournament(Player first, Player second, int games, int threads, int randomPlies, long seed) {
+        this.first = first;
+        this.second = second;
+        this.games = Math.max(1, games);
+        this.threads = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        this.randomPlies = Math.max(0, randomPlies);
+        this.seed = seed;
+    }
+
+    public static void main(String[] args) {
+        if (args.length < 2) {
+            System.err.println("Usage: SelfPlayTournament <engine A> <engine B> [games] [threads] [random plies] [seed]");
+            System.err.println("  engine: depth=N | time=MS [,endgame=EMPTIES] [,endgame-time=MS] [,tt=MB] [,weights=FILE]");
+            System.exit(1);
+        }
+        Player a = Player.parse(args[0]);
+        Player b = Player.parse(args[1]);
+        int games = args.length > 2 ? Integer.parseInt(args[2]) : 200;
+        int threads = args.length > 3 ? Integer.parseInt(args[3]) : 0;
+        int randomPlies = args.length > 4 ? Integer.parseInt(args[4]) : 6;
+        long seed = args.length > 5 ? Long.parseLong(args[5]) : 1L;
+
+        SelfPlayTournament tournament = new SelfPlayTournament(a, b, games, threads, randomPlies, seed);
+        System.out.println(tournament.run());
+    }
+
+    /** Plays every game and returns the combined result. Blocks until all games are done. */
+    public Report run() {
+        AtomicInteger next = new AtomicInteger();
+        AtomicInteger counter = new AtomicInteger();
+        int workers = Math.min(threads, games);
+        ExecutorService pool = Executors.newFixedThreadPool(workers, r -> {
+            Thread t = new Thread(r, "othello-selfplay-" + counter.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+
+        long start = System.nanoTime();
+        List<Future<Standing[]>> futures = new ArrayList<>(workers);
+        for (int w = 0; w < workers; w++) {
+            futures.add(pool.submit(() -> playGames(next)));
+        }
+
+        Standing[] total = {new Standing(first.name), new Standing(second.name)};
+        try {
+            for (Future<Standing[]> future : futures) {
+                Standing[] part = future.get();
+                total[0].add(part[0]);
+                total[1].add(part[1]);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Tournament interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Self-play game failed", e.getCause());
+        } finally {
+            pool.shutdownNow();
+        }
+        return new Report(games, workers, System.nanoTime() - start, total[0], total[1]);
+    }
+
+    // ---------------- Worker ----------------
+    /** Takes game numbers from {@code next} until none are left; results stay thread-local until the end. */
+    private Standing[] playGames(AtomicInteger next) {
+        Seat[] seats = {new Seat(first), new Seat(second)};
+        Standing[] standings = {new Standing(first.name), new Standing(second.name)};
+        for (int game = next.getAndIncrement(); game < games; game = next.getAndIncrement()) {
+            // Even games give engine A the black discs, odd games replay the same opening with colours swapped
+            int blackSeat = game & 1;
+            Game match = playOpening(new Random(seed * 0x9E3779B97F4A7C15L + (game >>> 1)));
+
+            seats[0].newGame();
+            seats[1].newGame();
+            while (!match.isOver()) {
+                int player = match.sideToMove();
+                int seat = player == BitBoard.BLACK ? blackSeat : 1 - blackSeat;
+                int move = seats[seat].move(match.position(), player, standings[seat]);
+                if (!match.play(move, true)) {
+                    throw new IllegalStateException(standings[seat].name + " played an illegal move: " + move);
+                }
+            }
+
+            BitBoard board = match.position();
+            int diff = board.count(BitBoard.BLACK) - board.count(BitBoard.WHITE);
+            standings[blackSeat].recordResult(diff);
+            standings[1 - blackSeat].recordResult(-diff);
+        }
+        return standings;
+    }
+
+    /** A new game after {@code randomPlies} uniformly random legal moves. */
+    private Game playOpening(Random random) {
+        Game game = new Game();
+        for (int ply = 0; ply < randomPlies && !game.isOver(); ply++) {
+            long moves = game.legalMoves();
+            int skip = random.nextInt(Long.bitCount(moves));
+            for (int i = 0; i < skip; i++) moves &= moves - 1;
+            game.play(Long.numberOfTrailingZeros(moves), false);
+        }
+        return game;
+    }
+
+    /** One engine configuration as instantiated on one worker thread. */
+    private static final class Seat {
+        private final Player config;
+        private final TranspositionTable table;
+        private final SearchEngine engine;
+        private final EndgameSolver solver = new EndgameSolver();
+
+        Seat(Player config) {
+            this.config = config;
+            this.table = new TranspositionTable(config.ttSizeMb);
+            this.engine = new SearchEngine(table, config.evaluator);
+        }
+
+        void newGame() {
+            table.clear();
+        }
+
+        int move(BitBoard board, int player, Standing standing) {
+            long own = board.discs(player), opp = board.discs(BitBoard.opponent(player));
+            long started = System.nanoTime();
+            SearchResult result = null;
+            if (Long.bitCount(~(own | opp)) <= config.endgameEmpties) {
+                result = solver.solve(own, opp, config.endgameBudgetMs);
+            }
+            if (result == null) {
+                result = engine.search(own, opp, player, config.budgetMs, config.depth);
+            }
+            standing.recordMove(System.nanoTime() - started, result.getNodes());
+            return result.getMove();
+        }
+    }
+
+    // ---------------- Configuration ----------------
+    public static final class Player {
+        final String name;
+        final int depth;
+        final long budgetMs;
+        final int endgameEmpties;
+        final long endgameBudgetMs;
+        final int ttSizeMb;
+        final Evaluator evaluator;
+
+        public Player(String name, int depth, long budgetMs, int endgameEmpties, long endgameBudgetMs, int ttSizeMb,
+                      Evaluator evaluator) {
+            this.name = name;
+            this.depth = depth;
+            this.budgetMs = budgetMs;
+            this.endgameEmpties = endgameEmpties;
+            this.endgameBudgetMs = endgameBudgetMs;
+            this.ttSizeMb = ttSizeMb;
+            this.evaluator = evaluator;
+        }
+
+        /**
+         * Parses {@code depth=N} (fixed depth, no clock) or {@code time=MS} (iterative deepening
+         * to depth 60 under a budget), optionally followed by {@code endgame=EMPTIES},
+         * {@code endgame-time=MS}, {@code tt=MB} and {@code weights=FILE} (a PatternEvaluator
+         * weight file instead of the built-in evaluation). The endgame solver is off unless given.
+         */
+        public static Player parse(String spec) {
+            int depth = 60;
+            long budgetMs = SearchEngine.NO_TIME_LIMIT;
+            int endgameEmpties = 0;
+            long endgameBudgetMs = SearchEngine.NO_TIME_LIMIT;
+            int ttSizeMb = DEFAULT_TT_MB;
+            Evaluator evaluator = Evaluator.HEURISTIC;
+            boolean limited = false;
+            for (String part : spec.split(",")) {
+                String[] kv = part.trim().split("=", 2);
+                if (kv.length != 2) throw new IllegalArgumentException("Expected key=value in engine spec: " + part);
+                switch (kv[0].trim().toLowerCase(Locale.ROOT)) {
+                    case "depth":
+                        depth = Integer.parseInt(kv[1].trim());
+                        limited = true;
+                        break;
+                    case "time":
+                        budgetMs = Long.parseLong(kv[1].trim());
+                        limited = true;
+                        break;
+                    case "endgame":
+                        endgameEmpties = Integer.parseInt(kv[1].trim());
+                        break;
+                    case "endgame-time":
+                        endgameBudgetMs = Long.parseLong(kv[1].trim());
+                        break;
+                    case "tt":
+                        ttSizeMb = Integer.parseInt(kv[1].trim());
+                        break;
+                    case "weights":
+                        try {
+                            evaluator = PatternEvaluator.load(Paths.get(kv[1].trim()));
+                        } catch (IOException e) {
+                            throw new IllegalArgumentException("Cannot read weight file " + kv[1].trim(), e);
+                        }
+                        break;
+                    default:
+                        throw new IllegalArgumentException("Unknown engine option: " + kv[0]);
+                }
+            }
+            if (!limited) throw new IllegalArgumentException("Engine spec needs depth= or time=: " + spec);
+            return new Player(spec, depth, budgetMs, endgameEmpties, endgameBudgetMs, ttSizeMb, evaluator);
+        }
+
+        public String getName() {
+            return name;
+        }
+    }
+
+    // ---------------- Results ----------------
+    /** Results and move statistics for one engine across the tournament. */
+    public static final class Standing {
+        private static final double Z_95 = 1.959964;
+
+        private final String name;
+        private int wins;
+        private int losses;
+        private int draws;
+        private long moves;
+        private long moveNanos;
+        private long nodes;
+
+        Standing(String name) {
+            this.name = name;
+        }
+
+        void recordResult(int discDiff) {
+            if (discDiff > 0) wins++;
+            else if (discDiff < 0) losses++;
+            else draws++;
+        }
+
+        void recordMove(long nanos, long searched) {
+            moves++;
+            moveNanos += nanos;
+            nodes += searched;
+        }
+
+        void add(Standing other) {
+            wins += other.wins;
+            losses += other.losses;
+            draws += other.draws;
+            moves += other.moves;
+            moveNanos += other.moveNanos;
+            nodes += other.nodes;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public int getWins() {
+            return wins;
+        }
+
+        public int getLosses() {
+            return losses;
+        }
+
+        public int getDraws() {
+            return draws;
+        }
+
+        public int getGames() {
+            return wins + losses + draws;
+        }
+
+        /** Match score: wins plus half the draws, over games played. */
+        public double getScore() {
+            int games = getGames();
+            return games == 0 ? 0.0 : (wins + 0.5 * draws) / games;
+        }
+
+        /** 95% Wilson interval for {@link #getScore()}, counting a draw as half a win. */
+        public double[] getScoreInterval() {
+            int n = getGames();
+            if (n == 0) return new double[]{0.0, 1.0};
+            double p = getScore();
+            double z2 = Z_95 * Z_95;
+            double centre = (p + z2 / (2 * n)) / (1 + z2 / n);
+            double half = Z_95 * Math.sqrt(p * (1 - p) / n + z2 / (4.0 * n * n)) / (1 + z2 / n);
+            return new double[]{Math.max(0.0, centre - half), Math.min(1.0, centre + half)};
+        }
+
+        /** Elo difference implied by the score; infinite after a clean sweep either way. */
+        public double getEloDifference() {
+            return elo(getScore());
+        }
+
+        public double getAverageMoveMillis() {
+            return moves == 0 ? 0.0 : moveNanos / 1e6 / moves;
+        }
+
+        public long getNodesPerSecond() {
+            return moveNanos == 0 ? 0 : (long) (nodes * 1e9 / moveNanos);
+        }
+
+        public long getMoves() {
+            return moves;
+        }
+
+        static double elo(double score) {
+            if (score <= 0.0) return Double.NEGATIVE_INFINITY;
+            if (score >= 1.0) return Double.POSITIVE_INFINITY;
+            return -400.0 * Math.log10(1.0 / score - 1.0);
+        }
+    }
+
+    public static final class Report {
+        private final int games;
+        private final int threads;
+        private final long elapsedNanos;
+        private final Standing first;
+        private final Standing second;
+
+        Report(int games, int threads, long elapsedNanos, Standing first, Standing second) {
+            this.games = games;
+            this.threads = threads;
+            this.elapsedNanos = elapsedNanos;
+            this.first = first;
+            this.second = second;
+        }
+
+        public int getGames() {
+            return games;
+        }
+
+        public long getElapsedNanos() {
+            return elapsedNanos;
+        }
+
+        public double getGamesPerSecond() {
+            return elapsedNanos == 0 ? 0.0 : games * 1e9 / elapsedNanos;
+        }
+
+        public Standing getFirst() {
+            return first;
+        }
+
+        public Standing getSecond() {
+            return second;
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder out = new StringBuilder();
+            out.append(String.format(Locale.ROOT, "%d games in %.1fs on %d threads (%.2f games/s)%n",
+                    games, elapsedNanos / 1e9, threads, getGamesPerSecond()));
+            out.append(String.format(Locale.ROOT, "%-32s %5s %5s %5s %7s %17s %8s %9s %12s%n",
+                    "engine", "W", "L", "D", "score", "95% CI", "elo", "ms/move", "nodes/s"));
+            for (Standing s : new Standing[]{first, second}) {
+                double[] ci = s.getScoreInterval();
+                double elo = s.getEloDifference();
+                String eloText = Double.isInfinite(elo) ? (elo > 0 ? "+inf" : "-inf")
+                        : String.format(Locale.ROOT, "%+.0f", elo);
+                out.append(String.format(Locale.ROOT, "%-32s %5d %5d %5d %7.3f %8.3f-%-8.3f %8s %9.2f %12d%n",
+                        s.getName(), s.getWins(), s.getLosses(), s.getDraws(), s.getScore(), ci[0], ci[1],
+                        eloText, s.getAverageMoveMillis(), s.getNodesPerSecond()));
+            }
+            return out.toString();
+        }
+    }
+}
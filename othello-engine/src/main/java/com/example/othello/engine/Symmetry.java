@@ -0,0 +1,91 @@
+package com.example.othello.engine;
+
+/**
+ * The eight symmetries of the board (rotations and reflections) and canonical
+ * position hashing over them, so equivalent positions share one key.
+ *
+ * A symmetry index 0-7 is built from three bits: bit 2 transposes (row and
+ * column swap), bit 0 then flips rows and bit 1 then flips columns.
+ */
+public final class Symmetry {
+
+    public static final int COUNT = 8;
+
+    // SQUARES[sym][sq] = where sq lands under sym; INVERSE is the way back
+    private static final int[][] SQUARES = new int[COUNT][64];
+    private static final int[][] INVERSE = new int[COUNT][64];
+
+    static {
+        for (int sym = 0; sym < COUNT; sym++) {
+            for (int sq = 0; sq < 64; sq++) {
+                int to = Long.numberOfTrailingZeros(transform(1L << sq, sym));
+                SQUARES[sym][sq] = to;
+                INVERSE[sym][to] = sq;
+            }
+        }
+    }
+
+    private Symmetry() {
+    }
+
+    public static long transform(long b, int sym) {
+        if ((sym & 4) != 0) b = transpose(b);
+        if ((sym & 1) != 0) b = flipRows(b);
+        if ((sym & 2) != 0) b = flipColumns(b);
+        return b;
+    }
+
+    public static int transformSquare(int sq, int sym) {
+        return SQUARES[sym][sq];
+    }
+
+    public static int inverseSquare(int sq, int sym) {
+        return INVERSE[sym][sq];
+    }
+
+    /** Symmetry whose image of the position has the smallest Zobrist hash. */
+    public static int canonicalSymmetry(long black, long white, int sideToMove) {
+        int best = 0;
+        long bestHash = Zobrist.hash(black, white, sideToMove);
+        for (int sym = 1; sym < COUNT; sym++) {
+            long h = Zobrist.hash(transform(black, sym), transform(white, sym), sideToMove);
+            if (Long.compareUnsigned(h, bestHash) < 0) {
+                bestHash = h;
+                best = sym;
+            }
+        }
+        return best;
+    }
+
+    /** Hash shared by all eight symmetric images of the position. */
+    public static long canonicalHash(long black, long white, int sideToMove) {
+        int sym = canonicalSymmetry(black, white, sideToMove);
+        return Zobrist.hash(transform(black, sym), transform(white, sym), sideToMove);
+    }
+
+    // ---------------- Bit twiddling ----------------
+    /** Row r becomes row 7 - r. */
+    static long flipRows(long b) {
+        return Long.reverseBytes(b);
+    }
+
+    /** Column c becomes column 7 - c. */
+    static long flipColumns(long b) {
+        b = ((b >>> 1) & 0x5555555555555555L) | ((b & 0x5555555555555555L) << 1);
+        b = ((b >>> 2) & 0x3333333333333333L) | ((b & 0x3333333333333333L) << 2);
+        b = ((b >>> 4) & 0x0f0f0f0f0f0f0f0fL) | ((b & 0x0f0f0f0f0f0f0f0fL) << 4);
+        return b;
+    }
+
+    /** (r, c) becomes (c, r). */
+    static long transpose(long b) {
+        long t;
+        t = 0x0f0f0f0f00000000L & (b ^ (b << 28));
+        b ^= t ^ (t >>> 28);
+        t = 0x3333000033330000L & (b ^ (b << 14));
+        b ^= t ^ (t >>> 14);
+        t = 0x5500550055005500L & (b ^ (b << 7));
+        b ^= t ^ (t >>> 7);
+        return b;
+    }
+}
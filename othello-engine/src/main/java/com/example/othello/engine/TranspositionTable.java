@@ -0,0 +1,148 @@
+package com.example.othello.engine;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Fixed-size, lock-free transposition table shared by every search in the JVM.
+ *
+ * Entries live in two parallel {@code long[]} arrays allocated once from the
+ * configured size, so the table never grows or boxes. Each entry stores
+ * {@code key ^ data} next to {@code data}; a torn write from a racing thread
+ * then simply fails the key check instead of returning a corrupt entry.
+ *
+ * Buckets hold two slots. A store overwrites a slot with the same key, otherwise
+ * the slot with the lowest depth after an age penalty for entries from older searches.
+ */
+public final class TranspositionTable {
+
+    public static final int BOUND_EXACT = 1;
+    public static final int BOUND_LOWER = 2;
+    public static final int BOUND_UPPER = 3;
+
+    public static final int NO_MOVE = 64;
+
+    private static final int BYTES_PER_ENTRY = 16;
+    private static final int AGE_PENALTY = 4;
+
+    private final long[] checks;
+    private final long[] data;
+    private final int bucketMask;
+    private volatile int generation;
+
+    private final LongAdder probes = new LongAdder();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder stores = new LongAdder();
+
+    public TranspositionTable(int sizeMb) {
+        long entries = Math.max(2L, (long) sizeMb * 1024 * 1024 / BYTES_PER_ENTRY);
+        // Round down to a power of two, capped so the arrays stay indexable
+        int slots = (int) Math.min(Long.highestOneBit(entries), 1 << 30);
+        checks = new long[slots];
+        data = new long[slots];
+        bucketMask = (slots >>> 1) - 1;
+    }
+
+    /** Ages existing entries; call once per root search. */
+    public void newSearch() {
+        generation = (generation + 1) & 0xff;
+    }
+
+    public void clear() {
+        Arrays.fill(checks, 0);
+        Arrays.fill(data, 0);
+    }
+
+    /**
+     * Returns the packed entry for {@code key}, or 0 on a miss.
+     * Decode with the static accessors below.
+     */
+    public long probe(long key) {
+        probes.increment();
+        int i = (int) (key & bucketMask) << 1;
+        for (int slot = i; slot < i + 2; slot++) {
+            long d = data[slot];
+            if (d != 0 && (checks[slot] ^ d) == key) {
+                hits.increment();
+                return d;
+            }
+        }
+        return 0;
+    }
+
+    public void store(long key, int move, int depth, int bound, int score) {
+        stores.increment();
+        int i = (int) (key & bucketMask) << 1;
+        int gen = generation;
+        int target = i;
+        int worst = Integer.MAX_VALUE;
+        for (int slot = i; slot < i + 2; slot++) {
+            long d = data[slot];
+            if (d == 0 || (checks[slot] ^ d) == key) {
+                target = slot;
+                break;
+            }
+            int age = (gen - generation(d)) & 0xff;
+            int value = depth(d) - age * AGE_PENALTY;
+            if (value < worst) {
+                worst = value;
+                target = slot;
+            }
+        }
+        long packed = pack(move, depth, bound, score, gen);
+        data[target] = packed;
+        checks[target] = key ^ packed;
+    }
+
+    // ---------------- Entry layout ----------------
+    // bits 0-31 score, 32-38 move, 40-47 depth, 48-49 bound, 56-63 generation
+    private static long pack(int move, int depth, int bound, int score, int gen) {
+        return (score & 0xffffffffL)
+                | ((long) (move & 0x7f) << 32)
+                | ((long) (depth & 0xff) << 40)
+                | ((long) (bound & 0x3) << 48)
+                | ((long) (gen & 0xff) << 56);
+    }
+
+    public static int score(long entry) {
+        return (int) entry;
+    }
+
+    public static int move(long entry) {
+        return (int) (entry >>> 32) & 0x7f;
+    }
+
+    public static int depth(long entry) {
+        return (int) (entry >>> 40) & 0xff;
+    }
+
+    public static int bound(long entry) {
+        return (int) (entry >>> 48) & 0x3;
+    }
+
+    private static int generation(long entry) {
+        return (int) (entry >>> 56) & 0xff;
+    }
+
+    // ---------------- Stats ----------------
+    public int capacity() {
+        return data.length;
+    }
+
+    public long getProbes() {
+        return probes.sum();
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getStores() {
+        return stores.sum();
+    }
+
+    public double getHitRate() {
+        long p = probes.sum();
+        return p == 0 ? 0.0 : (double) hits.sum() / p;
+    }
+}
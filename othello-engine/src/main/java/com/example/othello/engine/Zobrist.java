@@ -0,0 +1,49 @@
+package com.example.othello.engine;
+
+import java.util.SplittableRandom;
+
+/**
+ * Zobrist keys for (square, colour) plus side to move.
+ * Keys come from a fixed seed so hashes are stable across runs and JVMs.
+ */
+public final class Zobrist {
+
+    private static final long[] BLACK_KEYS = new long[64];
+    private static final long[] WHITE_KEYS = new long[64];
+    // BLACK_KEYS[sq] ^ WHITE_KEYS[sq]: toggles a disc from one colour to the other
+    private static final long[] FLIP_KEYS = new long[64];
+    public static final long WHITE_TO_MOVE;
+
+    static {
+        SplittableRandom random = new SplittableRandom(0x0DE110L);
+        for (int sq = 0; sq < 64; sq++) {
+            BLACK_KEYS[sq] = random.nextLong();
+            WHITE_KEYS[sq] = random.nextLong();
+            FLIP_KEYS[sq] = BLACK_KEYS[sq] ^ WHITE_KEYS[sq];
+        }
+        WHITE_TO_MOVE = random.nextLong();
+    }
+
+    private Zobrist() {
+    }
+
+    /** Full hash of a position; use {@link #afterMove} to update it incrementally. */
+    public static long hash(long black, long white, int sideToMove) {
+        long h = sideToMove == BitBoard.WHITE ? WHITE_TO_MOVE : 0L;
+        for (long b = black; b != 0; b &= b - 1) h ^= BLACK_KEYS[Long.numberOfTrailingZeros(b)];
+        for (long w = white; w != 0; w &= w - 1) h ^= WHITE_KEYS[Long.numberOfTrailingZeros(w)];
+        return h;
+    }
+
+    /** Hash after {@code player} places a disc on {@code sq} and flips {@code flipped}; also toggles side to move. */
+    public static long afterMove(long hash, int player, int sq, long flipped) {
+        long h = hash ^ WHITE_TO_MOVE ^ (player == BitBoard.BLACK ? BLACK_KEYS[sq] : WHITE_KEYS[sq]);
+        for (long f = flipped; f != 0; f &= f - 1) h ^= FLIP_KEYS[Long.numberOfTrailingZeros(f)];
+        return h;
+    }
+
+    /** Hash after the side to move passes. */
+    public static long afterPass(long hash) {
+        return hash ^ WHITE_TO_MOVE;
+    }
+}
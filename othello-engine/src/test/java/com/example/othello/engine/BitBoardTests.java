@@ -0,0 +1,47 @@
+package com.example.othello.engine;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BitBoardTests {
+
+    @Test
+    void openingPositionHasFourMovesPerSide() {
+        BitBoard board = new BitBoard();
+        assertEquals(4, Long.bitCount(board.legalMoves(BitBoard.BLACK)));
+        assertEquals(4, Long.bitCount(board.legalMoves(BitBoard.WHITE)));
+        assertTrue(board.isValidMove(2, 3, BitBoard.BLACK));
+        assertFalse(board.isValidMove(2, 2, BitBoard.BLACK));
+    }
+
+    @Test
+    void applyMoveFlipsBracketedDiscs() {
+        BitBoard board = new BitBoard();
+        assertEquals(1, board.countFlippableDiscs(2, 3, BitBoard.BLACK));
+        assertTrue(board.applyMove(2, 3, BitBoard.BLACK));
+        assertEquals(BitBoard.BLACK, board.get(3, 3));
+        assertEquals(4, board.count(BitBoard.BLACK));
+        assertEquals(1, board.count(BitBoard.WHITE));
+    }
+
+    @Test
+    void illegalMoveLeavesBoardUntouched() {
+        BitBoard board = new BitBoard();
+        assertFalse(board.applyMove(0, 0, BitBoard.BLACK));
+        assertFalse(board.applyMove(3, 3, BitBoard.BLACK));
+        assertEquals(2, board.count(BitBoard.BLACK));
+        assertEquals(2, board.count(BitBoard.WHITE));
+    }
+
+    @Test
+    void movesDoNotWrapAcrossBoardEdges() {
+        // Black on (0,7), White on (1,0): a naive shift would bracket across the edge
+        int[][] grid = new int[8][8];
+        grid[0][7] = BitBoard.BLACK;
+        grid[1][0] = BitBoard.WHITE;
+        BitBoard board = BitBoard.fromArray(grid);
+        assertEquals(0, board.legalMoves(BitBoard.BLACK));
+        assertArrayEquals(grid, board.toArray());
+    }
+}
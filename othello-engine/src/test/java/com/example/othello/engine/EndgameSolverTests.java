@@ -0,0 +1,83 @@
+package com.example.othello.engine;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EndgameSolverTests {
+
+    @Test
+    void matchesBruteForceOnRandomEndgames() {
+        Random random = new Random(17);
+        EndgameSolver solver = new EndgameSolver();
+        boolean sawPass = false;
+        for (int n = 0; n < 40; n++) {
+            Game game = randomGame(random, 2 + random.nextInt(9));
+            if (game.isOver()) continue;
+            BitBoard position = game.position();
+
+            // Both sides, so the root pass and the solver's own pass handling are covered too
+            for (int player : new int[]{game.sideToMove(), BitBoard.opponent(game.sideToMove())}) {
+                long own = position.discs(player), opp = position.discs(BitBoard.opponent(player));
+                SearchResult solved = solver.solve(own, opp, 60_000);
+                assertNotNull(solved);
+                assertTrue(solved.isExact());
+                assertEquals(Long.bitCount(~(own | opp)), solved.getDepth());
+                assertEquals(negamax(own, opp) * SearchEngine.WIN_SCALE, solved.getScore());
+
+                long moves = BitBoard.legalMoves(own, opp);
+                if (moves == 0) {
+                    sawPass = true;
+                    assertEquals(-1, solved.getMove());
+                    continue;
+                }
+                // The move returned is worth what the solve claims
+                int sq = solved.getMove();
+                assertTrue(Rules.isLegal(moves, sq));
+                long flipped = BitBoard.flips(own, opp, sq);
+                assertEquals(solved.getScore(),
+                        -negamax(opp & ~flipped, own | flipped | (1L << sq)) * SearchEngine.WIN_SCALE);
+            }
+        }
+        assertTrue(sawPass);
+    }
+
+    @Test
+    void finishedPositionsScoreTheDiscsWithEmptiesToTheWinner() {
+        // Black owns one row, White one disc, nobody can move
+        long own = 0xffL, opp = 1L << 63;
+        SearchResult solved = new EndgameSolver().solve(own, opp, 1_000);
+        assertEquals(-1, solved.getMove());
+        assertEquals((8 - 1 + 55) * SearchEngine.WIN_SCALE, solved.getScore());
+        assertEquals(-solved.getScore(), new EndgameSolver().solve(opp, own, 1_000).getScore());
+    }
+
+    // Random legal play until at most this many squares are empty
+    private static Game randomGame(Random random, int empties) {
+        Game game = new Game();
+        while (!game.isOver() && Long.bitCount(~(game.position().getBlack() | game.position().getWhite())) > empties) {
+            long moves = game.legalMoves();
+            for (int skip = random.nextInt(Long.bitCount(moves)); skip > 0; skip--) moves &= moves - 1;
+            game.play(Long.numberOfTrailingZeros(moves), false);
+        }
+        return game;
+    }
+
+    // Plain negamax over every line, in discs; the reference the solver's pruning and ordering must agree with
+    private static int negamax(long own, long opp) {
+        long moves = BitBoard.legalMoves(own, opp);
+        if (moves == 0) {
+            if (BitBoard.legalMoves(opp, own) == 0) return SearchEngine.finalScore(own, opp) / SearchEngine.WIN_SCALE;
+            return -negamax(opp, own);
+        }
+        int best = -65;
+        for (; moves != 0; moves &= moves - 1) {
+            int sq = Long.numberOfTrailingZeros(moves);
+            long flipped = BitBoard.flips(own, opp, sq);
+            best = Math.max(best, -negamax(opp & ~flipped, own | flipped | (1L << sq)));
+        }
+        return best;
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.othello.engine;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameAnalyzerTests {
+
+    @Test
+    void reportsEveryMoveOfTheGameOnce() {
+        MoveLog log = randomGame(new Random(7));
+        SearchScheduler scheduler = new SearchScheduler(2, 128, 60_000, 600_000, 60_000, 20);
+        GameAnalyzer analyzer = new GameAnalyzer(scheduler, new TranspositionTable(4), Evaluator.HEURISTIC, 8);
+        try {
+            Map<Integer, MoveAnalysis> results = new ConcurrentHashMap<>();
+            analyzer.analyze(log, 3, 5_000, new AtomicBoolean(), a -> assertNull(results.put(a.getPly(), a))).join();
+
+            for (int ply = 0; ply < log.size(); ply++) {
+                MoveAnalysis a = results.get(ply);
+                if (log.isPass(ply)) {
+                    assertNull(a);
+                    continue;
+                }
+                assertEquals(log.square(ply), a.getMove());
+                assertEquals(MoveLog.mover(ply), a.getPlayer());
+                assertTrue(a.getError() >= 0);
+                if (a.getBestMove() == a.getMove()) assertEquals(0, a.getError());
+            }
+            // The last moves fall inside the exact range
+            assertTrue(results.get(log.lastMoveIndex()).isExact());
+        } finally {
+            scheduler.shutdown();
+        }
+    }
+
+    @Test
+    void stoppedAnalysisReportsNothing() {
+        SearchScheduler scheduler = new SearchScheduler(1, 128, 60_000, 600_000, 60_000, 20);
+        GameAnalyzer analyzer = new GameAnalyzer(scheduler, new TranspositionTable(4), Evaluator.HEURISTIC, 8);
+        try {
+            AtomicBoolean stop = new AtomicBoolean(true);
+            analyzer.analyze(randomGame(new Random(1)), 6, 5_000, stop, a -> fail("stopped")).join();
+        } finally {
+            scheduler.shutdown();
+        }
+    }
+
+    private static MoveLog randomGame(Random random) {
+        BitBoard board = new BitBoard();
+        MoveLog log = new MoveLog();
+        int player = BitBoard.BLACK;
+        while (true) {
+            long moves = board.legalMoves(player);
+            if (moves == 0) {
+                if (!board.hasValidMove(BitBoard.opponent(player))) return log;
+                log.addPass(false);
+                player = BitBoard.opponent(player);
+                continue;
+            }
+            for (int skip = random.nextInt(Long.bitCount(moves)); skip > 0; skip--) moves &= moves - 1;
+            int sq = Long.numberOfTrailingZeros(moves);
+            board.applyMove(sq >>> 3, sq & 7, player);
+            log.addMove(sq, false);
+            player = BitBoard.opponent(player);
+        }
+    }
+}
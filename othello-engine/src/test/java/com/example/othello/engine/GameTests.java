@@ -0,0 +1,60 @@
+package com.example.othello.engine;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameTests {
+
+    @Test
+    void rejectsIllegalMovesWithoutChangingAnything() {
+        Game game = new Game();
+        assertFalse(game.play(0, false));
+        assertFalse(game.play(64, false));
+        assertEquals(0, game.moves().size());
+        assertEquals(BitBoard.BLACK, game.sideToMove());
+
+        assertTrue(game.play(BitBoard.square(2, 3), false));
+        assertEquals(BitBoard.WHITE, game.sideToMove());
+        assertEquals(Rules.IN_PROGRESS, game.result());
+    }
+
+    @Test
+    void randomGamesEndWithTheDiscCountResultAndReplayExactly() {
+        Random random = new Random(11);
+        boolean sawPass = false;
+        for (int n = 0; n < 200; n++) {
+            Game game = new Game();
+            while (!game.isOver()) {
+                long moves = game.legalMoves();
+                // Passes are taken automatically, so the side to move always has a move
+                assertNotEquals(0, moves);
+                for (int skip = random.nextInt(Long.bitCount(moves)); skip > 0; skip--) moves &= moves - 1;
+                assertTrue(game.play(Long.numberOfTrailingZeros(moves), false));
+            }
+
+            BitBoard end = game.position();
+            assertEquals(0, end.legalMoves(BitBoard.BLACK) | end.legalMoves(BitBoard.WHITE));
+            int diff = end.count(BitBoard.BLACK) - end.count(BitBoard.WHITE);
+            assertEquals(diff > 0 ? BitBoard.BLACK : diff < 0 ? BitBoard.WHITE : Rules.DRAW, game.result());
+            assertEquals(game.result(), Rules.result(end));
+
+            MoveLog log = game.moves();
+            for (int ply = 0; ply < log.size(); ply++) sawPass |= log.isPass(ply);
+            Game replayed = Game.replay(log);
+            assertEquals(end.getBlack(), replayed.position().getBlack());
+            assertEquals(end.getWhite(), replayed.position().getWhite());
+            assertArrayEquals(log.toByteArray(), replayed.moves().toByteArray());
+        }
+        assertTrue(sawPass);
+    }
+
+    @Test
+    void onlyASideWithNoMoveWhileTheOtherHasOnePasses() {
+        assertTrue(Rules.mustPass(BitBoard.BLACK, 0, 1));
+        assertFalse(Rules.mustPass(BitBoard.BLACK, 1, 0));
+        assertFalse(Rules.mustPass(BitBoard.WHITE, 0, 0));
+    }
+}
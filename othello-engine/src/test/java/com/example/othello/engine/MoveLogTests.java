@@ -0,0 +1,59 @@
+package com.example.othello.engine;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MoveLogTests {
+
+    @Test
+    void replayRebuildsEveryIntermediatePosition() {
+        Random random = new Random(7);
+        for (int game = 0; game < 50; game++) {
+            BitBoard live = new BitBoard();
+            MoveLog log = new MoveLog();
+            long[] black = new long[128], white = new long[128];
+            int player = BitBoard.BLACK;
+            while (true) {
+                black[log.size()] = live.getBlack();
+                white[log.size()] = live.getWhite();
+                long moves = live.legalMoves(player);
+                if (moves == 0) {
+                    if (!live.hasValidMove(BitBoard.opponent(player))) break;
+                    log.addPass(false);
+                } else {
+                    for (int skip = random.nextInt(Long.bitCount(moves)); skip > 0; skip--) moves &= moves - 1;
+                    int sq = Long.numberOfTrailingZeros(moves);
+                    live.applyMove(sq >>> 3, sq & 7, player);
+                    log.addMove(sq, player == BitBoard.WHITE);
+                }
+                player = BitBoard.opponent(player);
+            }
+
+            BitBoard replayed = new BitBoard();
+            for (int ply = 0; ply <= log.size(); ply++) {
+                int side = log.replay(ply, replayed);
+                assertEquals(black[ply], replayed.getBlack());
+                assertEquals(white[ply], replayed.getWhite());
+                assertEquals(MoveLog.mover(ply), side);
+            }
+            assertEquals(log.size(), MoveLog.fromByteArray(log.toByteArray()).size());
+        }
+    }
+
+    @Test
+    void describesMovesAndPassesLazily() {
+        MoveLog log = new MoveLog();
+        log.addMove(BitBoard.square(2, 3), false);
+        log.addMove(BitBoard.square(2, 2), true);
+        log.addPass(false);
+        log.addPass(true);
+
+        assertEquals("Black: (3, 4)", log.describe(0));
+        assertEquals("White (AI): (3, 3)", log.describe(1));
+        assertEquals("⚠️ Black has no valid moves — turn passes to White.", log.describe(2));
+        assertEquals("White (AI) has no valid moves and passes.", log.describe(3));
+    }
+}
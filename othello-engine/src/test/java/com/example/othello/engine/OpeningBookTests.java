@@ -0,0 +1,74 @@
+package com.example.othello.engine;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OpeningBookTests {
+
+    @Test
+    void rotatedPositionsGetTheBookMoveInTheirOwnOrientation(@TempDir Path dir) throws IOException {
+        Map<Long, OpeningBook.Entry> entries = new HashMap<>();
+        OpeningBookBuilder.build(entries, 8, 4, 3, 0.5, new Random(3));
+        Path path = dir.resolve("test.book");
+        OpeningBook.write(path, entries.values());
+        OpeningBook book = OpeningBook.open(path);
+        assertEquals(entries.size(), book.size());
+        assertEquals(entries.size(), book.entries().size());
+
+        Random random = new Random(37);
+        int found = 0;
+        for (int n = 0; n < 100; n++) {
+            Game game = SymmetryTests.randomGame(random, random.nextInt(4));
+            long black = game.position().getBlack(), white = game.position().getWhite();
+            int side = game.sideToMove();
+            int move = book.lookup(black, white, side);
+            for (int sym = 0; sym < Symmetry.COUNT; sym++) {
+                long b = Symmetry.transform(black, sym), w = Symmetry.transform(white, sym);
+                int rotated = book.lookup(b, w, side);
+                if (move < 0) {
+                    assertEquals(-1, rotated);
+                    continue;
+                }
+                found++;
+                long own = side == BitBoard.BLACK ? b : w, opp = side == BitBoard.BLACK ? w : b;
+                assertTrue(Rules.isLegal(BitBoard.legalMoves(own, opp), rotated));
+                // The same move seen from this orientation; a position symmetric in itself may map
+                // the book move to one of its twins, which leads to the same position up to symmetry
+                int back = Symmetry.inverseSquare(rotated, sym);
+                assertTrue(back == move || after(black, white, side, back) == after(black, white, side, move));
+                assertEquals(book.score(black, white, side), book.score(b, w, side));
+            }
+        }
+        assertTrue(found > 0);
+
+        // The start position is searched by every game
+        BitBoard start = new BitBoard();
+        assertTrue(Rules.isLegal(start.legalMoves(BitBoard.BLACK),
+                book.lookup(start.getBlack(), start.getWhite(), BitBoard.BLACK)));
+        // Far past the book's plies
+        Game deep = SymmetryTests.randomGame(random, 30);
+        assertEquals(-1, book.lookup(deep.position().getBlack(), deep.position().getWhite(), deep.sideToMove()));
+    }
+
+    // Canonical hash of the position after side plays sq
+    private static long after(long black, long white, int side, int sq) {
+        BitBoard board = new BitBoard(black, white);
+        board.applyMove(sq >>> 3, sq & 7, side);
+        return Symmetry.canonicalHash(board.getBlack(), board.getWhite(), BitBoard.opponent(side));
+    }
+
+    @Test
+    void emptyBookFindsNothing() {
+        BitBoard start = new BitBoard();
+        assertEquals(0, OpeningBook.empty().size());
+        assertEquals(-1, OpeningBook.empty().lookup(start.getBlack(), start.getWhite(), BitBoard.BLACK));
+    }
+}
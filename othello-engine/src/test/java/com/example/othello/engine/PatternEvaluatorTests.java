@@ -0,0 +1,82 @@
+package com.example.othello.engine;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PatternEvaluatorTests {
+
+    @Test
+    void everyEdgeCornerLineAndDiagonalIsCovered() {
+        // 4 edges, 4 + 8 corner blocks, 3 x 4 lines, 2 + 4 x 4 diagonals
+        assertEquals(46, PatternEvaluator.INSTANCES);
+    }
+
+    @Test
+    void weightFileRoundTripsAndMatchesTheModel(@TempDir Path dir) throws IOException {
+        PatternTrainer.Model model = new PatternTrainer.Model();
+        Random random = new Random(5);
+        for (float[] phase : model.weights) {
+            for (int i = 0; i < phase.length; i++) phase[i] = (float) random.nextGaussian();
+        }
+        for (int phase = 0; phase < model.mobility.length; phase++) model.mobility[phase] = 0.5f;
+
+        Path file = dir.resolve("pattern.weights");
+        model.write(file);
+        PatternEvaluator loaded = PatternEvaluator.load(file);
+        PatternEvaluator direct = model.toEvaluator();
+
+        BitBoard board = new BitBoard();
+        int player = BitBoard.BLACK;
+        for (int ply = 0; ply < 40; ply++) {
+            long own = board.discs(player), opp = board.discs(BitBoard.opponent(player));
+            assertEquals(direct.evaluate(own, opp), loaded.evaluate(own, opp));
+            int value = loaded.evaluate(own, opp);
+            assertTrue(Math.abs(value) < SearchEngine.WIN_SCALE);
+
+            long moves = BitBoard.legalMoves(own, opp);
+            if (moves == 0) break;
+            int sq = Long.numberOfTrailingZeros(moves);
+            board.applyMove(sq >>> 3, sq & 7, player);
+            player = BitBoard.opponent(player);
+        }
+    }
+
+    @Test
+    void rejectsForeignFiles() {
+        byte[] junk = {'O', 'B', 'K', '1', 0, 0, 0, 1};
+        assertThrows(IOException.class, () -> PatternEvaluator.read(new ByteArrayInputStream(junk)));
+    }
+
+    @Test
+    void fittingReducesTheTrainingError(@TempDir Path dir) throws IOException {
+        Path games = dir.resolve("games.txt");
+        PatternTrainer.generate(games, 40, 1, 8, 3L);
+        assertEquals(40, Files.readAllLines(games).size());
+        PatternTrainer.Samples samples = PatternTrainer.Samples.read(games);
+
+        double before = rms(new PatternTrainer.Model(), samples);
+        double after = rms(PatternTrainer.fit(samples, 20, 0.05, new Random(1)), samples);
+        assertTrue(after < before * 0.8, "rms " + before + " -> " + after);
+    }
+
+    private static double rms(PatternTrainer.Model model, PatternTrainer.Samples samples) {
+        int[] features = new int[PatternEvaluator.INSTANCES];
+        double squared = 0;
+        for (int i = 0; i < samples.size; i++) {
+            long own = samples.own[i], opp = samples.opp[i];
+            PatternEvaluator.features(own, opp, features);
+            double error = samples.target[i] - model.predict(PatternEvaluator.phase(own, opp), features,
+                    PatternEvaluator.mobility(own, opp));
+            squared += error * error;
+        }
+        return Math.sqrt(squared / samples.size);
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.othello.engine;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PondererTests {
+
+    @Test
+    void keepsTheSearchOfThePositionThatWasReached() throws InterruptedException {
+        TranspositionTable table = new TranspositionTable(4);
+        SearchScheduler scheduler = new SearchScheduler(1, 8, 60_000, 60_000, 60_000, 20);
+        Ponderer ponderer = new Ponderer(scheduler, table, Evaluator.HEURISTIC, 1, 10_000, 4);
+        try {
+            BitBoard board = new BitBoard();
+            board.applyMove(2, 3, BitBoard.BLACK);
+            board.applyMove(2, 2, BitBoard.WHITE);
+            assertTrue(ponderer.start("game", board.getBlack(), board.getWhite(), BitBoard.BLACK));
+
+            // Depth 4 over four candidates takes milliseconds; give the task time to start, then to finish
+            Thread.sleep(100);
+            long deadline = System.currentTimeMillis() + 5_000;
+            while (ponderer.getActive() > 0 && System.currentTimeMillis() < deadline) Thread.sleep(10);
+
+            int sq = Long.numberOfTrailingZeros(board.legalMoves(BitBoard.BLACK));
+            board.applyMove(sq >>> 3, sq & 7, BitBoard.BLACK);
+            SearchResult pondered = ponderer.take("game", board.getWhite(), board.getBlack());
+            assertNotNull(pondered);
+            assertEquals(4, pondered.getDepth());
+            assertEquals(new SearchEngine(new TranspositionTable(4)).search(
+                    board.getWhite(), board.getBlack(), BitBoard.WHITE, 10_000, 4).getMove(), pondered.getMove());
+
+            // Taken once: the rest of the tree is gone
+            assertNull(ponderer.take("game", board.getWhite(), board.getBlack()));
+            assertEquals(1, ponderer.getHits());
+        } finally {
+            ponderer.shutdown();
+            scheduler.shutdown();
+        }
+    }
+
+    @Test
+    void refusesToPonderPastTheTaskCap() {
+        SearchScheduler scheduler = new SearchScheduler(1, 8, 60_000, 60_000, 60_000, 20);
+        Ponderer ponderer = new Ponderer(scheduler, new TranspositionTable(4), Evaluator.HEURISTIC, 1, 10_000, 60);
+        try {
+            BitBoard board = new BitBoard();
+            assertTrue(ponderer.start("first", board.getBlack(), board.getWhite(), BitBoard.BLACK));
+            assertFalse(ponderer.start("second", board.getBlack(), board.getWhite(), BitBoard.BLACK));
+            assertEquals(1, ponderer.getRejected());
+        } finally {
+            ponderer.shutdown();
+            scheduler.shutdown();
+        }
+    }
+}
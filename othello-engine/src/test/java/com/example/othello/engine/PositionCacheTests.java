@@ -0,0 +1,100 @@
+package com.example.othello.engine;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PositionCacheTests {
+
+    private static BitBoard opening() {
+        BitBoard board = new BitBoard();
+        board.applyMove(2, 3, BitBoard.BLACK);
+        board.applyMove(2, 2, BitBoard.WHITE);
+        return board;
+    }
+
+    @Test
+    void everyRotationAndReflectionHitsWithTheMoveInItsOwnOrientation() {
+        PositionCache cache = new PositionCache(1_000);
+        BitBoard board = opening();
+        int move = Long.numberOfTrailingZeros(board.legalMoves(BitBoard.BLACK));
+        cache.put(board.getBlack(), board.getWhite(), BitBoard.BLACK, new SearchResult(move, 42, 8, 1_000, 1));
+
+        for (int sym = 0; sym < Symmetry.COUNT; sym++) {
+            long black = Symmetry.transform(board.getBlack(), sym), white = Symmetry.transform(board.getWhite(), sym);
+            PositionCache.Entry entry = cache.get(black, white, BitBoard.BLACK);
+            assertNotNull(entry);
+            assertEquals(Symmetry.transformSquare(move, sym), entry.getMove());
+            assertTrue(Rules.isLegal(BitBoard.legalMoves(black, white), entry.getMove()));
+            assertEquals(42, entry.getScore());
+            assertEquals(8, entry.getDepth());
+        }
+        // Same discs, other side to move: a different position
+        assertNull(cache.get(board.getBlack(), board.getWhite(), BitBoard.WHITE));
+        assertEquals(1, cache.size());
+        assertEquals(8, cache.getHits());
+        assertEquals(1, cache.getMisses());
+    }
+
+    @Test
+    void deeperAndSolvedResultsReplaceShallowerOnes() {
+        PositionCache cache = new PositionCache(1_000);
+        BitBoard board = opening();
+        long black = board.getBlack(), white = board.getWhite();
+        long legal = board.legalMoves(BitBoard.BLACK);
+        int first = Long.numberOfTrailingZeros(legal);
+        int second = Long.numberOfTrailingZeros(legal & (legal - 1));
+
+        cache.put(black, white, BitBoard.BLACK, new SearchResult(first, 10, 6, 100, 1));
+        cache.put(black, white, BitBoard.BLACK, new SearchResult(second, 20, 4, 100, 1));
+        assertEquals(first, cache.get(black, white, BitBoard.BLACK).getMove());
+
+        cache.put(black, white, BitBoard.BLACK, new SearchResult(second, 20, 9, 100, 1));
+        assertEquals(9, cache.get(black, white, BitBoard.BLACK).getDepth());
+
+        // A solved result wins over any depth, and a deeper heuristic one does not displace it
+        cache.put(black, white, BitBoard.BLACK, new SearchResult(first, 640, 7, 100, 1, 1, 1.0, true));
+        cache.put(black, white, BitBoard.BLACK, new SearchResult(second, 30, 12, 100, 1));
+        PositionCache.Entry entry = cache.get(black, white, BitBoard.BLACK);
+        assertTrue(entry.isExact());
+        assertEquals(first, entry.getMove());
+        assertEquals(640, entry.getScore());
+
+        // Book moves and passes are not searches
+        cache.clear();
+        cache.put(black, white, BitBoard.BLACK, SearchResult.fromBook(first, 0, 10, 1));
+        cache.put(black, white, BitBoard.BLACK, new SearchResult(-1, 0, 5, 100, 1));
+        assertNull(cache.get(black, white, BitBoard.BLACK));
+        assertEquals(3, cache.getStores());
+    }
+
+    @Test
+    void staysWithinCapacityByEvictingTheLeastRecentlyUsed() {
+        PositionCache cache = new PositionCache(64);
+        Random random = new Random(5);
+        int stored = 0;
+        for (int n = 0; n < 50; n++) {
+            Game game = new Game();
+            while (!game.isOver()) {
+                long moves = game.legalMoves();
+                for (int skip = random.nextInt(Long.bitCount(moves)); skip > 0; skip--) moves &= moves - 1;
+                int sq = Long.numberOfTrailingZeros(moves);
+                cache.put(game.position().getBlack(), game.position().getWhite(), game.sideToMove(),
+                        new SearchResult(sq, 0, 1, 1, 1));
+                stored++;
+                game.play(sq, true);
+            }
+        }
+        assertTrue(cache.size() <= cache.capacity());
+        assertTrue(cache.getEvictions() > 0);
+        assertTrue(cache.getStores() <= stored);
+
+        // Turned off, it keeps nothing and counts nothing
+        PositionCache off = new PositionCache(0);
+        off.put(0x10L, 0x20L, BitBoard.BLACK, new SearchResult(2, 0, 5, 1, 1));
+        assertNull(off.get(0x10L, 0x20L, BitBoard.BLACK));
+        assertEquals(0, off.getMisses());
+    }
+}
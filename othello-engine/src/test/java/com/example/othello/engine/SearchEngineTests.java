@@ -0,0 +1,114 @@
+package com.example.othello.engine;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SearchEngineTests {
+
+    @Test
+    void depthOneCompletesWithNoTimeLeft() {
+        BitBoard start = new BitBoard();
+        long legal = start.legalMoves(BitBoard.BLACK);
+
+        SearchResult result = new SearchEngine().search(start.getBlack(), start.getWhite(), BitBoard.BLACK, 0, 10);
+        assertEquals(1, result.getDepth());
+        assertTrue(Rules.isLegal(legal, result.getMove()));
+
+        // Even when told to stop before it starts
+        result = new SearchEngine(new TranspositionTable(1)).search(start.getBlack(), start.getWhite(),
+                BitBoard.BLACK, 0, 10, 1, new AtomicBoolean(true));
+        assertEquals(1, result.getDepth());
+        assertTrue(Rules.isLegal(legal, result.getMove()));
+    }
+
+    @Test
+    void timeToDepthIsMeasuredUpToTheDepthReachedAndExtrapolatedBeyond() {
+        BitBoard start = new BitBoard();
+        SearchEngine engine = new SearchEngine();
+        SearchResult result = engine.search(start.getBlack(), start.getWhite(), BitBoard.BLACK, 10_000, 5);
+        assertEquals(5, result.getDepth());
+
+        long previous = 0;
+        for (int depth = 1; depth <= 5; depth++) {
+            long nanos = engine.nanosToDepth(depth);
+            assertTrue(nanos > previous);
+            previous = nanos;
+        }
+        assertTrue(engine.nanosToDepth(5) <= result.getElapsedNanos());
+        // Deeper iterations cost at least as much as the last one did
+        long last = engine.nanosToDepth(5) - engine.nanosToDepth(4);
+        assertTrue(engine.nanosToDepth(7) >= engine.nanosToDepth(5) + 2 * last);
+
+        // Two iterations are not enough to tell how the tree grows
+        engine.search(start.getBlack(), start.getWhite(), BitBoard.BLACK, 10_000, 2);
+        assertEquals(0, engine.nanosToDepth(3));
+    }
+
+    @Test
+    void depthOnlySearchCompletesTheRequestedDepth() {
+        BitBoard start = new BitBoard();
+        SearchEngine engine = new SearchEngine(new TranspositionTable(1));
+        // Deep enough that the early-exit estimate would stop a budgeted search of a few millis
+        SearchResult result = engine.search(start.getBlack(), start.getWhite(), BitBoard.BLACK, 7);
+        assertEquals(7, result.getDepth());
+        assertTrue(Rules.isLegal(start.legalMoves(BitBoard.BLACK), result.getMove()));
+    }
+
+    @Test
+    void takesTheCornerWhenItIsOnOffer() {
+        // Black on c1 against White's b1 and c2: a1 takes a corner, c3 does not
+        long own = BitBoard.bit(0, 2), opp = BitBoard.bit(0, 1) | BitBoard.bit(1, 2);
+        assertEquals(BitBoard.bit(0, 0) | BitBoard.bit(2, 2), BitBoard.legalMoves(own, opp));
+        for (int depth = 1; depth <= 3; depth++) {
+            SearchResult result = new SearchEngine().search(own, opp, BitBoard.BLACK, 10_000, depth);
+            assertEquals(depth, result.getDepth());
+            assertEquals(BitBoard.square(0, 0), result.getMove());
+        }
+    }
+
+    @Test
+    void searchingToTheEndFindsTheSolvedResult() {
+        Random random = new Random(41);
+        EndgameSolver solver = new EndgameSolver();
+        for (int n = 0; n < 30; n++) {
+            Game game = SymmetryTests.randomGame(random, 52 + random.nextInt(6));
+            if (game.isOver()) continue;
+            int side = game.sideToMove();
+            long own = game.position().discs(side), opp = game.position().discs(BitBoard.opponent(side));
+            int empties = Long.bitCount(~(own | opp));
+
+            // Every line ends within the empties, so the fixed-depth search is exact too
+            SearchResult searched = new SearchEngine(new TranspositionTable(1))
+                    .search(own, opp, side, 60_000, empties);
+            SearchResult solved = solver.solve(own, opp, 60_000);
+            assertEquals(empties, searched.getDepth());
+            assertEquals(solved.getScore(), searched.getScore());
+
+            long flipped = BitBoard.flips(own, opp, searched.getMove());
+            SearchResult reply = solver.solve(opp & ~flipped, own | flipped | (1L << searched.getMove()), 60_000);
+            assertEquals(solved.getScore(), -reply.getScore());
+        }
+    }
+
+    @Test
+    void finalScoreIsTheDiscMarginWithEmptiesToTheWinnerScaled() {
+        long ten = 0x3ffL, five = 0x1fL << 32;
+        assertEquals((10 - 5 + 49) * SearchEngine.WIN_SCALE, SearchEngine.finalScore(ten, five));
+        assertEquals(-(10 - 5 + 49) * SearchEngine.WIN_SCALE, SearchEngine.finalScore(five, ten));
+        // A draw leaves the empties unclaimed
+        assertEquals(0, SearchEngine.finalScore(0x1fL, five));
+        // Any win outranks any heuristic score
+        assertTrue(SearchEngine.finalScore(0x3L, 0x1L << 32) > Evaluator.HEURISTIC.evaluate(-1L >>> 1, 1L << 63));
+
+        // Corners, A and B squares against X and C squares and the inner ring: past WIN_SCALE unclamped
+        long good = 0x8100000000000081L | 0x2400810000810024L | 0x1800008181000018L;
+        long bad = 0x0042000000004200L | 0x4281000000008142L | 0x003c424242423c00L;
+        assertEquals(SearchEngine.WIN_SCALE - 1, Evaluator.HEURISTIC.evaluate(good, bad));
+        assertEquals(-(SearchEngine.WIN_SCALE - 1), Evaluator.HEURISTIC.evaluate(bad, good));
+        assertTrue(SearchEngine.finalScore(0x3L, 0x1L << 32) > Evaluator.HEURISTIC.evaluate(good, bad));
+    }
+}
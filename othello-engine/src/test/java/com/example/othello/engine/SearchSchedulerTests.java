@@ -0,0 +1,175 @@
+package com.example.othello.engine;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SearchSchedulerTests {
+
+    @Test
+    void movesRunBeforeAnalysisAndPondering() throws InterruptedException {
+        SearchScheduler scheduler = new SearchScheduler(1, 8, 60_000, 60_000, 60_000, 20);
+        try {
+            CountDownLatch release = new CountDownLatch(1);
+            CompletableFuture<Void> blocker = block(scheduler, release);
+
+            List<SearchScheduler.Priority> order = new CopyOnWriteArrayList<>();
+            for (SearchScheduler.Priority priority : new SearchScheduler.Priority[]{
+                    SearchScheduler.Priority.PONDER, SearchScheduler.Priority.ANALYSIS,
+                    SearchScheduler.Priority.INTERACTIVE}) {
+                scheduler.submit(priority, "game", 100, new AtomicBoolean(), grant -> order.add(priority));
+            }
+            release.countDown();
+            blocker.join();
+            waitForCompleted(scheduler, 4);
+
+            assertEquals(List.of(SearchScheduler.Priority.INTERACTIVE, SearchScheduler.Priority.ANALYSIS,
+                    SearchScheduler.Priority.PONDER), order);
+        } finally {
+            scheduler.shutdown();
+        }
+    }
+
+    @Test
+    void backlogShortensTheBudgetInsteadOfTheQueue() throws InterruptedException {
+        SearchScheduler scheduler = new SearchScheduler(1, 8, 60_000, 60_000, 60_000, 20);
+        try {
+            CountDownLatch release = new CountDownLatch(1);
+            block(scheduler, release);
+            List<CompletableFuture<Long>> grants = List.of(
+                    granted(scheduler, "a", 900), granted(scheduler, "b", 900), granted(scheduler, "c", 900));
+            release.countDown();
+
+            // The first shares the thread with the two still waiting, the last has it to itself
+            assertEquals(300, grants.get(0).join().longValue());
+            assertEquals(450, grants.get(1).join().longValue());
+            assertEquals(900, grants.get(2).join().longValue());
+            assertEquals(2, scheduler.getDegraded());
+        } finally {
+            scheduler.shutdown();
+        }
+    }
+
+    @Test
+    void refusesBackgroundWorkWhenFullButNeverAMove() throws InterruptedException {
+        SearchScheduler scheduler = new SearchScheduler(1, 1, 60_000, 60_000, 60_000, 20);
+        try {
+            CountDownLatch release = new CountDownLatch(1);
+            block(scheduler, release);
+            CompletableFuture<Integer> queued = scheduler.submit(SearchScheduler.Priority.ANALYSIS, null, 100,
+                    new AtomicBoolean(), grant -> 1);
+            CompletableFuture<Integer> refused = scheduler.submit(SearchScheduler.Priority.PONDER, "game", 100,
+                    new AtomicBoolean(), grant -> 2);
+            CompletableFuture<Integer> move = scheduler.submit(SearchScheduler.Priority.INTERACTIVE, "game", 100,
+                    null, grant -> 3);
+
+            assertTrue(refused.isCompletedExceptionally());
+            assertEquals(1, scheduler.getRejected());
+            release.countDown();
+            assertEquals(3, move.join().intValue());
+            assertEquals(1, queued.join().intValue());
+        } finally {
+            scheduler.shutdown();
+        }
+    }
+
+    @Test
+    void aMoveStopsARunningPonder() throws InterruptedException {
+        SearchScheduler scheduler = new SearchScheduler(1, 8, 60_000, 60_000, 60_000, 20);
+        try {
+            AtomicBoolean stop = new AtomicBoolean();
+            CountDownLatch pondering = new CountDownLatch(1);
+            CompletableFuture<Void> ponder = scheduler.submit(SearchScheduler.Priority.PONDER, "game", 10_000, stop,
+                    grant -> {
+                        pondering.countDown();
+                        while (!stop.get()) Thread.onSpinWait();
+                        return null;
+                    });
+            pondering.await();
+
+            assertEquals("moved", scheduler.submit(SearchScheduler.Priority.INTERACTIVE, "game", 100, null,
+                    grant -> "moved").join());
+            ponder.join();
+            assertTrue(stop.get());
+            assertEquals(1, scheduler.getPreempted());
+        } finally {
+            scheduler.shutdown();
+        }
+    }
+
+    @Test
+    void aGameOverItsBudgetGetsTheMinimum() {
+        SearchScheduler scheduler = new SearchScheduler(1, 8, 50, 60_000, 60_000, 20);
+        try {
+            // Burn more CPU than the game may use in a window
+            scheduler.submit(SearchScheduler.Priority.INTERACTIVE, "greedy", 1_000, null, grant -> {
+                long end = System.nanoTime() + 150_000_000L;
+                long x = 0;
+                while (System.nanoTime() < end) x++;
+                return x;
+            }).join();
+
+            assertEquals(20, granted(scheduler, "greedy", 1_000).join().longValue());
+            // Other games are not charged for it
+            assertEquals(50, granted(scheduler, "other", 1_000).join().longValue());
+        } finally {
+            scheduler.shutdown();
+        }
+    }
+
+    @Test
+    void parallelHelpersQueueAsJobsAndAreNotWaitedForIfTheyNeverStart() throws InterruptedException {
+        SearchScheduler scheduler = new SearchScheduler(1, 8, 60_000, 60_000, 60_000, 20);
+        ParallelSearch search = new ParallelSearch(new TranspositionTable(4), 1, Evaluator.HEURISTIC, scheduler);
+        try {
+            BitBoard board = new BitBoard();
+            // The only thread runs the main search, so its helper cannot start before it ends
+            SearchResult result = scheduler.submit(SearchScheduler.Priority.INTERACTIVE, "game", 1_000, null,
+                    grant -> search.search(board.getBlack(), board.getWhite(), BitBoard.BLACK,
+                            grant.getBudgetMillis(), 3, "game")).join();
+            assertEquals(1, result.getThreads());
+            assertTrue(Rules.isLegal(board.legalMoves(BitBoard.BLACK), result.getMove()));
+
+            // The helper still runs as a job, finds itself abandoned and returns at once
+            waitForCompleted(scheduler, 2);
+            assertEquals(2, scheduler.getCompleted());
+        } finally {
+            search.shutdown();
+            scheduler.shutdown();
+        }
+    }
+
+    private static CompletableFuture<Long> granted(SearchScheduler scheduler, String gameId, long budgetMillis) {
+        return scheduler.submit(SearchScheduler.Priority.INTERACTIVE, gameId, budgetMillis, null,
+                SearchScheduler.Grant::getBudgetMillis);
+    }
+
+    // Occupies the only thread until released
+    private static CompletableFuture<Void> block(SearchScheduler scheduler, CountDownLatch release)
+            throws InterruptedException {
+        CountDownLatch running = new CountDownLatch(1);
+        CompletableFuture<Void> blocker = scheduler.submit(SearchScheduler.Priority.INTERACTIVE, "blocker", 100, null,
+                grant -> {
+                    running.countDown();
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return null;
+                });
+        running.await();
+        return blocker;
+    }
+
+    private static void waitForCompleted(SearchScheduler scheduler, long jobs) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (scheduler.getCompleted() < jobs && System.currentTimeMillis() < deadline) Thread.sleep(10);
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.othello.engine;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SelfPlayTournamentTests {
+
+    @Test
+    void everyGameIsCountedForBothEngines() {
+        SelfPlayTournament.Report report = new SelfPlayTournament(
+                SelfPlayTournament.Player.parse("depth=1"), SelfPlayTournament.Player.parse("depth=2,endgame=6"),
+                12, 3, 4, 7L).run();
+
+        SelfPlayTournament.Standing a = report.getFirst(), b = report.getSecond();
+        assertEquals(12, a.getGames());
+        assertEquals(12, b.getGames());
+        assertEquals(a.getWins(), b.getLosses());
+        assertEquals(a.getDraws(), b.getDraws());
+        assertEquals(1.0, a.getScore() + b.getScore(), 1e-9);
+        assertTrue(a.getMoves() > 0 && b.getMoves() > 0);
+    }
+
+    @Test
+    void fixedDepthMatchesAreReproducible() {
+        SelfPlayTournament.Player a = SelfPlayTournament.Player.parse("depth=2");
+        SelfPlayTournament.Player b = SelfPlayTournament.Player.parse("depth=3");
+        SelfPlayTournament.Standing first = new SelfPlayTournament(a, b, 8, 4, 6, 3L).run().getFirst();
+        SelfPlayTournament.Standing second = new SelfPlayTournament(a, b, 8, 1, 6, 3L).run().getFirst();
+        assertEquals(first.getWins(), second.getWins());
+        assertEquals(first.getLosses(), second.getLosses());
+        assertEquals(first.getMoves(), second.getMoves());
+    }
+
+    @Test
+    void scoreIntervalContainsScore() {
+        SelfPlayTournament.Standing s = new SelfPlayTournament.Standing("x");
+        for (int i = 0; i < 30; i++) s.recordResult(1);
+        for (int i = 0; i < 10; i++) s.recordResult(-1);
+        double[] ci = s.getScoreInterval();
+        assertEquals(0.75, s.getScore(), 1e-9);
+        assertTrue(ci[0] < 0.75 && 0.75 < ci[1]);
+        assertTrue(ci[0] > 0.5);
+        assertEquals(190.8, s.getEloDifference(), 0.1);
+    }
+
+    @Test
+    void specNeedsDepthOrTime() {
+        assertThrows(IllegalArgumentException.class, () -> SelfPlayTournament.Player.parse("endgame=10"));
+        assertThrows(IllegalArgumentException.class, () -> SelfPlayTournament.Player.parse("depth=3,bogus=1"));
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.othello.engine;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SymmetryTests {
+
+    @Test
+    void allEightImagesShareTheCanonicalHash() {
+        Random random = new Random(29);
+        for (int n = 0; n < 200; n++) {
+            Game game = randomGame(random, random.nextInt(40));
+            long black = game.position().getBlack(), white = game.position().getWhite();
+            int side = game.sideToMove();
+            long canonical = Symmetry.canonicalHash(black, white, side);
+            for (int sym = 0; sym < Symmetry.COUNT; sym++) {
+                long b = Symmetry.transform(black, sym), w = Symmetry.transform(white, sym);
+                assertEquals(canonical, Symmetry.canonicalHash(b, w, side));
+                // The side to move is part of the position
+                assertNotEquals(canonical, Symmetry.canonicalHash(b, w, BitBoard.opponent(side)));
+            }
+        }
+    }
+
+    @Test
+    void transformingSquaresCommutesWithMoveGeneration() {
+        Random random = new Random(31);
+        for (int n = 0; n < 200; n++) {
+            Game game = randomGame(random, random.nextInt(50));
+            int side = game.sideToMove();
+            long own = game.position().discs(side), opp = game.position().discs(BitBoard.opponent(side));
+            long moves = BitBoard.legalMoves(own, opp);
+            for (int sym = 0; sym < Symmetry.COUNT; sym++) {
+                long image = BitBoard.legalMoves(Symmetry.transform(own, sym), Symmetry.transform(opp, sym));
+                assertEquals(Symmetry.transform(moves, sym), image);
+                for (long m = moves; m != 0; m &= m - 1) {
+                    int sq = Long.numberOfTrailingZeros(m);
+                    int to = Symmetry.transformSquare(sq, sym);
+                    assertTrue(Rules.isLegal(image, to));
+                    assertEquals(sq, Symmetry.inverseSquare(to, sym));
+                }
+            }
+        }
+    }
+
+    // Random legal play for up to this many plies
+    static Game randomGame(Random random, int plies) {
+        Game game = new Game();
+        for (int ply = 0; ply < plies && !game.isOver(); ply++) {
+            long moves = game.legalMoves();
+            for (int skip = random.nextInt(Long.bitCount(moves)); skip > 0; skip--) moves &= moves - 1;
+            game.play(Long.numberOfTrailingZeros(moves), false);
+        }
+        return game;
+    }
+}
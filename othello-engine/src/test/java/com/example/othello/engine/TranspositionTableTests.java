@@ -0,0 +1,78 @@
+package com.example.othello.engine;
+
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Field;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TranspositionTableTests {
+
+    @Test
+    void probeReturnsWhatWasStored() {
+        TranspositionTable table = new TranspositionTable(1);
+        long key = Zobrist.hash(new BitBoard().getBlack(), new BitBoard().getWhite(), BitBoard.BLACK);
+        table.store(key, 19, 7, TranspositionTable.BOUND_LOWER, -123);
+
+        long entry = table.probe(key);
+        assertNotEquals(0, entry);
+        assertEquals(19, TranspositionTable.move(entry));
+        assertEquals(7, TranspositionTable.depth(entry));
+        assertEquals(TranspositionTable.BOUND_LOWER, TranspositionTable.bound(entry));
+        assertEquals(-123, TranspositionTable.score(entry));
+        assertEquals(0, table.probe(key ^ 1));
+        assertEquals(1, table.getHits());
+        assertEquals(2, table.getProbes());
+
+        // Same key again: overwritten in place
+        table.store(key, 26, 9, TranspositionTable.BOUND_EXACT, 40);
+        assertEquals(26, TranspositionTable.move(table.probe(key)));
+    }
+
+    @Test
+    void keysSharingABucketNeverReadEachOthersEntries() {
+        // Size 0 leaves a single two-slot bucket, so every key collides
+        TranspositionTable table = new TranspositionTable(0);
+        assertEquals(2, table.capacity());
+        table.store(0x1111L, 1, 10, TranspositionTable.BOUND_EXACT, 100);
+        table.store(0x2222L, 2, 3, TranspositionTable.BOUND_EXACT, 200);
+        assertEquals(0, table.probe(0x3333L));
+
+        // A third key replaces the shallower entry, never the deeper one
+        table.store(0x3333L, 3, 5, TranspositionTable.BOUND_EXACT, 300);
+        assertEquals(100, TranspositionTable.score(table.probe(0x1111L)));
+        assertEquals(0, table.probe(0x2222L));
+        assertEquals(300, TranspositionTable.score(table.probe(0x3333L)));
+    }
+
+    @Test
+    void aTornWriteFailsTheKeyCheck() throws ReflectiveOperationException {
+        TranspositionTable table = new TranspositionTable(0);
+        long a = 0xA5A5L, b = 0x5A5AL;
+        // The bucket is empty, so a takes slot 0 and b slot 1
+        table.store(a, 1, 4, TranspositionTable.BOUND_EXACT, 10);
+        table.store(b, 2, 8, TranspositionTable.BOUND_LOWER, 20);
+        long[] checks = array(table, "checks"), data = array(table, "data");
+        long checkA = checks[0], dataA = data[0];
+
+        // A racing store into slot 0 got as far as the data word: neither key may read it
+        data[0] = data[1];
+        assertEquals(0, table.probe(a));
+        assertEquals(20, TranspositionTable.score(table.probe(b)));
+
+        // Only the check word: still nothing
+        checks[0] = checks[1];
+        data[0] = dataA;
+        assertEquals(0, table.probe(a));
+        assertEquals(20, TranspositionTable.score(table.probe(b)));
+
+        checks[0] = checkA;
+        assertEquals(10, TranspositionTable.score(table.probe(a)));
+    }
+
+    private static long[] array(TranspositionTable table, String name) throws ReflectiveOperationException {
+        Field field = TranspositionTable.class.getDeclaredField(name);
+        field.setAccessible(true);
+        return (long[]) field.get(table);
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.othello.engine;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ZobristTests {
+
+    @Test
+    void incrementalHashMatchesTheFullHashThroughMovesAndPasses() {
+        Random random = new Random(23);
+        boolean sawPass = false;
+        for (int n = 0; n < 100; n++) {
+            Game game = new Game();
+            long hash = Zobrist.hash(game.position().getBlack(), game.position().getWhite(), game.sideToMove());
+            while (!game.isOver()) {
+                int player = game.sideToMove();
+                long moves = game.legalMoves();
+                for (int skip = random.nextInt(Long.bitCount(moves)); skip > 0; skip--) moves &= moves - 1;
+                int sq = Long.numberOfTrailingZeros(moves);
+                long own = game.position().discs(player), opp = game.position().discs(BitBoard.opponent(player));
+
+                hash = Zobrist.afterMove(hash, player, sq, BitBoard.flips(own, opp, sq));
+                assertTrue(game.play(sq, false));
+                // Game passes for the opponent when it has no move
+                if (!game.isOver() && game.sideToMove() == player) {
+                    hash = Zobrist.afterPass(hash);
+                    sawPass = true;
+                }
+                int side = game.isOver() ? BitBoard.opponent(player) : game.sideToMove();
+                assertEquals(Zobrist.hash(game.position().getBlack(), game.position().getWhite(), side), hash);
+            }
+        }
+        assertTrue(sawPass);
+    }
+
+    @Test
+    void sideToMoveAndColourChangeTheHash() {
+        BitBoard board = new BitBoard();
+        long black = board.getBlack(), white = board.getWhite();
+        assertNotEquals(Zobrist.hash(black, white, BitBoard.BLACK), Zobrist.hash(black, white, BitBoard.WHITE));
+        assertNotEquals(Zobrist.hash(black, white, BitBoard.BLACK), Zobrist.hash(white, black, BitBoard.BLACK));
+        assertEquals(Zobrist.hash(black, white, BitBoard.WHITE),
+                Zobrist.afterPass(Zobrist.hash(black, white, BitBoard.BLACK)));
+    }
+}
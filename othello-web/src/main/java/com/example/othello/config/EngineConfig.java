@@ -0,0 +1,147 @@
+package com.example.othello.config;
+
+import com.example.othello.engine.Evaluator;
+import com.example.othello.engine.GameAnalyzer;
+import com.example.othello.engine.OpeningBook;
+import com.example.othello.engine.ParallelSearch;
+import com.example.othello.engine.PatternEvaluator;
+import com.example.othello.engine.Ponderer;
+import com.example.othello.engine.PositionCache;
+import com.example.othello.engine.SearchScheduler;
+import com.example.othello.engine.TranspositionTable;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * Wires the framework-free engine pieces that are shared across requests.
+ */
+@Configuration
+public class EngineConfig {
+
+    @Bean
+    public TranspositionTable transpositionTable(@Value("${othello.ai.tt-size-mb:64}") int sizeMb) {
+        TranspositionTable table = new TranspositionTable(sizeMb);
+        System.out.println("✅ Transposition table ready: " + table.capacity() + " entries (" + sizeMb + " MB)");
+        return table;
+    }
+
+    /** Root search results shared by every game and hint; max-entries=0 turns it off. */
+    @Bean
+    public PositionCache positionCache(@Value("${othello.ai.cache.max-entries:100000}") int maxEntries) {
+        PositionCache cache = new PositionCache(maxEntries);
+        System.out.println("✅ Position cache ready: " + cache.capacity() + " entries");
+        return cache;
+    }
+
+    /**
+     * Pattern evaluation when a weight file is configured (see PatternTrainer), otherwise
+     * the built-in heuristic. A file that cannot be read falls back to the heuristic.
+     */
+    @Bean
+    public Evaluator evaluator(ResourceLoader resourceLoader,
+                               @Value("${othello.ai.weights.location:}") String location) {
+        if (location == null || location.isBlank()) return Evaluator.HEURISTIC;
+        Resource resource = resourceLoader.getResource(location);
+        if (!resource.exists()) {
+            System.out.println("⚠️ No pattern weights at " + location + ", AI uses the built-in evaluation.");
+            return Evaluator.HEURISTIC;
+        }
+        try (InputStream in = resource.getInputStream()) {
+            PatternEvaluator evaluator = PatternEvaluator.read(in);
+            System.out.println("✅ Pattern weights loaded from " + location);
+            return evaluator;
+        } catch (IOException e) {
+            System.err.println("❌ Failed to load pattern weights: " + e.getMessage());
+            return Evaluator.HEURISTIC;
+        }
+    }
+
+    /** Helpers run as jobs on the search scheduler, so a parallel move never exceeds its threads. */
+    @Bean(destroyMethod = "shutdown")
+    public ParallelSearch parallelSearch(TranspositionTable table, Evaluator evaluator, SearchScheduler scheduler,
+                                         @Value("${othello.ai.parallel.threads:0}") int threads) {
+        // 0 means every scheduler thread; the thread running the move itself counts as one
+        int total = threads > 0 ? Math.min(threads, scheduler.getThreads()) : scheduler.getThreads();
+        return new ParallelSearch(table, total - 1, evaluator, scheduler);
+    }
+
+    /**
+     * The threads every AI search runs on: moves first, then analysis, then pondering.
+     * Budgets are CPU milliseconds per window; see SearchScheduler.
+     */
+    @Bean(destroyMethod = "shutdown")
+    public SearchScheduler searchScheduler(@Value("${othello.ai.scheduler.threads:0}") int threads,
+                                           @Value("${othello.ai.scheduler.queue-capacity:256}") int queueCapacity,
+                                           @Value("${othello.ai.scheduler.game-budget-ms:20000}") long gameBudgetMs,
+                                           @Value("${othello.ai.scheduler.background-budget-ms:120000}") long backgroundBudgetMs,
+                                           @Value("${othello.ai.scheduler.window-ms:60000}") long windowMs,
+                                           @Value("${othello.ai.scheduler.min-budget-ms:20}") long minBudgetMs) {
+        int total = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        System.out.println("✅ AI search scheduler ready: " + total + " thread(s), queue " + queueCapacity);
+        return new SearchScheduler(total, queueCapacity, gameBudgetMs, backgroundBudgetMs, windowMs, minBudgetMs);
+    }
+
+    /** Background searches on the human's time; at most max-tasks games ponder at once. */
+    @Bean
+    public Ponderer ponderer(SearchScheduler scheduler, TranspositionTable table, Evaluator evaluator,
+                             @Value("${othello.ai.ponder.max-tasks:2}") int maxTasks,
+                             @Value("${othello.ai.ponder.max-ms:30000}") long maxMillis,
+                             @Value("${othello.ai.max-depth:20}") int maxDepth) {
+        return new Ponderer(scheduler, table, evaluator, maxTasks, maxMillis, maxDepth);
+    }
+
+    /**
+     * Post-game analysis, with its own table so reviews do not evict the live games' entries.
+     * Lazy, so the table is only allocated once somebody asks for a review.
+     */
+    @Lazy
+    @Bean
+    public GameAnalyzer gameAnalyzer(SearchScheduler scheduler, Evaluator evaluator,
+                                     @Value("${othello.analysis.tt-size-mb:32}") int sizeMb,
+                                     @Value("${othello.ai.endgame.empties:14}") int endgameEmpties) {
+        return new GameAnalyzer(scheduler, new TranspositionTable(sizeMb), evaluator, endgameEmpties);
+    }
+
+    /**
+     * Maps the opening book. A classpath book is copied to a temp file first, since
+     * entries inside a jar cannot be memory-mapped. A missing book just disables it.
+     */
+    @Bean
+    public OpeningBook openingBook(ResourceLoader resourceLoader,
+                                   @Value("${othello.book.location:classpath:book/opening.book}") String location) {
+        if (location == null || location.isBlank()) return OpeningBook.empty();
+        try {
+            Resource resource = resourceLoader.getResource(location);
+            if (!resource.exists()) {
+                System.out.println("⚠️ No opening book at " + location + ", AI will search from move one.");
+                return OpeningBook.empty();
+            }
+            Path path;
+            if (resource.isFile()) {
+                path = resource.getFile().toPath();
+            } else {
+                path = Files.createTempFile("othello-book", ".book");
+                path.toFile().deleteOnExit();
+                try (InputStream in = resource.getInputStream()) {
+                    Files.copy(in, path, StandardCopyOption.REPLACE_EXISTING);
+                }
+            }
+            OpeningBook book = OpeningBook.open(path);
+            System.out.println("✅ Opening book loaded: " + book.size() + " positions from " + location);
+            return book;
+        } catch (IOException e) {
+            System.err.println("❌ Failed to load opening book: " + e.getMessage());
+            return OpeningBook.empty();
+        }
+    }
+}
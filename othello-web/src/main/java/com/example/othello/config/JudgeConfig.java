@@ -0,0 +1,46 @@
+package com.example.othello.config;
+
+import com.example.othello.judge.CodeExecutionClient;
+import com.example.othello.judge.CodeExecutionService;
+import com.example.othello.judge.Judge0Client;
+import com.example.othello.judge.LocalStubExecutionClient;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
+
+/**
+ * Chooses the code runner ({@code othello.judge.mode=judge0|stub}) and wraps it in the async, cached service.
+ * Both are lazy: the HTTP client and its threads start with the first submission.
+ */
+@Configuration
+public class JudgeConfig {
+
+    @Lazy
+    @Bean
+    public CodeExecutionClient codeExecutionClient(@Value("${othello.judge.mode:judge0}") String mode,
+                                                   @Value("${othello.judge.base-url:https://judge0-ce.p.rapidapi.com}") String baseUrl,
+                                                   @Value("${rapidapi.key:YOUR_RAPIDAPI_KEY_HERE}") String apiKey,
+                                                   @Value("${rapidapi.host:judge0-ce.p.rapidapi.com}") String apiHost,
+                                                   @Value("${othello.judge.connect-timeout-ms:3000}") int connectTimeoutMs,
+                                                   @Value("${othello.judge.read-timeout-ms:5000}") int readTimeoutMs,
+                                                   @Value("${othello.judge.stub-polls:1}") int stubPolls) {
+        if ("stub".equalsIgnoreCase(mode.trim())) {
+            System.out.println("🧪 Code submissions use the local stub runner");
+            return new LocalStubExecutionClient(stubPolls);
+        }
+        return new Judge0Client(baseUrl, apiKey, apiHost, connectTimeoutMs, readTimeoutMs);
+    }
+
+    @Lazy
+    @Bean(destroyMethod = "close")
+    public CodeExecutionService codeExecutionService(CodeExecutionClient client,
+                                                     @Value("${othello.judge.cache-size:500}") int cacheSize,
+                                                     @Value("${othello.judge.poll-interval-ms:500}") long pollIntervalMs,
+                                                     @Value("${othello.judge.timeout-ms:20000}") long timeoutMs,
+                                                     @Value("${othello.judge.max-threads:32}") int maxThreads,
+                                                     MeterRegistry meterRegistry) {
+        return new CodeExecutionService(client, cacheSize, pollIntervalMs, timeoutMs, maxThreads, meterRegistry);
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.othello.config;
+
+import com.example.othello.logging.FileLogSink;
+import com.example.othello.logging.GoogleSheetsLogSink;
+import com.example.othello.logging.InMemoryLogSink;
+import com.example.othello.logging.LogPipeline;
+import com.example.othello.logging.LogSink;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Chooses the log sink ({@code othello.log.sink=google|file|memory}) and starts the batching pipeline.
+ */
+@Configuration
+public class LoggingConfig {
+
+    @Bean
+    public LogSink logSink(@Value("${othello.log.sink:google}") String sink,
+                           @Value("${google.sheet.id}") String spreadsheetId,
+                           @Value("${othello.log.file-path:logs/othello-log.tsv}") String filePath,
+                           MeterRegistry meterRegistry) {
+        String name = sink.trim().toLowerCase();
+        LogSink target;
+        switch (name) {
+            case "file":
+                target = new FileLogSink(Paths.get(filePath));
+                break;
+            case "memory":
+                target = new InMemoryLogSink();
+                break;
+            default:
+                name = "google";
+                target = new GoogleSheetsLogSink(spreadsheetId);
+        }
+        return timed(target, name, meterRegistry);
+    }
+
+    // Times every append attempt, including ones the pipeline will retry
+    private static LogSink timed(LogSink target, String sinkName, MeterRegistry meterRegistry) {
+        Timer success = appendTimer(meterRegistry, sinkName, "success");
+        Timer failure = appendTimer(meterRegistry, sinkName, "failure");
+        return rows -> {
+            long start = System.nanoTime();
+            try {
+                target.append(rows);
+                success.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            } catch (IOException | RuntimeException e) {
+                failure.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                throw e;
+            }
+        };
+    }
+
+    private static Timer appendTimer(MeterRegistry meterRegistry, String sinkName, String outcome) {
+        return Timer.builder("othello.log.append")
+                .description("Latency of one batched append to the log sink")
+                .tag("sink", sinkName)
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    @Bean(destroyMethod = "close")
+    public LogPipeline logPipeline(LogSink sink,
+                                   @Value("${othello.log.queue-capacity:10000}") int capacity,
+                                   @Value("${othello.log.batch-size:50}") int batchSize,
+                                   @Value("${othello.log.flush-interval-ms:2000}") long flushIntervalMs,
+                                   @Value("${othello.log.drop-policy:DROP_OLDEST}") LogPipeline.DropPolicy dropPolicy,
+                                   @Value("${othello.log.offer-timeout-ms:50}") long offerTimeoutMs,
+                                   @Value("${othello.log.max-attempts:5}") int maxAttempts,
+                                   @Value("${othello.log.initial-backoff-ms:500}") long initialBackoffMs) {
+        return new LogPipeline(sink, capacity, batchSize, flushIntervalMs, dropPolicy,
+                offerTimeoutMs, maxAttempts, initialBackoffMs);
+    }
+}
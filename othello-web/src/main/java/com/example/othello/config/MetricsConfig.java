@@ -0,0 +1,150 @@
+package com.example.othello.config;
+
+import com.example.othello.engine.Ponderer;
+import com.example.othello.engine.PositionCache;
+import com.example.othello.engine.SearchScheduler;
+import com.example.othello.engine.TranspositionTable;
+import com.example.othello.logging.LogPipeline;
+import com.example.othello.persistence.GameStore;
+import com.example.othello.service.GameEventBroadcaster;
+import com.example.othello.service.GameSessionRegistry;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Gauges and counters read from components that keep their own statistics.
+ * Timers on the request paths live next to the code they time. Everything is
+ * scraped from {@code /actuator/prometheus}.
+ */
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public MeterBinder sessionMetrics(GameSessionRegistry sessions, GameEventBroadcaster events) {
+        return registry -> {
+            Gauge.builder("othello.sessions.active", sessions, GameSessionRegistry::size)
+                    .description("Games held in memory")
+                    .register(registry);
+            Gauge.builder("othello.events.subscribers", events, GameEventBroadcaster::subscriberCount)
+                    .description("Open Server-Sent Events streams")
+                    .register(registry);
+            FunctionCounter.builder("othello.events.subscribers.dropped", events, GameEventBroadcaster::getDropped)
+                    .description("Streams closed because the client fell max-backlog events behind")
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder logPipelineMetrics(LogPipeline pipeline) {
+        return registry -> {
+            Gauge.builder("othello.log.queue.depth", pipeline, LogPipeline::getQueueDepth)
+                    .description("Rows waiting for the log flusher")
+                    .register(registry);
+            FunctionCounter.builder("othello.log.rows.enqueued", pipeline, LogPipeline::getEnqueued)
+                    .register(registry);
+            FunctionCounter.builder("othello.log.rows.written", pipeline, LogPipeline::getWritten)
+                    .register(registry);
+            FunctionCounter.builder("othello.log.rows.dropped", pipeline, LogPipeline::getDropped)
+                    .description("Rows lost to a full queue or exhausted retries")
+                    .register(registry);
+            FunctionCounter.builder("othello.log.batches.failed", pipeline, LogPipeline::getFailedBatches)
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder gameStoreMetrics(GameStore store) {
+        return registry -> {
+            Gauge.builder("othello.db.queue.depth", store, GameStore::getQueueDepth)
+                    .description("Game writes waiting for the database writer")
+                    .register(registry);
+            FunctionCounter.builder("othello.db.writes", store, GameStore::getApplied)
+                    .register(registry);
+            FunctionCounter.builder("othello.db.writes.dropped", store, GameStore::getDropped)
+                    .description("Writes refused by a full queue; the game is rewritten on its next save")
+                    .register(registry);
+            FunctionCounter.builder("othello.db.writes.failed", store, GameStore::getFailed)
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder transpositionTableMetrics(TranspositionTable table) {
+        return registry -> {
+            FunctionCounter.builder("othello.ai.tt.probes", table, TranspositionTable::getProbes)
+                    .register(registry);
+            FunctionCounter.builder("othello.ai.tt.hits", table, TranspositionTable::getHits)
+                    .register(registry);
+            Gauge.builder("othello.ai.tt.hit.rate", table, TranspositionTable::getHitRate)
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder positionCacheMetrics(PositionCache cache) {
+        return registry -> {
+            Gauge.builder("othello.ai.cache.size", cache, PositionCache::size)
+                    .register(registry);
+            FunctionCounter.builder("othello.ai.cache.hits", cache, PositionCache::getHits)
+                    .description("AI moves and hints whose position, or a symmetric one, was already searched")
+                    .register(registry);
+            FunctionCounter.builder("othello.ai.cache.misses", cache, PositionCache::getMisses)
+                    .register(registry);
+            FunctionCounter.builder("othello.ai.cache.stores", cache, PositionCache::getStores)
+                    .register(registry);
+            FunctionCounter.builder("othello.ai.cache.evictions", cache, PositionCache::getEvictions)
+                    .register(registry);
+            Gauge.builder("othello.ai.cache.hit.rate", cache, PositionCache::getHitRate)
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder ponderMetrics(Ponderer ponderer) {
+        return registry -> {
+            Gauge.builder("othello.ai.ponder.active", ponderer, Ponderer::getActive)
+                    .register(registry);
+            FunctionCounter.builder("othello.ai.ponder.started", ponderer, Ponderer::getStarted)
+                    .register(registry);
+            FunctionCounter.builder("othello.ai.ponder.rejected", ponderer, Ponderer::getRejected)
+                    .description("Ponders not started because max-tasks were running or the scheduler was full")
+                    .register(registry);
+            FunctionCounter.builder("othello.ai.ponder.hits", ponderer, Ponderer::getHits)
+                    .description("Human moves whose reply had already been searched")
+                    .register(registry);
+            FunctionCounter.builder("othello.ai.ponder.misses", ponderer, Ponderer::getMisses)
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder schedulerMetrics(SearchScheduler scheduler) {
+        return registry -> {
+            for (SearchScheduler.Priority priority : SearchScheduler.Priority.values()) {
+                Gauge.builder("othello.ai.scheduler.queued", scheduler, s -> s.getQueued(priority))
+                        .description("AI jobs waiting for a scheduler thread")
+                        .tag("priority", priority.name().toLowerCase())
+                        .register(registry);
+            }
+            Gauge.builder("othello.ai.scheduler.running", scheduler, SearchScheduler::getRunning)
+                    .register(registry);
+            Gauge.builder("othello.ai.scheduler.background.cpu.ms", scheduler, SearchScheduler::getBackgroundMillis)
+                    .description("Analysis and ponder CPU time used in the current budget window")
+                    .register(registry);
+            FunctionCounter.builder("othello.ai.scheduler.completed", scheduler, SearchScheduler::getCompleted)
+                    .register(registry);
+            FunctionCounter.builder("othello.ai.scheduler.degraded", scheduler, SearchScheduler::getDegraded)
+                    .description("Jobs granted less time than they asked for")
+                    .register(registry);
+            FunctionCounter.builder("othello.ai.scheduler.rejected", scheduler, SearchScheduler::getRejected)
+                    .description("Background jobs refused because the queue was full")
+                    .register(registry);
+            FunctionCounter.builder("othello.ai.scheduler.preempted", scheduler, SearchScheduler::getPreempted)
+                    .description("Ponders stopped to free a thread for a move")
+                    .register(registry);
+        };
+    }
+}
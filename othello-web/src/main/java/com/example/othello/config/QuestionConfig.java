@@ -0,0 +1,54 @@
+package com.example.othello.config;
+
+import com.example.othello.question.QuestionBank;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Paths;
+
+/**
+ * Opens the question bank and seeds it with the bundled questions ({@code othello.questions.bundled}).
+ * Lazy: the workbook is parsed when the first game needs a question, not at startup.
+ */
+@Configuration
+public class QuestionConfig {
+
+    @Lazy
+    @Bean(destroyMethod = "close")
+    public QuestionBank questionBank(ResourceLoader resourceLoader,
+                                     @Value("${othello.questions.spool-path:data/questions.bank}") String spoolPath,
+                                     @Value("${othello.questions.cache-size:256}") int cacheSize,
+                                     @Value("${othello.questions.max-test-cases:5}") int maxTestCases,
+                                     @Value("${othello.questions.bundled:classpath:questions.xlsx}") String bundled)
+            throws IOException {
+        QuestionBank bank = new QuestionBank(Paths.get(spoolPath), cacheSize, maxTestCases);
+        if (bundled == null || bundled.isBlank()) return bank;
+        Resource resource = resourceLoader.getResource(bundled);
+        if (!resource.exists()) {
+            System.out.println("⚠️ No bundled questions at " + bundled + ", waiting for an upload.");
+            return bank;
+        }
+        try (InputStream in = resource.getInputStream()) {
+            String name = resource.getFilename() != null ? resource.getFilename() : "bundled";
+            if (name.toLowerCase().endsWith(".xlsx")) {
+                bank.ingestWorkbook(in, stripExtension(name));
+            } else {
+                bank.ingestText(in, stripExtension(name));
+            }
+        } catch (IOException e) {
+            System.err.println("❌ Failed to load bundled questions: " + e.getMessage());
+        }
+        return bank;
+    }
+
+    static String stripExtension(String name) {
+        int dot = name.lastIndexOf('.');
+        return dot > 0 ? name.substring(0, dot) : name;
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.othello.controller;
+
+import com.example.othello.model.CompactGameState;
+import com.example.othello.model.GameState;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * Content negotiation for game state: a client sending
+ * {@code Accept: application/vnd.othello.compact+json} gets a {@link CompactGameState}
+ * instead of the full JSON, with history starting at the optional {@code since} parameter.
+ * Everyone else keeps receiving the original format.
+ */
+@ControllerAdvice
+public class CompactStateAdvice implements ResponseBodyAdvice<Object> {
+
+    private static final MediaType COMPACT = MediaType.parseMediaType(CompactGameState.MEDIA_TYPE);
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return GameState.class.isAssignableFrom(returnType.getParameterType());
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        if (!(body instanceof GameState) || !COMPACT.equalsTypeAndSubtype(selectedContentType)) return body;
+        return CompactGameState.of((GameState) body, since(request));
+    }
+
+    private static int since(ServerHttpRequest request) {
+        if (!(request instanceof ServletServerHttpRequest)) return 0;
+        String value = ((ServletServerHttpRequest) request).getServletRequest().getParameter("since");
+        try {
+            return value == null ? 0 : Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+}
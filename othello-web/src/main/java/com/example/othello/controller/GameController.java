@@ -0,0 +1,210 @@
+package com.example.othello.controller;
+
+import com.example.othello.judge.CodeExecutionService;
+import com.example.othello.model.GameState;
+import com.example.othello.service.AiService;
+import com.example.othello.service.AnalysisService;
+import com.example.othello.service.OthelloService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.util.Map;
+import java.util.HashMap;
+import java.util.concurrent.CompletableFuture;
+
+
+@RestController
+@RequestMapping("/api/othello")
+@CrossOrigin(origins = "*")
+public class GameController {
+
+    @Autowired
+    private OthelloService service;
+
+    @Autowired
+    private AiService aiService;
+
+    @Autowired
+    private AnalysisService analysisService;
+
+    @Lazy
+    @Autowired
+    private CodeExecutionService codeExecution;
+
+    // gameId is optional everywhere so older clients keep playing the shared default game
+
+    @GetMapping("/state")
+    public GameState getState(@RequestParam(required = false) String gameId) {
+        return service.getState(gameId);
+    }
+    @PostMapping("/move")
+    public CompletableFuture<GameState> makeMove(
+            @RequestParam(required = false) String gameId,
+            @RequestParam(required = false) Integer row,
+            @RequestParam(required = false) Integer col,
+            @RequestParam(defaultValue = "false") boolean ai,
+            @RequestParam(required = false) Long budgetMs,
+            @RequestParam(required = false) Boolean parallel) {
+
+        if (ai) {
+            // Let AI make a move within budgetMs (falls back to othello.ai.time-budget-ms), off the request thread
+            return service.makeAIMove(gameId, budgetMs, parallel);
+        } else {
+            // Let human make a move
+            return CompletableFuture.completedFuture(service.makeMove(gameId, row, col));
+        }
+    }
+
+    // Human move plus the AI's reply in one round trip
+    @PostMapping("/turn")
+    public CompletableFuture<GameState> playTurn(
+            @RequestParam(required = false) String gameId,
+            @RequestParam int row,
+            @RequestParam int col,
+            @RequestParam(required = false) Long budgetMs,
+            @RequestParam(required = false) Boolean parallel) {
+        return service.playTurn(gameId, row, col, budgetMs, parallel);
+    }
+
+    // The move the AI would play for Black here; budgetMs falls back to othello.ai.hint.time-budget-ms
+    @GetMapping("/hint")
+    public CompletableFuture<Map<String, Object>> hint(@RequestParam(required = false) String gameId,
+                                                       @RequestParam(required = false) Long budgetMs) {
+        return service.getHint(gameId, budgetMs);
+    }
+
+    // Takes back Black's last move and the AI's reply
+    @PostMapping("/undo")
+    public GameState undo(@RequestParam(required = false) String gameId) {
+        return service.undo(gameId);
+    }
+
+    // Server-Sent Events stream of "state" events for one game, replacing polling of /state.
+    // EventSource cannot set Accept headers, so format=compact selects the compact wire format here.
+    @GetMapping(path = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter events(@RequestParam(required = false) String gameId,
+                             @RequestParam(defaultValue = "full") String format) {
+        return service.subscribe(gameId, "compact".equalsIgnoreCase(format));
+    }
+
+    // Post-game review of a finished game, streamed move by move as positions are analysed:
+    // NDJSON by default, "move"/"summary" events for Accept: text/event-stream (EventSource)
+    @GetMapping(path = "/analysis", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseBodyEmitter analysis(@RequestParam(required = false) String gameId,
+                                        @RequestParam(required = false) Integer depth,
+                                        @RequestParam(required = false) Long budgetMs) {
+        return analysisService.streamLines(gameId, depth, budgetMs);
+    }
+
+    @GetMapping(path = "/analysis", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter analysisEvents(@RequestParam(required = false) String gameId,
+                                     @RequestParam(required = false) Integer depth,
+                                     @RequestParam(required = false) Long budgetMs) {
+        return analysisService.streamEvents(gameId, depth, budgetMs);
+    }
+
+    @GetMapping("/ai/stats")
+    public Map<String, Object> getAiStats() {
+        return aiService.tableStats();
+    }
+
+    @PostMapping("/start")
+    public GameState startGame(@RequestParam String playerName,
+                               @RequestParam(required = false) String questionTag) {
+        return service.startNewGame(playerName, questionTag);
+    }
+
+
+    @PostMapping("/submitCode")
+    public CompletableFuture<Map<String, Object>> submitCode(
+            @RequestParam(required = false) String gameId,
+            @RequestBody Map<String, String> payload) {
+        String code = payload.getOrDefault("code", "");
+        return service.submitCode(payload.getOrDefault("gameId", gameId), code);
+    }
+
+
+    @GetMapping("/judge/stats")
+    public Map<String, Object> judgeStats() {
+        return codeExecution.stats();
+    }
+
+    @GetMapping("/codingQuestion")
+    public Map<String, Object> getCodingQuestion(@RequestParam(required = false) String gameId) {
+        return service.getActiveQuestion(gameId);
+    }
+
+
+    @PostMapping("/reset")
+    public GameState resetGame(@RequestParam(required = false) String gameId) {
+        return service.resetGame(gameId);
+    }
+
+    // ---------------- Admin endpoints (kept inside same controller) ----------------
+
+    // Hardcoded admin credentials (as requested)
+    private static final String ADMIN_EMAIL = "admin@gmail.com";
+    private static final String ADMIN_PASSWORD = "admin123";
+
+    @PostMapping("/admin/login")
+    public Map<String, Object> adminLogin(@RequestBody Map<String, String> payload) {
+        String email = payload.getOrDefault("email", "");
+        String password = payload.getOrDefault("password", "");
+        Map<String, Object> resp = new HashMap<>();
+        if (ADMIN_EMAIL.equals(email) && ADMIN_PASSWORD.equals(password)) {
+            resp.put("success", true);
+            resp.put("message", "Login successful");
+        } else {
+            resp.put("success", false);
+            resp.put("message", "Invalid credentials");
+        }
+        return resp;
+    }
+
+    @PostMapping("/admin/upload")
+    public Map<String, Object> adminUpload(@RequestParam("file") MultipartFile file) {
+        Map<String, Object> resp = new HashMap<>();
+        try {
+            if (file == null || file.isEmpty()) {
+                resp.put("success", false);
+                resp.put("message", "File is empty");
+                return resp;
+            }
+            boolean ok = service.uploadQuestionFile(file);
+            resp.put("success", ok);
+            resp.put("message", ok ? "Question uploaded" : "Failed to parse file");
+        } catch (Exception e) {
+            resp.put("success", false);
+            resp.put("message", "Error: " + e.getMessage());
+        }
+        return resp;
+    }
+
+    @GetMapping("/admin/question")
+    public Map<String, Object> adminGetQuestion() {
+        return service.getActiveQuestion();
+    }
+
+    @GetMapping("/admin/questions/stats")
+    public Map<String, Object> adminQuestionStats() {
+        return service.questionBankStats();
+    }
+
+
+
+
+}
+
+
+
+
+
+
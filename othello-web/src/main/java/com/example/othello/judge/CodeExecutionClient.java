@@ -0,0 +1,40 @@
+package com.example.othello.judge;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Remote (or stubbed) code runner using Judge0's submit-then-poll model.
+ * Calls are short and never wait for the program to finish.
+ */
+public interface CodeExecutionClient {
+
+    /** Queues a run and returns the token to poll with. */
+    String submit(String sourceCode, int languageId, String stdin) throws IOException;
+
+    /** Current state of a run; check {@link ExecutionResult#isFinished()}. */
+    ExecutionResult poll(String token) throws IOException;
+
+    /**
+     * Queues one run of the program per stdin and returns the tokens in the same order.
+     * Clients with a batch endpoint override this to make a single round trip.
+     */
+    default List<String> submitBatch(String sourceCode, int languageId, List<String> stdins) throws IOException {
+        List<String> tokens = new ArrayList<>(stdins.size());
+        for (String stdin : stdins) tokens.add(submit(sourceCode, languageId, stdin));
+        return tokens;
+    }
+
+    /** Current state of several runs, in token order. */
+    default List<ExecutionResult> pollBatch(List<String> tokens) throws IOException {
+        List<ExecutionResult> results = new ArrayList<>(tokens.size());
+        for (String token : tokens) results.add(poll(token));
+        return results;
+    }
+
+    /** False when the client lacks credentials and every call would fail. */
+    default boolean isConfigured() {
+        return true;
+    }
+}
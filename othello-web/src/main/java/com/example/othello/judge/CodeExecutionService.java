@@ -0,0 +1,310 @@
+package com.example.othello.judge;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs code through a {@link CodeExecutionClient} without tying up the caller.
+ *
+ * {@link #execute}, {@link #executeAll} and {@link #grade} return at once. The
+ * submit call and each poll run on an I/O executor (virtual threads when the JVM
+ * has them, a bounded platform pool otherwise), and the gap between polls is a
+ * scheduled delay rather than a sleeping thread. Finished results are cached by source, language and stdin, and
+ * identical runs already in flight share one remote submission.
+ */
+public class CodeExecutionService implements AutoCloseable {
+
+    // Judge0 statuses from here up are infrastructure failures, not verdicts on the code
+    private static final int FIRST_INTERNAL_ERROR_STATUS = 13;
+
+    private final CodeExecutionClient client;
+    private final ExecutionResultCache cache;
+    private final long pollIntervalMs;
+    private final long timeoutMs;
+    private final ExecutorService ioExecutor;
+    private final ScheduledExecutorService poller;
+    private final Map<String, CompletableFuture<ExecutionResult>> inFlight = new ConcurrentHashMap<>();
+    private final MeterRegistry meterRegistry;
+
+    public CodeExecutionService(CodeExecutionClient client, int cacheSize, long pollIntervalMs, long timeoutMs,
+                                int maxThreads, MeterRegistry meterRegistry) {
+        this.client = client;
+        this.cache = new ExecutionResultCache(cacheSize);
+        this.pollIntervalMs = pollIntervalMs;
+        this.timeoutMs = timeoutMs;
+        this.ioExecutor = newIoExecutor(maxThreads);
+        this.poller = Executors.newSingleThreadScheduledExecutor(daemonThreads("othello-judge-poller"));
+        this.meterRegistry = meterRegistry;
+        FunctionCounter.builder("othello.judge.cache.hits", cache, ExecutionResultCache::getHits)
+                .description("Runs answered from the result cache")
+                .register(meterRegistry);
+        FunctionCounter.builder("othello.judge.cache.misses", cache, ExecutionResultCache::getMisses)
+                .register(meterRegistry);
+        Gauge.builder("othello.judge.in.flight", inFlight, Map::size)
+                .description("Remote runs submitted and not yet finished")
+                .register(meterRegistry);
+    }
+
+    public boolean isConfigured() {
+        return client.isConfigured();
+    }
+
+    /** Result of running {@code sourceCode}; fails with a TimeoutException after the configured timeout. */
+    public CompletableFuture<ExecutionResult> execute(String sourceCode, int languageId, String stdin) {
+        return executeAll(sourceCode, languageId, Collections.singletonList(stdin)).get(0);
+    }
+
+    /**
+     * Runs the program once per stdin. Uncached runs go out in one batch submission and
+     * are polled together, so latency does not grow with the number of inputs.
+     */
+    public List<CompletableFuture<ExecutionResult>> executeAll(String sourceCode, int languageId, List<String> stdins) {
+        List<CompletableFuture<ExecutionResult>> futures = new ArrayList<>(stdins.size());
+        List<PendingRun> toSubmit = new ArrayList<>();
+        for (String stdin : stdins) {
+            String key = ExecutionResultCache.key(sourceCode, languageId, stdin);
+            ExecutionResult cached = cache.get(key);
+            if (cached != null) {
+                futures.add(CompletableFuture.completedFuture(cached));
+                continue;
+            }
+            CompletableFuture<ExecutionResult> created = new CompletableFuture<>();
+            CompletableFuture<ExecutionResult> existing = inFlight.putIfAbsent(key, created);
+            if (existing != null) {
+                futures.add(existing);
+                continue;
+            }
+            created.whenComplete((r, e) -> inFlight.remove(key, created));
+            toSubmit.add(new PendingRun(key, stdin, created));
+            futures.add(created);
+        }
+        if (toSubmit.isEmpty()) return futures;
+
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMs);
+        runAsync(toSubmit, () -> {
+            List<String> inputs = new ArrayList<>(toSubmit.size());
+            for (PendingRun run : toSubmit) inputs.add(run.stdin);
+            List<String> tokens = client.submitBatch(sourceCode, languageId, inputs);
+            for (int i = 0; i < toSubmit.size(); i++) toSubmit.get(i).token = tokens.get(i);
+            schedulePoll(toSubmit, deadline);
+        });
+        return futures;
+    }
+
+    /**
+     * Grades the program against every test case concurrently. Never completes
+     * exceptionally: failed or timed-out runs become failing verdicts.
+     */
+    public CompletableFuture<List<TestVerdict>> grade(String sourceCode, int languageId, List<TestCase> tests) {
+        List<String> stdins = new ArrayList<>(tests.size());
+        for (TestCase test : tests) stdins.add(test.getInput());
+        long start = System.nanoTime();
+        List<CompletableFuture<ExecutionResult>> runs = executeAll(sourceCode, languageId, stdins);
+
+        List<CompletableFuture<TestVerdict>> verdicts = new ArrayList<>(tests.size());
+        for (int i = 0; i < tests.size(); i++) {
+            int index = i;
+            TestCase test = tests.get(i);
+            verdicts.add(runs.get(i).handle((result, error) -> {
+                TestVerdict v = verdict(index, test, result, error, (System.nanoTime() - start) / 1_000_000L);
+                countVerdict(error, v);
+                return v;
+            }));
+        }
+        return CompletableFuture.allOf(verdicts.toArray(new CompletableFuture[0]))
+                .thenApply(ignored -> {
+                    List<TestVerdict> list = new ArrayList<>(verdicts.size());
+                    for (CompletableFuture<TestVerdict> v : verdicts) list.add(v.join());
+                    return list;
+                });
+    }
+
+    // Error messages are folded into one tag value to keep the metric's cardinality bounded
+    private void countVerdict(Throwable error, TestVerdict verdict) {
+        String tag = error == null || verdict.getVerdict().equals("Timed out") ? verdict.getVerdict() : "Error";
+        Counter.builder("othello.judge.verdicts")
+                .description("Graded test cases by verdict")
+                .tag("verdict", tag)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    private static TestVerdict verdict(int index, TestCase test, ExecutionResult result, Throwable error, long wallMs) {
+        if (error != null) {
+            Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+            String verdict = cause instanceof TimeoutException ? "Timed out" : "Error: " + cause.getMessage();
+            return new TestVerdict(index, test.getInput(), test.getExpectedOutput(), "", "", "", verdict, false,
+                    wallMs, null, null);
+        }
+        String verdict;
+        boolean passed;
+        if (!result.isAccepted()) {
+            verdict = result.getStatusDescription() != null ? result.getStatusDescription() : "Status " + result.getStatusId();
+            passed = false;
+        } else if (test.getExpectedOutput() != null
+                && !normalize(result.getStdout()).equals(normalize(test.getExpectedOutput()))) {
+            verdict = "Wrong Answer";
+            passed = false;
+        } else {
+            verdict = "Accepted";
+            passed = true;
+        }
+        return new TestVerdict(index, test.getInput(), test.getExpectedOutput(), result.getStdout(),
+                result.getStderr(), result.getCompileOutput(), verdict, passed, wallMs, result.getTime(),
+                result.getMemory());
+    }
+
+    /** Ignores trailing spaces on each line and trailing blank lines. */
+    private static String normalize(String output) {
+        if (output == null) return "";
+        StringBuilder sb = new StringBuilder();
+        for (String line : output.replace("\r\n", "\n").split("\n", -1)) {
+            sb.append(line.stripTrailing()).append('\n');
+        }
+        return sb.toString().stripTrailing();
+    }
+
+    // ---------------- Polling ----------------
+    private static final class PendingRun {
+        final String key;
+        final String stdin;
+        final CompletableFuture<ExecutionResult> future;
+        final long createdNanos = System.nanoTime();
+        volatile String token;
+
+        PendingRun(String key, String stdin, CompletableFuture<ExecutionResult> future) {
+            this.key = key;
+            this.stdin = stdin;
+            this.future = future;
+        }
+    }
+
+    // Submit-to-verdict time of remote runs; cache hits are not included
+    private void recordRoundTrip(PendingRun run, String outcome) {
+        Timer.builder("othello.judge.round.trip")
+                .description("Time from submitting a run to its verdict")
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .record(System.nanoTime() - run.createdNanos, TimeUnit.NANOSECONDS);
+    }
+
+    private void schedulePoll(List<PendingRun> runs, long deadline) {
+        poller.schedule(() -> runAsync(runs, () -> poll(runs, deadline)), pollIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    private void poll(List<PendingRun> runs, long deadline) throws Exception {
+        List<PendingRun> open = new ArrayList<>(runs.size());
+        List<String> tokens = new ArrayList<>(runs.size());
+        for (PendingRun run : runs) {
+            if (run.future.isDone()) continue;
+            open.add(run);
+            tokens.add(run.token);
+        }
+        if (open.isEmpty()) return;
+
+        List<ExecutionResult> results = client.pollBatch(tokens);
+        List<PendingRun> unfinished = new ArrayList<>();
+        for (int i = 0; i < open.size(); i++) {
+            PendingRun run = open.get(i);
+            ExecutionResult result = results.get(i);
+            if (result.isFinished()) {
+                if (result.getStatusId() < FIRST_INTERNAL_ERROR_STATUS) cache.put(run.key, result);
+                recordRoundTrip(run, "finished");
+                run.future.complete(result);
+            } else {
+                unfinished.add(run);
+            }
+        }
+        if (unfinished.isEmpty()) return;
+        if (System.nanoTime() > deadline) {
+            for (PendingRun run : unfinished) {
+                recordRoundTrip(run, "timeout");
+                run.future.completeExceptionally(new TimeoutException(
+                        "Run " + run.token + " did not finish within " + timeoutMs + " ms"));
+            }
+        } else {
+            schedulePoll(unfinished, deadline);
+        }
+    }
+
+    private interface IoTask {
+        void run() throws Exception;
+    }
+
+    /** Runs {@code task} on the I/O executor; if it fails, every run still open fails with it. */
+    private void runAsync(List<PendingRun> runs, IoTask task) {
+        try {
+            ioExecutor.execute(() -> {
+                try {
+                    task.run();
+                } catch (Exception e) {
+                    fail(runs, e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            fail(runs, e);
+        }
+    }
+
+    private void fail(List<PendingRun> runs, Exception e) {
+        for (PendingRun run : runs) {
+            if (run.future.isDone()) continue;
+            recordRoundTrip(run, "error");
+            run.future.completeExceptionally(e);
+        }
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("cacheSize", cache.size());
+        stats.put("cacheHits", cache.getHits());
+        stats.put("cacheMisses", cache.getMisses());
+        stats.put("inFlight", inFlight.size());
+        return stats;
+    }
+
+    @Override
+    public void close() {
+        poller.shutdownNow();
+        ioExecutor.shutdownNow();
+    }
+
+    // ---------------- Executors ----------------
+    private static ExecutorService newIoExecutor(int maxThreads) {
+        try {
+            // Java 21+: one virtual thread per blocking HTTP call
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return Executors.newFixedThreadPool(Math.max(1, maxThreads), daemonThreads("othello-judge-io"));
+        }
+    }
+
+    private static ThreadFactory daemonThreads(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return r -> {
+            Thread t = new Thread(r, prefix + "-" + counter.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        };
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.othello.judge;
+
+/**
+ * One Judge0 run as seen by the app. Status ids follow Judge0:
+ * 1 In Queue, 2 Processing, 3 Accepted, 4 Wrong Answer, 5 Time Limit Exceeded, 6 Compilation Error, ...
+ */
+public final class ExecutionResult {
+
+    public static final int STATUS_IN_QUEUE = 1;
+    public static final int STATUS_PROCESSING = 2;
+    public static final int STATUS_ACCEPTED = 3;
+
+    private final int statusId;
+    private final String statusDescription;
+    private final String stdout;
+    private final String stderr;
+    private final String compileOutput;
+    private final String time;
+    private final Integer memory;
+
+    public ExecutionResult(int statusId, String statusDescription, String stdout, String stderr,
+                           String compileOutput, String time, Integer memory) {
+        this.statusId = statusId;
+        this.statusDescription = statusDescription;
+        this.stdout = stdout;
+        this.stderr = stderr;
+        this.compileOutput = compileOutput;
+        this.time = time;
+        this.memory = memory;
+    }
+
+    public boolean isFinished() {
+        return statusId > STATUS_PROCESSING;
+    }
+
+    public boolean isAccepted() {
+        return statusId == STATUS_ACCEPTED;
+    }
+
+    public int getStatusId() {
+        return statusId;
+    }
+
+    public String getStatusDescription() {
+        return statusDescription;
+    }
+
+    public String getStdout() {
+        return stdout;
+    }
+
+    public String getStderr() {
+        return stderr;
+    }
+
+    public String getCompileOutput() {
+        return compileOutput;
+    }
+
+    /** CPU time in seconds as reported by Judge0, e.g. "0.002". */
+    public String getTime() {
+        return time;
+    }
+
+    /** Memory in KB as reported by Judge0. */
+    public Integer getMemory() {
+        return memory;
+    }
+}
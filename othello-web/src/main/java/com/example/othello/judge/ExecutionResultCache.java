@@ -0,0 +1,67 @@
+package com.example.othello.judge;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Bounded LRU cache of finished runs keyed by a SHA-256 of (source, language, stdin),
+ * so resubmitting identical code skips the remote round trip.
+ */
+public class ExecutionResultCache {
+
+    private final int maxEntries;
+    private final Map<String, ExecutionResult> entries;
+    private long hits;
+    private long misses;
+
+    public ExecutionResultCache(int maxEntries) {
+        this.maxEntries = maxEntries;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, ExecutionResult> eldest) {
+                return size() > ExecutionResultCache.this.maxEntries;
+            }
+        };
+    }
+
+    public static String key(String sourceCode, int languageId, String stdin) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(sourceCode.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            digest.update(Integer.toString(languageId).getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            digest.update(stdin == null ? new byte[0] : stdin.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    public synchronized ExecutionResult get(String key) {
+        ExecutionResult result = entries.get(key);
+        if (result == null) misses++;
+        else hits++;
+        return result;
+    }
+
+    public synchronized void put(String key, ExecutionResult result) {
+        if (maxEntries > 0) entries.put(key, result);
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    public synchronized long getMisses() {
+        return misses;
+    }
+}
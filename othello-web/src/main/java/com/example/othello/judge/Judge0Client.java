@@ -0,0 +1,197 @@
+package com.example.othello.judge;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Judge0 over RapidAPI. Submissions use {@code wait=false}, so no call holds a
+ * connection open while the program compiles and runs; several inputs go through
+ * the batch endpoints in one round trip.
+ */
+public class Judge0Client implements CodeExecutionClient {
+
+    private static final String PLACEHOLDER_KEY = "YOUR_RAPIDAPI_KEY_HERE";
+    private static final String RESULT_FIELDS = "status,stdout,stderr,compile_output,time,memory";
+    // Judge0 accepts at most this many submissions per batch call by default
+    private static final int MAX_BATCH = 20;
+
+    private final String baseUrl;
+    private final String apiKey;
+    private final String apiHost;
+    private final RestTemplate restTemplate;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    public Judge0Client(String baseUrl, String apiKey, String apiHost, int connectTimeoutMs, int readTimeoutMs) {
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+        this.apiKey = apiKey;
+        this.apiHost = apiHost;
+        SimpleClientHttpRequestFactory factory = new SimpleClientHttpRequestFactory();
+        factory.setConnectTimeout(connectTimeoutMs);
+        factory.setReadTimeout(readTimeoutMs);
+        this.restTemplate = new RestTemplate(factory);
+    }
+
+    @Override
+    public boolean isConfigured() {
+        return apiKey != null && !apiKey.isEmpty() && !apiKey.equals(PLACEHOLDER_KEY);
+    }
+
+    @Override
+    public String submit(String sourceCode, int languageId, String stdin) throws IOException {
+        Map<String, Object> submission = new HashMap<>();
+        submission.put("source_code", encode(sourceCode));
+        submission.put("language_id", languageId);
+        submission.put("stdin", encode(stdin == null ? "" : stdin));
+
+        HttpEntity<String> request = new HttpEntity<>(objectMapper.writeValueAsString(submission), headers());
+        try {
+            ResponseEntity<Map> response = restTemplate.postForEntity(
+                    baseUrl + "/submissions?base64_encoded=true&wait=false", request, Map.class);
+            Object token = response.getBody() == null ? null : response.getBody().get("token");
+            if (!response.getStatusCode().is2xxSuccessful() || token == null) {
+                throw new IOException("Judge0 API responded with: " + response.getStatusCode());
+            }
+            return token.toString();
+        } catch (RestClientException e) {
+            throw new IOException("Judge0 submit failed: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public ExecutionResult poll(String token) throws IOException {
+        try {
+            ResponseEntity<Map> response = restTemplate.exchange(
+                    baseUrl + "/submissions/" + token + "?base64_encoded=true&fields=" + RESULT_FIELDS,
+                    HttpMethod.GET, new HttpEntity<>(headers()), Map.class);
+            Map<?, ?> body = response.getBody();
+            if (!response.getStatusCode().is2xxSuccessful() || body == null) {
+                throw new IOException("Judge0 API responded with: " + response.getStatusCode());
+            }
+            return parse(body);
+        } catch (RestClientException e) {
+            throw new IOException("Judge0 poll failed: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public List<String> submitBatch(String sourceCode, int languageId, List<String> stdins) throws IOException {
+        List<String> tokens = new ArrayList<>(stdins.size());
+        String encodedSource = encode(sourceCode);
+        for (int from = 0; from < stdins.size(); from += MAX_BATCH) {
+            List<Map<String, Object>> submissions = new ArrayList<>();
+            for (String stdin : stdins.subList(from, Math.min(stdins.size(), from + MAX_BATCH))) {
+                Map<String, Object> submission = new HashMap<>();
+                submission.put("source_code", encodedSource);
+                submission.put("language_id", languageId);
+                submission.put("stdin", encode(stdin == null ? "" : stdin));
+                submissions.add(submission);
+            }
+            Map<String, Object> body = new HashMap<>();
+            body.put("submissions", submissions);
+
+            HttpEntity<String> request = new HttpEntity<>(objectMapper.writeValueAsString(body), headers());
+            try {
+                ResponseEntity<List> response = restTemplate.postForEntity(
+                        baseUrl + "/submissions/batch?base64_encoded=true", request, List.class);
+                List<?> created = response.getBody();
+                if (!response.getStatusCode().is2xxSuccessful() || created == null || created.size() != submissions.size()) {
+                    throw new IOException("Judge0 API responded with: " + response.getStatusCode());
+                }
+                for (Object entry : created) {
+                    Object token = entry instanceof Map ? ((Map<?, ?>) entry).get("token") : null;
+                    // A submission rejected by validation comes back without a token
+                    if (token == null) throw new IOException("Judge0 rejected a batch submission: " + entry);
+                    tokens.add(token.toString());
+                }
+            } catch (RestClientException e) {
+                throw new IOException("Judge0 batch submit failed: " + e.getMessage(), e);
+            }
+        }
+        return tokens;
+    }
+
+    @Override
+    public List<ExecutionResult> pollBatch(List<String> tokens) throws IOException {
+        List<ExecutionResult> results = new ArrayList<>(tokens.size());
+        for (int from = 0; from < tokens.size(); from += MAX_BATCH) {
+            List<String> chunk = tokens.subList(from, Math.min(tokens.size(), from + MAX_BATCH));
+            try {
+                ResponseEntity<Map> response = restTemplate.exchange(
+                        baseUrl + "/submissions/batch?tokens=" + String.join(",", chunk)
+                                + "&base64_encoded=true&fields=" + RESULT_FIELDS,
+                        HttpMethod.GET, new HttpEntity<>(headers()), Map.class);
+                Object submissions = response.getBody() == null ? null : response.getBody().get("submissions");
+                if (!response.getStatusCode().is2xxSuccessful() || !(submissions instanceof List)
+                        || ((List<?>) submissions).size() != chunk.size()) {
+                    throw new IOException("Judge0 API responded with: " + response.getStatusCode());
+                }
+                for (Object entry : (List<?>) submissions) {
+                    results.add(parse(entry instanceof Map ? (Map<?, ?>) entry : Map.of()));
+                }
+            } catch (RestClientException e) {
+                throw new IOException("Judge0 batch poll failed: " + e.getMessage(), e);
+            }
+        }
+        return results;
+    }
+
+    private HttpHeaders headers() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.set("X-RapidAPI-Key", apiKey);
+        headers.set("X-RapidAPI-Host", apiHost);
+        return headers;
+    }
+
+    private static ExecutionResult parse(Map<?, ?> body) {
+        int statusId = ExecutionResult.STATUS_IN_QUEUE;
+        String description = null;
+        Object statusField = body.get("status");
+        if (statusField instanceof Map) {
+            Object idObj = ((Map<?, ?>) statusField).get("id");
+            if (idObj != null) statusId = Integer.parseInt(idObj.toString());
+            Object desc = ((Map<?, ?>) statusField).get("description");
+            if (desc != null) description = desc.toString();
+        } else if (statusField != null) {
+            statusId = Integer.parseInt(statusField.toString());
+        }
+        Object memory = body.get("memory");
+        return new ExecutionResult(
+                statusId,
+                description,
+                decode(body.get("stdout")),
+                decode(body.get("stderr")),
+                decode(body.get("compile_output")),
+                body.get("time") == null ? null : body.get("time").toString(),
+                memory == null ? null : Integer.valueOf(memory.toString()));
+    }
+
+    private static String encode(String s) {
+        return Base64.getEncoder().encodeToString(s.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String decode(Object field) {
+        if (field == null) return "";
+        try {
+            // Judge0 wraps long base64 output across lines
+            return new String(Base64.getMimeDecoder().decode(field.toString()), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            return field.toString();
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.othello.judge;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Offline stand-in for Judge0 (othello.judge.mode=stub). Nothing is compiled: a
+ * blank program is a compilation error, anything else is accepted and echoes its
+ * stdin. A run reports "Processing" for {@code pollsUntilDone} polls first, so the
+ * polling path is exercised the same way as against the real service.
+ */
+public class LocalStubExecutionClient implements CodeExecutionClient {
+
+    private static final class Run {
+        final String source;
+        final String stdin;
+        final AtomicInteger polls = new AtomicInteger();
+
+        Run(String source, String stdin) {
+            this.source = source;
+            this.stdin = stdin;
+        }
+    }
+
+    private final int pollsUntilDone;
+    private final Map<String, Run> runs = new ConcurrentHashMap<>();
+    private final AtomicInteger submissions = new AtomicInteger();
+
+    public LocalStubExecutionClient(int pollsUntilDone) {
+        this.pollsUntilDone = pollsUntilDone;
+    }
+
+    @Override
+    public String submit(String sourceCode, int languageId, String stdin) {
+        String token = UUID.randomUUID().toString();
+        runs.put(token, new Run(sourceCode, stdin == null ? "" : stdin));
+        submissions.incrementAndGet();
+        return token;
+    }
+
+    @Override
+    public ExecutionResult poll(String token) {
+        Run run = runs.get(token);
+        if (run == null) {
+            return new ExecutionResult(13, "Internal Error", "", "Unknown token " + token, "", null, null);
+        }
+        if (run.polls.incrementAndGet() <= pollsUntilDone) {
+            return new ExecutionResult(ExecutionResult.STATUS_PROCESSING, "Processing", null, null, null, null, null);
+        }
+        runs.remove(token);
+        if (run.source == null || run.source.isBlank()) {
+            return new ExecutionResult(6, "Compilation Error", "", "", "empty translation unit", null, null);
+        }
+        return new ExecutionResult(ExecutionResult.STATUS_ACCEPTED, "Accepted", run.stdin, "", "", "0.001", 1024);
+    }
+
+    /** Number of runs actually submitted, i.e. not answered from the cache. */
+    public int getSubmissions() {
+        return submissions.get();
+    }
+}
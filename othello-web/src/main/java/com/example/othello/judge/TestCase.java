@@ -0,0 +1,39 @@
+package com.example.othello.judge;
+
+/**
+ * One grading case from an uploaded question file. A line is either plain stdin,
+ * which passes if the program runs cleanly, or {@code stdin => expected output}.
+ * A literal {@code \n} in either half stands for a newline.
+ */
+public final class TestCase {
+
+    private static final String SEPARATOR = "=>";
+
+    private final String input;
+    private final String expectedOutput;
+
+    public TestCase(String input, String expectedOutput) {
+        this.input = input;
+        this.expectedOutput = expectedOutput;
+    }
+
+    public static TestCase parse(String line) {
+        int sep = line.indexOf(SEPARATOR);
+        if (sep < 0) return new TestCase(unescape(line.trim()), null);
+        return new TestCase(unescape(line.substring(0, sep).trim()),
+                unescape(line.substring(sep + SEPARATOR.length()).trim()));
+    }
+
+    private static String unescape(String s) {
+        return s.replace("\\n", "\n");
+    }
+
+    public String getInput() {
+        return input;
+    }
+
+    /** Expected stdout, or null when only a clean run is required. */
+    public String getExpectedOutput() {
+        return expectedOutput;
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.othello.judge;
+
+/**
+ * Outcome of one test case, returned to the client as part of a submission result.
+ */
+public final class TestVerdict {
+
+    private final int index;
+    private final String input;
+    private final String expectedOutput;
+    private final String stdout;
+    private final String stderr;
+    private final String compileOutput;
+    private final String verdict;
+    private final boolean passed;
+    private final long wallTimeMs;
+    private final String cpuTime;
+    private final Integer memoryKb;
+
+    public TestVerdict(int index, String input, String expectedOutput, String stdout, String stderr,
+                       String compileOutput, String verdict, boolean passed, long wallTimeMs, String cpuTime,
+                       Integer memoryKb) {
+        this.index = index;
+        this.input = input;
+        this.expectedOutput = expectedOutput;
+        this.stdout = stdout;
+        this.stderr = stderr;
+        this.compileOutput = compileOutput;
+        this.verdict = verdict;
+        this.passed = passed;
+        this.wallTimeMs = wallTimeMs;
+        this.cpuTime = cpuTime;
+        this.memoryKb = memoryKb;
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public String getInput() {
+        return input;
+    }
+
+    public String getExpectedOutput() {
+        return expectedOutput;
+    }
+
+    public String getStdout() {
+        return stdout;
+    }
+
+    public String getStderr() {
+        return stderr;
+    }
+
+    public String getCompileOutput() {
+        return compileOutput;
+    }
+
+    /** "Accepted", "Wrong Answer", a Judge0 status such as "Compilation Error", "Timed out" or "Error: ...". */
+    public String getVerdict() {
+        return verdict;
+    }
+
+    public boolean isPassed() {
+        return passed;
+    }
+
+    /** Submit-to-verdict time as seen by this server. */
+    public long getWallTimeMs() {
+        return wallTimeMs;
+    }
+
+    /** CPU seconds reported by Judge0, or null. */
+    public String getCpuTime() {
+        return cpuTime;
+    }
+
+    public Integer getMemoryKb() {
+        return memoryKb;
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.othello.logging;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Appends rows as tab-separated lines to a local file; handy for offline runs.
+ */
+public class FileLogSink implements LogSink {
+
+    private final Path path;
+
+    public FileLogSink(Path path) {
+        this.path = path;
+    }
+
+    @Override
+    public void append(List<List<Object>> rows) throws IOException {
+        if (path.getParent() != null) Files.createDirectories(path.getParent());
+        try (BufferedWriter out = Files.newBufferedWriter(path, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            for (List<Object> row : rows) {
+                StringBuilder line = new StringBuilder();
+                for (int i = 0; i < row.size(); i++) {
+                    if (i > 0) line.append('\t');
+                    // Keep one row per line even for multi-line code submissions
+                    line.append(String.valueOf(row.get(i)).replace('\t', ' ').replace("\n", "\\n"));
+                }
+                out.write(line.toString());
+                out.newLine();
+            }
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.othello.logging;
+
+import com.example.othello.util.GoogleSheetsUtil;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Sends each batch as a single Sheets {@code append} call.
+ */
+public class GoogleSheetsLogSink implements LogSink {
+
+    private final String spreadsheetId;
+
+    public GoogleSheetsLogSink(String spreadsheetId) {
+        this.spreadsheetId = spreadsheetId;
+    }
+
+    @Override
+    public void append(List<List<Object>> rows) throws IOException {
+        GoogleSheetsUtil.appendLogRows(spreadsheetId, rows);
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.othello.logging;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Keeps appended rows in memory; used by tests and when logging is switched off.
+ */
+public class InMemoryLogSink implements LogSink {
+
+    private final List<List<Object>> rows = Collections.synchronizedList(new ArrayList<>());
+    private final List<Integer> batchSizes = Collections.synchronizedList(new ArrayList<>());
+
+    @Override
+    public void append(List<List<Object>> batch) {
+        rows.addAll(batch);
+        batchSizes.add(batch.size());
+    }
+
+    public List<List<Object>> getRows() {
+        return rows;
+    }
+
+    public List<Integer> getBatchSizes() {
+        return batchSizes;
+    }
+}
@@ -0,0 +1,186 @@
+package com.example.othello.logging;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Background logging pipeline: callers enqueue rows without blocking on the network,
+ * and a single flusher thread hands them to the {@link LogSink} in batches.
+ *
+ * A batch is flushed when {@code batchSize} rows are waiting or {@code flushIntervalMs}
+ * has passed since its first row. Failed batches are retried with exponential backoff
+ * and dropped (and counted) once {@code maxAttempts} is used up. When the bounded
+ * queue is full the {@link DropPolicy} decides which row is lost.
+ */
+public class LogPipeline implements AutoCloseable {
+
+    public enum DropPolicy {
+        /** Reject the incoming row. */
+        DROP_NEWEST,
+        /** Evict the oldest queued row to make room. */
+        DROP_OLDEST,
+        /** Wait up to the offer timeout for room, then reject the row. */
+        BLOCK
+    }
+
+    private final LogSink sink;
+    private final BlockingQueue<List<Object>> queue;
+    private final int batchSize;
+    private final long flushIntervalMs;
+    private final DropPolicy dropPolicy;
+    private final long offerTimeoutMs;
+    private final int maxAttempts;
+    private final long initialBackoffMs;
+
+    private final AtomicLong enqueued = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong written = new AtomicLong();
+    private final AtomicLong failedBatches = new AtomicLong();
+
+    private final Thread flusher;
+    private volatile boolean running = true;
+
+    public LogPipeline(LogSink sink, int capacity, int batchSize, long flushIntervalMs, DropPolicy dropPolicy,
+                       long offerTimeoutMs, int maxAttempts, long initialBackoffMs) {
+        this.sink = sink;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.batchSize = Math.max(1, batchSize);
+        this.flushIntervalMs = flushIntervalMs;
+        this.dropPolicy = dropPolicy;
+        this.offerTimeoutMs = offerTimeoutMs;
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.initialBackoffMs = initialBackoffMs;
+        this.flusher = new Thread(this::run, "othello-log-flusher");
+        this.flusher.setDaemon(true);
+        this.flusher.start();
+    }
+
+    /** Queues a row for the sink. Returns false if the row was dropped. */
+    public boolean enqueue(List<Object> row) {
+        if (!running) {
+            dropped.incrementAndGet();
+            return false;
+        }
+        boolean accepted;
+        switch (dropPolicy) {
+            case DROP_OLDEST:
+                accepted = queue.offer(row);
+                while (!accepted) {
+                    if (queue.poll() != null) dropped.incrementAndGet();
+                    accepted = queue.offer(row);
+                }
+                break;
+            case BLOCK:
+                try {
+                    accepted = queue.offer(row, offerTimeoutMs, TimeUnit.MILLISECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    accepted = false;
+                }
+                break;
+            default:
+                accepted = queue.offer(row);
+        }
+        if (accepted) {
+            enqueued.incrementAndGet();
+        } else {
+            dropped.incrementAndGet();
+            System.err.println("⚠️ Log queue full, row dropped (" + dropPolicy + ")");
+        }
+        return accepted;
+    }
+
+    // ---------------- Flusher ----------------
+    private void run() {
+        List<List<Object>> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                List<Object> first = queue.poll(flushIntervalMs, TimeUnit.MILLISECONDS);
+                if (first == null) continue;
+                batch.add(first);
+                // Gather more rows until the batch is full or the first row has waited long enough
+                long flushAt = System.currentTimeMillis() + flushIntervalMs;
+                while (batch.size() < batchSize) {
+                    queue.drainTo(batch, batchSize - batch.size());
+                    long wait = flushAt - System.currentTimeMillis();
+                    if (batch.size() >= batchSize || wait <= 0 || !running) break;
+                    List<Object> next = queue.poll(wait, TimeUnit.MILLISECONDS);
+                    if (next == null) break;
+                    batch.add(next);
+                }
+            } catch (InterruptedException e) {
+                // close() interrupts to cut waits short; the loop drains what is left
+            }
+            if (!batch.isEmpty()) {
+                flush(batch);
+                batch.clear();
+            }
+        }
+    }
+
+    private void flush(List<List<Object>> batch) {
+        long backoff = initialBackoffMs;
+        for (int attempt = 1; ; attempt++) {
+            try {
+                sink.append(new ArrayList<>(batch));
+                written.addAndGet(batch.size());
+                return;
+            } catch (Exception e) {
+                if (attempt >= maxAttempts || !running) {
+                    failedBatches.incrementAndGet();
+                    dropped.addAndGet(batch.size());
+                    System.err.println("❌ Failed to write " + batch.size() + " log row(s) after "
+                            + attempt + " attempt(s): " + e.getMessage());
+                    return;
+                }
+                try {
+                    Thread.sleep(backoff);
+                } catch (InterruptedException ie) {
+                    // Closing: running is now false, so the next attempt is the last
+                }
+                backoff *= 2;
+            }
+        }
+    }
+
+    /** Stops accepting rows, flushes what is queued and waits up to {@code timeoutMs} for the flusher. */
+    public void close(long timeoutMs) {
+        running = false;
+        flusher.interrupt();
+        try {
+            flusher.join(timeoutMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public void close() {
+        close(5_000);
+    }
+
+    // ---------------- Stats ----------------
+    public int getQueueDepth() {
+        return queue.size();
+    }
+
+    public long getEnqueued() {
+        return enqueued.get();
+    }
+
+    public long getDropped() {
+        return dropped.get();
+    }
+
+    public long getWritten() {
+        return written.get();
+    }
+
+    public long getFailedBatches() {
+        return failedBatches.get();
+    }
+}
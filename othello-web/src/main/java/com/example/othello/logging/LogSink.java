@@ -0,0 +1,13 @@
+package com.example.othello.logging;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Destination for batched log rows. Implementations must be safe to call from
+ * the pipeline's single flusher thread; throwing makes the pipeline retry the batch.
+ */
+public interface LogSink {
+
+    void append(List<List<Object>> rows) throws IOException;
+}
@@ -0,0 +1,118 @@
+package com.example.othello.model;
+
+import com.example.othello.engine.BitBoard;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compact wire form of a GameState, served for {@value #MEDIA_TYPE}.
+ *
+ * The board is a 64-character string in row-major order ('.' empty, 'B' black,
+ * 'W' white), the last move is a square index (row * 8 + col), and only history
+ * entries from {@code historyFrom} onward are sent: a client truncates its copy to
+ * {@code historyFrom} entries and appends {@code history}. The payload therefore
+ * stays the same size however long the game runs. {@code validMoves} lists the
+ * square indices the side to move may play, empty once the game is over.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class CompactGameState {
+
+    public static final String MEDIA_TYPE = "application/vnd.othello.compact+json";
+
+    private final String gameId;
+    private final String board;
+    private final int currentPlayer;
+    private final Integer lastMove;
+    private final Integer winner;
+    private final String blackPlayerName;
+    private final int historyFrom;
+    private final int historySize;
+    private final List<String> history;
+    private final List<Integer> validMoves;
+    private final Map<String, Object> aiSearch;
+
+    private CompactGameState(GameState state, int since) {
+        int size = state.historySize();
+        int from = Math.max(0, Math.min(since, size));
+        this.gameId = state.getGameId();
+        this.board = encodeBoard(state.getPosition());
+        this.currentPlayer = state.getCurrentPlayer();
+        this.lastMove = state.getLastMove() == null ? null : BitBoard.square(state.getLastMove()[0], state.getLastMove()[1]);
+        this.winner = state.getWinner();
+        this.blackPlayerName = state.getBlackPlayerName();
+        this.historyFrom = from;
+        this.historySize = size;
+        this.history = from == size ? Collections.emptyList() : state.historyFrom(from);
+        this.validMoves = squares(state.getWinner() != null ? 0 : state.legalMoves(state.getCurrentPlayer()));
+        this.aiSearch = state.getAiSearch();
+    }
+
+    /** Snapshot of {@code state} carrying only the history entries at index {@code since} and later. */
+    public static CompactGameState of(GameState state, int since) {
+        return new CompactGameState(state, since);
+    }
+
+    static String encodeBoard(BitBoard position) {
+        long black = position.getBlack(), white = position.getWhite();
+        char[] squares = new char[64];
+        for (int sq = 0; sq < 64; sq++) {
+            long bit = 1L << sq;
+            squares[sq] = (black & bit) != 0 ? 'B' : (white & bit) != 0 ? 'W' : '.';
+        }
+        return new String(squares);
+    }
+
+    private static List<Integer> squares(long mask) {
+        List<Integer> squares = new ArrayList<>(Long.bitCount(mask));
+        for (long m = mask; m != 0; m &= m - 1) squares.add(Long.numberOfTrailingZeros(m));
+        return squares;
+    }
+
+    public String getGameId() {
+        return gameId;
+    }
+
+    public String getBoard() {
+        return board;
+    }
+
+    public int getCurrentPlayer() {
+        return currentPlayer;
+    }
+
+    public Integer getLastMove() {
+        return lastMove;
+    }
+
+    public Integer getWinner() {
+        return winner;
+    }
+
+    public String getBlackPlayerName() {
+        return blackPlayerName;
+    }
+
+    public int getHistoryFrom() {
+        return historyFrom;
+    }
+
+    public int getHistorySize() {
+        return historySize;
+    }
+
+    public List<String> getHistory() {
+        return history;
+    }
+
+    public List<Integer> getValidMoves() {
+        return validMoves;
+    }
+
+    public Map<String, Object> getAiSearch() {
+        return aiSearch;
+    }
+}
@@ -0,0 +1,159 @@
+package com.example.othello.model;
+
+import com.example.othello.question.Question;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * One game held by the session registry: the board state plus the per-game
+ * duration tracking that used to live as fields on OthelloService.
+ * All mutation must happen while holding {@link #getLock()}.
+ */
+public class GameSession {
+
+    private final String gameId;
+    private final ReentrantLock lock = new ReentrantLock();
+    private volatile long lastAccessMillis = System.currentTimeMillis();
+
+    private GameState state;
+    // Coding question assigned when the game started; held here so serving it is a field read
+    private volatile Question question;
+
+    // ---------------- Duration tracking ----------------
+    private LocalDateTime gameStartTime;
+    private LocalDateTime gameEndTime;
+    private double lastCodeSubmitDurationMin;
+
+    private LocalDateTime codeStartTime;
+    private LocalDateTime codeEndTime;
+    private boolean codeStarted;
+
+    // ---------------- Persistence bookkeeping ----------------
+    // What GameStore has already queued for this game; -1 plies means the stored copy must be rewritten
+    private boolean persisted;
+    private int persistedPlies;
+    private Integer persistedWinner;
+    private String persistedPlayerName;
+
+    public GameSession(String gameId) {
+        this.gameId = gameId;
+        this.state = new GameState();
+        this.state.setGameId(gameId);
+    }
+
+    public String getGameId() {
+        return gameId;
+    }
+
+    public ReentrantLock getLock() {
+        return lock;
+    }
+
+    public long getLastAccessMillis() {
+        return lastAccessMillis;
+    }
+
+    public void touch() {
+        lastAccessMillis = System.currentTimeMillis();
+    }
+
+    public GameState getState() {
+        return state;
+    }
+
+    public void setState(GameState state) {
+        state.setGameId(gameId);
+        this.state = state;
+    }
+
+    public Question getQuestion() {
+        return question;
+    }
+
+    public void setQuestion(Question question) {
+        this.question = question;
+    }
+
+    /** Clears all duration tracking, used when a game is (re)started. */
+    public void resetTimers(LocalDateTime startTime) {
+        this.gameStartTime = startTime;
+        this.gameEndTime = null;
+        this.lastCodeSubmitDurationMin = 0.0;
+        this.codeStartTime = null;
+        this.codeEndTime = null;
+        this.codeStarted = false;
+    }
+
+    public LocalDateTime getGameStartTime() {
+        return gameStartTime;
+    }
+
+    public LocalDateTime getGameEndTime() {
+        return gameEndTime;
+    }
+
+    public void setGameEndTime(LocalDateTime gameEndTime) {
+        this.gameEndTime = gameEndTime;
+    }
+
+    public double getLastCodeSubmitDurationMin() {
+        return lastCodeSubmitDurationMin;
+    }
+
+    public void setLastCodeSubmitDurationMin(double lastCodeSubmitDurationMin) {
+        this.lastCodeSubmitDurationMin = lastCodeSubmitDurationMin;
+    }
+
+    public LocalDateTime getCodeStartTime() {
+        return codeStartTime;
+    }
+
+    public void setCodeStartTime(LocalDateTime codeStartTime) {
+        this.codeStartTime = codeStartTime;
+    }
+
+    public LocalDateTime getCodeEndTime() {
+        return codeEndTime;
+    }
+
+    public void setCodeEndTime(LocalDateTime codeEndTime) {
+        this.codeEndTime = codeEndTime;
+    }
+
+    public boolean isCodeStarted() {
+        return codeStarted;
+    }
+
+    public void setCodeStarted(boolean codeStarted) {
+        this.codeStarted = codeStarted;
+    }
+
+    public boolean isPersisted() {
+        return persisted;
+    }
+
+    public int getPersistedPlies() {
+        return persistedPlies;
+    }
+
+    public Integer getPersistedWinner() {
+        return persistedWinner;
+    }
+
+    public String getPersistedPlayerName() {
+        return persistedPlayerName;
+    }
+
+    public void markPersisted(int plies, Integer winner, String playerName) {
+        this.persisted = true;
+        this.persistedPlies = plies;
+        this.persistedWinner = winner;
+        this.persistedPlayerName = playerName;
+    }
+
+    public void markNeedsRewrite() {
+        this.persisted = false;
+        this.persistedPlies = -1;
+    }
+}
@@ -0,0 +1,160 @@
+package com.example.othello.model;
+
+import com.example.othello.engine.BitBoard;
+import com.example.othello.engine.MoveLog;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+public class GameState {
+    private String gameId;
+    // Canonical position; the int[][] board is only built for the JSON response
+    private BitBoard position;
+    private int currentPlayer;
+    private int[] lastMove;
+    private Integer winner;
+    private String blackPlayerName;
+    // One byte per ply; the moveHistory strings are generated from it when requested
+    private MoveLog moves = new MoveLog();
+    // Depth, nodes/sec etc. of the last AI search, null until the AI has moved
+    private Map<String, Object> aiSearch;
+
+    // Legal-move masks of both sides for the position (movesBlack, movesWhite) was computed on
+    private long movesBlack = -1, movesWhite = -1;
+    private long blackMoves, whiteMoves;
+
+    // Coding sandbox fields
+    private String currentQuestion;
+    private String currentAnswer;
+
+    public GameState() {
+        position = new BitBoard();
+        currentPlayer = 1;
+    }
+
+    public String getGameId() {
+        return gameId;
+    }
+    public void setGameId(String gameId) {
+        this.gameId = gameId;
+    }
+
+    @JsonIgnore
+    public BitBoard getPosition() {
+        return position;
+    }
+    public void setPosition(BitBoard position) {
+        this.position = position;
+    }
+
+    public int[][] getBoard() {
+        return position.toArray();
+    }
+    public void setBoard(int[][] board) {
+        this.position = BitBoard.fromArray(board);
+    }
+
+    public int getCurrentPlayer() {
+        return currentPlayer;
+    }
+    public void setCurrentPlayer(int currentPlayer) {
+        this.currentPlayer = currentPlayer;
+    }
+
+    public int[] getLastMove() {
+        return lastMove;
+    }
+    public void setLastMove(int[] lastMove) {
+        this.lastMove = lastMove;
+    }
+
+    public Integer getWinner() {
+        return winner;
+    }
+    public void setWinner(Integer winner) {
+        this.winner = winner;
+    }
+
+    public String getBlackPlayerName() {
+        return blackPlayerName;
+    }
+    public void setBlackPlayerName(String blackPlayerName) {
+        this.blackPlayerName = blackPlayerName;
+    }
+
+    @JsonIgnore
+    public MoveLog getMoves() {
+        return moves;
+    }
+    public void setMoves(MoveLog moves) {
+        this.moves = moves;
+    }
+
+    /**
+     * Legal squares of {@code player} as a bitboard. Both sides' masks are computed together
+     * the first time a position is asked about and reused until its discs change.
+     */
+    public long legalMoves(int player) {
+        long black = position.getBlack(), white = position.getWhite();
+        if (black != movesBlack || white != movesWhite) {
+            blackMoves = BitBoard.legalMoves(black, white);
+            whiteMoves = BitBoard.legalMoves(white, black);
+            movesBlack = black;
+            movesWhite = white;
+        }
+        return player == BitBoard.BLACK ? blackMoves : whiteMoves;
+    }
+
+    public boolean hasValidMove(int player) {
+        return legalMoves(player) != 0;
+    }
+
+    /** Move hints for the client: [row, col] of every legal square of the side to move, none once the game is over. */
+    public List<int[]> getValidMoves() {
+        List<int[]> squares = new ArrayList<>();
+        if (winner != null) return squares;
+        for (long m = legalMoves(currentPlayer); m != 0; m &= m - 1) {
+            int sq = Long.numberOfTrailingZeros(m);
+            squares.add(new int[]{sq >>> 3, sq & 7});
+        }
+        return squares;
+    }
+
+    public List<String> getMoveHistory() {
+        return historyFrom(0);
+    }
+
+    /** Number of history lines: one per ply, plus the result once the game is over. */
+    public int historySize() {
+        return moves.size() + (winner != null ? 1 : 0);
+    }
+
+    /** History lines from index {@code from} on, built from the move log. */
+    public List<String> historyFrom(int from) {
+        int total = historySize();
+        if (from >= total) return new ArrayList<>();
+        List<String> lines = moves.describe(Math.max(0, Math.min(from, moves.size())), moves.size());
+        if (winner != null) lines.add(resultLine());
+        return lines;
+    }
+
+    private String resultLine() {
+        int blackCount = position.count(BitBoard.BLACK);
+        int whiteCount = position.count(BitBoard.WHITE);
+        if (winner == BitBoard.BLACK) return "🏆 Black Wins! (" + blackCount + " vs " + whiteCount + ")";
+        if (winner == BitBoard.WHITE) return "🏆 White Wins! (" + whiteCount + " vs " + blackCount + ")";
+        return "🤝 It's a Draw!";
+    }
+
+    public Map<String, Object> getAiSearch() {
+        return aiSearch;
+    }
+    public void setAiSearch(Map<String, Object> aiSearch) {
+        this.aiSearch = aiSearch;
+    }
+
+
+}
+
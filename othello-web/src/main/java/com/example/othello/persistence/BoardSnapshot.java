@@ -0,0 +1,84 @@
+package com.example.othello.persistence;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+
+import java.time.LocalDateTime;
+
+/**
+ * Position after {@code ply} plies, with the move log up to that point, so a game
+ * resumes from one row plus the moves played since instead of a full replay.
+ */
+@Entity
+@Table(name = "board_snapshots", indexes = @Index(name = "idx_board_snapshots_game_ply", columnList = "game_id, ply"))
+public class BoardSnapshot {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "board_snapshot_seq")
+    @SequenceGenerator(name = "board_snapshot_seq", sequenceName = "board_snapshot_seq", allocationSize = 20)
+    private Long id;
+
+    @Column(name = "game_id", length = 64, nullable = false)
+    private String gameId;
+
+    @Column(nullable = false)
+    private int ply;
+
+    @Column(nullable = false)
+    private long black;
+
+    @Column(nullable = false)
+    private long white;
+
+    /** {@link com.example.othello.engine.MoveLog#toByteArray()} of the first {@code ply} plies. */
+    @Column(length = 128, nullable = false)
+    private byte[] moveLog;
+
+    private LocalDateTime createdAt;
+
+    protected BoardSnapshot() {
+    }
+
+    public BoardSnapshot(String gameId, int ply, long black, long white, byte[] moveLog, LocalDateTime createdAt) {
+        this.gameId = gameId;
+        this.ply = ply;
+        this.black = black;
+        this.white = white;
+        this.moveLog = moveLog;
+        this.createdAt = createdAt;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getGameId() {
+        return gameId;
+    }
+
+    public int getPly() {
+        return ply;
+    }
+
+    public long getBlack() {
+        return black;
+    }
+
+    public long getWhite() {
+        return white;
+    }
+
+    public byte[] getMoveLog() {
+        return moveLog;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+}
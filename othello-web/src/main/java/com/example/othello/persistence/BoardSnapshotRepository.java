@@ -0,0 +1,18 @@
+package com.example.othello.persistence;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Optional;
+
+public interface BoardSnapshotRepository extends JpaRepository<BoardSnapshot, Long> {
+
+    Optional<BoardSnapshot> findTopByGameIdOrderByPlyDesc(String gameId);
+
+    /** Removes snapshots taken after ply {@code ply}, which an undo has made stale. */
+    @Modifying
+    @Query("delete from BoardSnapshot s where s.gameId = :gameId and s.ply > :ply")
+    int deleteAfterPly(@Param("gameId") String gameId, @Param("ply") int ply);
+}
@@ -0,0 +1,89 @@
+package com.example.othello.persistence;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Lob;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+
+import java.time.LocalDateTime;
+
+/** One graded code submission. */
+@Entity
+@Table(name = "code_submissions", indexes = @Index(name = "idx_code_submissions_game", columnList = "game_id"))
+public class CodeSubmissionRecord {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "code_submission_seq")
+    @SequenceGenerator(name = "code_submission_seq", sequenceName = "code_submission_seq", allocationSize = 20)
+    private Long id;
+
+    @Column(name = "game_id", length = 64, nullable = false)
+    private String gameId;
+
+    private String playerName;
+
+    @Column(length = 2000)
+    private String question;
+
+    @Lob
+    private String code;
+
+    private int passed;
+    private int total;
+    private LocalDateTime submittedAt;
+
+    protected CodeSubmissionRecord() {
+    }
+
+    public CodeSubmissionRecord(String gameId, String playerName, String question, String code,
+                                int passed, int total, LocalDateTime submittedAt) {
+        this.gameId = gameId;
+        this.playerName = playerName;
+        this.question = question;
+        this.code = code;
+        this.passed = passed;
+        this.total = total;
+        this.submittedAt = submittedAt;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getGameId() {
+        return gameId;
+    }
+
+    public String getPlayerName() {
+        return playerName;
+    }
+
+    public String getQuestion() {
+        return question;
+    }
+
+    public String getCode() {
+        return code;
+    }
+
+    public int getPassed() {
+        return passed;
+    }
+
+    public int getTotal() {
+        return total;
+    }
+
+    public boolean isSuccess() {
+        return total > 0 && passed == total;
+    }
+
+    public LocalDateTime getSubmittedAt() {
+        return submittedAt;
+    }
+}
@@ -0,0 +1,10 @@
+package com.example.othello.persistence;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+
+public interface CodeSubmissionRepository extends JpaRepository<CodeSubmissionRecord, Long> {
+
+    List<CodeSubmissionRecord> findByGameIdOrderBySubmittedAtAsc(String gameId);
+}
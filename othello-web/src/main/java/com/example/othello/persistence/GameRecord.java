@@ -0,0 +1,78 @@
+package com.example.othello.persistence;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+import java.time.LocalDateTime;
+
+/**
+ * One row per game. Moves and board snapshots hang off it by game id; this row
+ * only carries what the move log cannot rebuild.
+ */
+@Entity
+@Table(name = "games")
+public class GameRecord {
+
+    @Id
+    @Column(name = "game_id", length = 64)
+    private String gameId;
+
+    private String blackPlayerName;
+    private Integer winner;
+    private LocalDateTime startedAt;
+    private LocalDateTime endedAt;
+    private LocalDateTime updatedAt;
+
+    protected GameRecord() {
+    }
+
+    public GameRecord(String gameId) {
+        this.gameId = gameId;
+    }
+
+    public String getGameId() {
+        return gameId;
+    }
+
+    public String getBlackPlayerName() {
+        return blackPlayerName;
+    }
+
+    public void setBlackPlayerName(String blackPlayerName) {
+        this.blackPlayerName = blackPlayerName;
+    }
+
+    public Integer getWinner() {
+        return winner;
+    }
+
+    public void setWinner(Integer winner) {
+        this.winner = winner;
+    }
+
+    public LocalDateTime getStartedAt() {
+        return startedAt;
+    }
+
+    public void setStartedAt(LocalDateTime startedAt) {
+        this.startedAt = startedAt;
+    }
+
+    public LocalDateTime getEndedAt() {
+        return endedAt;
+    }
+
+    public void setEndedAt(LocalDateTime endedAt) {
+        this.endedAt = endedAt;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
@@ -0,0 +1,6 @@
+package com.example.othello.persistence;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface GameRecordRepository extends JpaRepository<GameRecord, String> {
+}
@@ -0,0 +1,370 @@
+package com.example.othello.persistence;
+
+import com.example.othello.engine.BitBoard;
+import com.example.othello.engine.MoveLog;
+import com.example.othello.model.GameSession;
+import com.example.othello.model.GameState;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Write-behind persistence for games, moves and code submissions.
+ *
+ * {@link #save} is called under the game lock after every change. It works out
+ * what is new since the last call (plies appended, plies undone, metadata) and
+ * queues the writes. It never touches the database itself. A single writer thread
+ * drains the queue and commits whatever has piled up in one transaction, so under
+ * load many moves share a commit.
+ *
+ * Every {@code snapshot-interval} plies, and when a game ends, a board snapshot is
+ * written as well. {@link #load} resumes a game from its latest snapshot plus the
+ * moves played since, waiting only for that game's own queued writes, if it has any.
+ * If a write is lost (full queue, failed commit), the game is rewritten as a single
+ * snapshot on its next save.
+ */
+@Service
+public class GameStore {
+
+    @Value("${othello.persistence.enabled:true}")
+    private boolean enabled;
+
+    @Value("${othello.persistence.queue-capacity:10000}")
+    private int queueCapacity;
+
+    @Value("${othello.persistence.batch-size:200}")
+    private int batchSize;
+
+    @Value("${othello.persistence.snapshot-interval:10}")
+    private int snapshotInterval;
+
+    @Value("${othello.persistence.load-wait-ms:2000}")
+    private long loadWaitMs;
+
+    @Autowired
+    private GameRecordRepository games;
+
+    @Autowired
+    private MoveRecordRepository moves;
+
+    @Autowired
+    private BoardSnapshotRepository snapshots;
+
+    @Autowired
+    private CodeSubmissionRepository submissions;
+
+    @Autowired
+    private TransactionTemplate transactions;
+
+    /** Queued work for one game, applied in order on the writer thread. */
+    private static final class Write {
+        final String gameId;
+        final Runnable action;
+
+        Write(String gameId, Runnable action) {
+            this.gameId = gameId;
+            this.action = action;
+        }
+    }
+
+    private BlockingQueue<Write> queue;
+    private Thread writer;
+    private volatile boolean running;
+
+    // Games whose stored copy missed a write and must be rewritten on their next save
+    private final Set<String> resync = ConcurrentHashMap.newKeySet();
+    // Writes of each game still queued or being committed; absent once none are left
+    private final ConcurrentHashMap<String, Integer> pending = new ConcurrentHashMap<>();
+
+    private final AtomicLong applied = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final Object progress = new Object();
+
+    @PostConstruct
+    void start() {
+        if (!enabled) return;
+        queue = new ArrayBlockingQueue<>(queueCapacity);
+        running = true;
+        writer = new Thread(this::run, "othello-db-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    // ---------------- Saving ----------------
+    /** Queues whatever changed in the session since the last call. Caller holds the session lock. */
+    public void save(GameSession session) {
+        if (!enabled) return;
+        String gameId = session.getGameId();
+        GameState state = session.getState();
+        MoveLog log = state.getMoves();
+        int size = log.size();
+        int persisted = session.getPersistedPlies();
+        Integer winner = state.getWinner();
+        String playerName = state.getBlackPlayerName();
+
+        boolean rewrite = resync.remove(gameId) || persisted < 0;
+        boolean metaChanged = !session.isPersisted()
+                || !Objects.equals(winner, session.getPersistedWinner())
+                || !Objects.equals(playerName, session.getPersistedPlayerName());
+        if (!rewrite && !metaChanged && size == persisted) return;
+
+        LocalDateTime now = LocalDateTime.now();
+        List<Runnable> actions = new ArrayList<>(3);
+        if (rewrite || metaChanged) {
+            LocalDateTime startedAt = session.getGameStartTime(), endedAt = session.getGameEndTime();
+            actions.add(() -> upsertGame(gameId, playerName, winner, startedAt, endedAt, now));
+        }
+        if (rewrite) {
+            BoardSnapshot snapshot = snapshot(gameId, state, now);
+            actions.add(() -> {
+                moves.deleteFromPly(gameId, 0);
+                snapshots.deleteAfterPly(gameId, -1);
+                snapshots.save(snapshot);
+            });
+        } else {
+            if (size < persisted) {
+                actions.add(() -> {
+                    moves.deleteFromPly(gameId, size);
+                    snapshots.deleteAfterPly(gameId, size);
+                });
+            }
+            if (size > persisted) {
+                List<MoveRecord> tail = new ArrayList<>(size - persisted);
+                for (int ply = persisted; ply < size; ply++) {
+                    tail.add(new MoveRecord(gameId, ply, log.square(ply), log.isAi(ply), now));
+                }
+                actions.add(() -> moves.saveAll(tail));
+            }
+            boolean crossedInterval = size > persisted && size / snapshotInterval > persisted / snapshotInterval;
+            boolean finished = winner != null && !winner.equals(session.getPersistedWinner());
+            if (crossedInterval || finished) {
+                BoardSnapshot snapshot = snapshot(gameId, state, now);
+                actions.add(() -> snapshots.save(snapshot));
+            }
+        }
+
+        if (offer(new Write(gameId, () -> actions.forEach(Runnable::run)))) {
+            session.markPersisted(size, winner, playerName);
+        } else {
+            session.markNeedsRewrite();
+        }
+    }
+
+    public void saveSubmission(String gameId, String playerName, String question, String code, int passed, int total) {
+        if (!enabled) return;
+        CodeSubmissionRecord record = new CodeSubmissionRecord(gameId, playerName, question, code, passed, total,
+                LocalDateTime.now());
+        offer(new Write(gameId, () -> submissions.save(record)));
+    }
+
+    private boolean offer(Write write) {
+        // Counted before it is queued, so the writer can never commit it first
+        pending.merge(write.gameId, 1, Integer::sum);
+        if (!running || !queue.offer(write)) {
+            // Earlier writes of the game may still be queued: only this one is uncounted
+            settle(write.gameId);
+            dropped.incrementAndGet();
+            System.err.println("⚠️ Persistence queue full, write for game " + write.gameId + " deferred");
+            return false;
+        }
+        return true;
+    }
+
+    private void settle(String gameId) {
+        pending.computeIfPresent(gameId, (id, count) -> count > 1 ? count - 1 : null);
+    }
+
+    private static BoardSnapshot snapshot(String gameId, GameState state, LocalDateTime now) {
+        BitBoard position = state.getPosition();
+        byte[] log = state.getMoves().toByteArray();
+        return new BoardSnapshot(gameId, log.length, position.getBlack(), position.getWhite(), log, now);
+    }
+
+    private void upsertGame(String gameId, String playerName, Integer winner,
+                            LocalDateTime startedAt, LocalDateTime endedAt, LocalDateTime now) {
+        GameRecord record = games.findById(gameId).orElseGet(() -> new GameRecord(gameId));
+        record.setBlackPlayerName(playerName);
+        record.setWinner(winner);
+        record.setStartedAt(startedAt);
+        record.setEndedAt(endedAt);
+        record.setUpdatedAt(now);
+        games.save(record);
+    }
+
+    // ---------------- Writer ----------------
+    private void run() {
+        List<Write> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                Write first = queue.poll(500, TimeUnit.MILLISECONDS);
+                if (first == null) continue;
+                batch.add(first);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            // Whatever queued up during the previous commit goes into this one
+            queue.drainTo(batch, Math.max(1, batchSize) - batch.size());
+            if (!batch.isEmpty()) {
+                commit(batch);
+                batch.clear();
+            }
+        }
+    }
+
+    private void commit(List<Write> batch) {
+        try {
+            transactions.executeWithoutResult(tx -> batch.forEach(w -> w.action.run()));
+        } catch (RuntimeException e) {
+            // The whole batch rolled back; retry one write at a time so a bad one does not sink the rest
+            for (Write w : batch) {
+                try {
+                    transactions.executeWithoutResult(tx -> w.action.run());
+                } catch (RuntimeException ex) {
+                    failed.incrementAndGet();
+                    resync.add(w.gameId);
+                    System.err.println("❌ Failed to persist game " + w.gameId + ": " + ex.getMessage());
+                }
+            }
+        }
+        applied.addAndGet(batch.size());
+        // A game stays pending while any of its writes is still queued
+        for (Write w : batch) settle(w.gameId);
+        synchronized (progress) {
+            progress.notifyAll();
+        }
+    }
+
+    // ---------------- Loading ----------------
+    /**
+     * Rebuilds a stored game, or returns null if the game was never saved. If the game still
+     * has writes queued, they are given up to {@code load-wait-ms} to land first, so a game
+     * that was just evicted comes back with its latest moves. Other games' writes are never
+     * waited for, and an id with nothing queued goes straight to the database.
+     */
+    public GameSession load(String gameId) {
+        if (!enabled) return null;
+        awaitQueuedWrites(gameId);
+        try {
+            return transactions.execute(tx -> restore(gameId));
+        } catch (RuntimeException e) {
+            System.err.println("❌ Failed to load game " + gameId + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    private GameSession restore(String gameId) {
+        GameRecord record = games.findById(gameId).orElse(null);
+        if (record == null) return null;
+
+        BoardSnapshot snapshot = snapshots.findTopByGameIdOrderByPlyDesc(gameId).orElse(null);
+        MoveLog log = snapshot != null ? MoveLog.fromByteArray(snapshot.getMoveLog()) : new MoveLog();
+        BitBoard position = snapshot != null ? new BitBoard(snapshot.getBlack(), snapshot.getWhite()) : new BitBoard();
+
+        List<MoveRecord> tail = moves.findByGameIdAndPlyGreaterThanEqualOrderByPlyAsc(gameId, log.size());
+        int used = 0;
+        for (MoveRecord move : tail) {
+            // Stop at a gap or anything that does not follow on; a later save rewrites the stored copy
+            if (move.getPly() != log.size()) break;
+            int sq = move.getSquare();
+            if (sq == MoveLog.PASS) {
+                log.addPass(move.isAi());
+            } else {
+                if (!position.applyMove(sq >>> 3, sq & 7, MoveLog.mover(move.getPly()))) break;
+                log.addMove(sq, move.isAi());
+            }
+            used++;
+        }
+
+        GameSession session = new GameSession(gameId);
+        GameState state = session.getState();
+        state.setPosition(position);
+        state.setMoves(log);
+        state.setCurrentPlayer(MoveLog.mover(log.size()));
+        state.setBlackPlayerName(record.getBlackPlayerName());
+        if (!position.hasValidMove(BitBoard.BLACK) && !position.hasValidMove(BitBoard.WHITE)) {
+            int diff = position.count(BitBoard.BLACK) - position.count(BitBoard.WHITE);
+            state.setWinner(diff > 0 ? BitBoard.BLACK : diff < 0 ? BitBoard.WHITE : 0);
+        }
+        // lastMove tracks the AI's move, as it does during play
+        for (int ply = log.size() - 1; ply >= 0; ply--) {
+            if (log.isAi(ply) && !log.isPass(ply)) {
+                state.setLastMove(new int[]{log.square(ply) >>> 3, log.square(ply) & 7});
+                break;
+            }
+        }
+
+        session.resetTimers(record.getStartedAt());
+        session.setGameEndTime(record.getEndedAt());
+        if (used == tail.size() && Objects.equals(record.getWinner(), state.getWinner())) {
+            session.markPersisted(log.size(), state.getWinner(), state.getBlackPlayerName());
+        } else {
+            session.markNeedsRewrite();
+        }
+        System.out.println("💾 Resumed game " + gameId + " at ply " + log.size()
+                + (snapshot != null ? " (snapshot at " + snapshot.getPly() + " + " + used + " moves)" : ""));
+        return session;
+    }
+
+    private void awaitQueuedWrites(String gameId) {
+        if (!pending.containsKey(gameId)) return;
+        long deadline = System.currentTimeMillis() + loadWaitMs;
+        synchronized (progress) {
+            while (pending.containsKey(gameId)) {
+                long wait = deadline - System.currentTimeMillis();
+                if (wait <= 0) return;
+                try {
+                    progress.wait(wait);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (!enabled) return;
+        // No interrupt: H2 closes its file store if a thread is interrupted mid-write.
+        // The writer notices within one poll and drains the queue before exiting.
+        running = false;
+        try {
+            writer.join(10_000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // ---------------- Stats ----------------
+    public int getQueueDepth() {
+        return queue == null ? 0 : queue.size();
+    }
+
+    public long getApplied() {
+        return applied.get();
+    }
+
+    public long getDropped() {
+        return dropped.get();
+    }
+
+    public long getFailed() {
+        return failed.get();
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.othello.persistence;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+
+import java.time.LocalDateTime;
+
+/**
+ * Append-only move table: one row per ply, mirroring a {@link com.example.othello.engine.MoveLog}
+ * entry. Rows are only deleted when a game is undone or reset.
+ */
+@Entity
+@Table(name = "game_moves", indexes = @Index(name = "idx_game_moves_game_ply", columnList = "game_id, ply"))
+public class MoveRecord {
+
+    // Pooled sequence so a batch of inserts does not need a round trip per id
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "game_move_seq")
+    @SequenceGenerator(name = "game_move_seq", sequenceName = "game_move_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "game_id", length = 64, nullable = false)
+    private String gameId;
+
+    @Column(nullable = false)
+    private int ply;
+
+    /** {@code row * 8 + col}, or {@link com.example.othello.engine.MoveLog#PASS}. */
+    @Column(nullable = false)
+    private int square;
+
+    @Column(nullable = false)
+    private boolean ai;
+
+    private LocalDateTime playedAt;
+
+    protected MoveRecord() {
+    }
+
+    public MoveRecord(String gameId, int ply, int square, boolean ai, LocalDateTime playedAt) {
+        this.gameId = gameId;
+        this.ply = ply;
+        this.square = square;
+        this.ai = ai;
+        this.playedAt = playedAt;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getGameId() {
+        return gameId;
+    }
+
+    public int getPly() {
+        return ply;
+    }
+
+    public int getSquare() {
+        return square;
+    }
+
+    public boolean isAi() {
+        return ai;
+    }
+
+    public LocalDateTime getPlayedAt() {
+        return playedAt;
+    }
+}
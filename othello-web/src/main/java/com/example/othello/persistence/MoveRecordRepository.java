@@ -0,0 +1,18 @@
+package com.example.othello.persistence;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+public interface MoveRecordRepository extends JpaRepository<MoveRecord, Long> {
+
+    List<MoveRecord> findByGameIdAndPlyGreaterThanEqualOrderByPlyAsc(String gameId, int ply);
+
+    /** Removes ply {@code ply} and everything after it (undo and reset). */
+    @Modifying
+    @Query("delete from MoveRecord m where m.gameId = :gameId and m.ply >= :ply")
+    int deleteFromPly(@Param("gameId") String gameId, @Param("ply") int ply);
+}
@@ -0,0 +1,38 @@
+package com.example.othello.question;
+
+import java.util.List;
+
+/**
+ * One coding question of the bank: the prompt shown to Black, its tags and its
+ * test case lines (in {@link com.example.othello.judge.TestCase#parse} form).
+ */
+public final class Question {
+
+    private final String id;
+    private final String text;
+    private final List<String> tags;
+    private final List<String> testCases;
+
+    public Question(String id, String text, List<String> tags, List<String> testCases) {
+        this.id = id;
+        this.text = text;
+        this.tags = List.copyOf(tags);
+        this.testCases = List.copyOf(testCases);
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String getText() {
+        return text;
+    }
+
+    public List<String> getTags() {
+        return tags;
+    }
+
+    public List<String> getTestCases() {
+        return testCases;
+    }
+}
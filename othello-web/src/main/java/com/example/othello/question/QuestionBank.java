@@ -0,0 +1,485 @@
+package com.example.othello.question;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/**
+ * Coding questions indexed by id and tag, with their bodies kept on disk.
+ *
+ * Uploads are parsed as they stream in and each question is appended to a spool
+ * file; only the index (id to file offset, tag to ids) stays in memory. Question
+ * bodies are read back on demand and the most recently used ones are kept in a
+ * bounded LRU cache. New games draw questions round-robin from the latest upload,
+ * or from a tag, and keep the {@link Question} they were given, so serving a
+ * game's question never touches the bank again.
+ *
+ * Two upload formats are understood:
+ * <ul>
+ *   <li>Text: questions separated by {@code ---} lines. In each block the first
+ *   line is the question and the following lines are test cases; optional
+ *   {@code @id} and {@code @tags a, b} lines name and tag it.</li>
+ *   <li>Workbook (.xlsx): the first sheet, with a header row naming the columns
+ *   Question, and optionally Id, Code, Tags, TestCases (one per line), OptionA..OptionD
+ *   and CorrectAnswer. A multiple-choice row without test cases is graded by one
+ *   test expecting the text of the correct option.</li>
+ * </ul>
+ * Re-uploading an id replaces that question; the old copy stays in the spool until restart.
+ */
+public class QuestionBank implements AutoCloseable {
+
+    private static final String SEPARATOR = "---";
+    private static final String MULTIPLE_CHOICE_TAG = "multiple-choice";
+
+    private record Entry(long offset, int length) {
+    }
+
+    private final FileChannel spool;
+    private final int maxTestCases;
+    private long spoolSize;
+
+    private final Map<String, Entry> byId = new ConcurrentHashMap<>();
+    // Lists are replaced, never modified, so readers need no lock
+    private final Map<String, List<String>> byTag = new ConcurrentHashMap<>();
+    private volatile List<String> latest = Collections.emptyList();
+    private final AtomicInteger nextIndex = new AtomicInteger();
+
+    private final Map<String, Question> cache;
+    private final AtomicLong cacheHits = new AtomicLong();
+    private final AtomicLong cacheMisses = new AtomicLong();
+
+    public QuestionBank(Path spoolFile, int cacheSize, int maxTestCases) throws IOException {
+        if (spoolFile.getParent() != null) Files.createDirectories(spoolFile.getParent());
+        // The spool is scratch space: the bank is rebuilt from its sources on every start
+        this.spool = FileChannel.open(spoolFile, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        this.maxTestCases = maxTestCases;
+        int capacity = Math.max(1, cacheSize);
+        this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Question> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    // ---------------- Lookup ----------------
+    /** The question with this id, or null. */
+    public Question get(String id) {
+        if (id == null) return null;
+        synchronized (cache) {
+            Question cached = cache.get(id);
+            if (cached != null) {
+                cacheHits.incrementAndGet();
+                return cached;
+            }
+        }
+        Entry entry = byId.get(id);
+        if (entry == null) return null;
+        cacheMisses.incrementAndGet();
+        Question question;
+        try {
+            question = read(entry);
+        } catch (IOException e) {
+            System.err.println("❌ Failed to read question " + id + ": " + e.getMessage());
+            return null;
+        }
+        synchronized (cache) {
+            // A concurrent re-upload may have moved the id; only cache the copy the index still points at
+            if (byId.get(id) == entry) cache.put(id, question);
+        }
+        return question;
+    }
+
+    /**
+     * The next question for a new game: round-robin over the ids tagged {@code tag}, or
+     * over the latest upload when no tag is given. Null when there is nothing to pick.
+     */
+    public Question next(String tag) {
+        List<String> ids = tag == null || tag.isBlank() ? latest : byTag.getOrDefault(normalizeTag(tag), List.of());
+        if (ids.isEmpty()) return null;
+        return get(ids.get(Math.floorMod(nextIndex.getAndIncrement(), ids.size())));
+    }
+
+    /** The question the next untagged game would get, without advancing the rotation. */
+    public Question peek() {
+        List<String> ids = latest;
+        return ids.isEmpty() ? null : get(ids.get(Math.floorMod(nextIndex.get(), ids.size())));
+    }
+
+    public List<String> idsTagged(String tag) {
+        return byTag.getOrDefault(normalizeTag(tag), List.of());
+    }
+
+    public int size() {
+        return byId.size();
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("questions", byId.size());
+        stats.put("latestUpload", latest.size());
+        Map<String, Integer> tags = new TreeMap<>();
+        byTag.forEach((tag, ids) -> tags.put(tag, ids.size()));
+        stats.put("tags", tags);
+        synchronized (cache) {
+            stats.put("cached", cache.size());
+        }
+        stats.put("cacheHits", cacheHits.get());
+        stats.put("cacheMisses", cacheMisses.get());
+        synchronized (this) {
+            stats.put("spoolBytes", spoolSize);
+        }
+        return stats;
+    }
+
+    // ---------------- Ingest ----------------
+    /** Streams a text upload into the bank; returns the number of questions added. */
+    public int ingestText(InputStream in, String source) throws IOException {
+        Batch batch = new Batch(source);
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        String id = null, text = null;
+        List<String> tags = new ArrayList<>();
+        List<String> tests = new ArrayList<>();
+        String line;
+        while (true) {
+            line = reader.readLine();
+            if (line == null || line.trim().equals(SEPARATOR)) {
+                if (text != null) batch.add(id, text, tags, tests);
+                if (line == null) break;
+                id = null;
+                text = null;
+                tags = new ArrayList<>();
+                tests = new ArrayList<>();
+                continue;
+            }
+            String trimmed = line.trim();
+            if (trimmed.isEmpty()) continue;
+            if (trimmed.startsWith("@id ")) {
+                id = trimmed.substring(4).trim();
+            } else if (trimmed.startsWith("@tags ")) {
+                for (String tag : trimmed.substring(6).split(",")) if (!tag.isBlank()) tags.add(tag);
+            } else if (text == null) {
+                text = trimmed;
+            } else {
+                tests.add(trimmed);
+            }
+        }
+        return batch.commit();
+    }
+
+    /**
+     * Streams the first sheet of an .xlsx workbook into the bank; returns the number of
+     * questions added. The zip is spooled to a temporary file because the shared string
+     * table, which the rows refer to, may come after the sheet in the archive.
+     */
+    public int ingestWorkbook(InputStream in, String source) throws IOException {
+        Path zip = Files.createTempFile("questions", ".xlsx");
+        try {
+            Files.copy(in, zip, StandardCopyOption.REPLACE_EXISTING);
+            try (ZipFile workbook = new ZipFile(zip.toFile())) {
+                List<String> shared = sharedStrings(workbook);
+                ZipEntry sheet = firstSheet(workbook);
+                if (sheet == null) throw new IOException("Workbook has no worksheet");
+                try (InputStream sheetIn = workbook.getInputStream(sheet)) {
+                    return ingestSheet(sheetIn, shared, new Batch(source));
+                }
+            }
+        } catch (XMLStreamException e) {
+            throw new IOException("Malformed workbook: " + e.getMessage(), e);
+        } finally {
+            Files.deleteIfExists(zip);
+        }
+    }
+
+    private int ingestSheet(InputStream in, List<String> shared, Batch batch) throws XMLStreamException, IOException {
+        XMLStreamReader xml = xmlFactory().createXMLStreamReader(in);
+        Map<String, Integer> columns = null;
+        Map<Integer, String> row = new HashMap<>();
+        int column = -1;
+        String type = null;
+        StringBuilder value = new StringBuilder();
+        boolean inValue = false;
+        while (xml.hasNext()) {
+            int event = xml.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                switch (xml.getLocalName()) {
+                    case "row":
+                        row.clear();
+                        column = -1;
+                        break;
+                    case "c":
+                        String ref = xml.getAttributeValue(null, "r");
+                        column = ref != null ? columnIndex(ref) : column + 1;
+                        type = xml.getAttributeValue(null, "t");
+                        value.setLength(0);
+                        break;
+                    case "v":
+                    case "t":
+                        inValue = true;
+                        break;
+                    default:
+                }
+            } else if (event == XMLStreamConstants.CHARACTERS || event == XMLStreamConstants.CDATA) {
+                if (inValue) value.append(xml.getText());
+            } else if (event == XMLStreamConstants.END_ELEMENT) {
+                switch (xml.getLocalName()) {
+                    case "v":
+                    case "t":
+                        inValue = false;
+                        break;
+                    case "c":
+                        String cell = "s".equals(type) ? shared.get(Integer.parseInt(value.toString().trim())) : value.toString();
+                        if (!cell.isBlank()) row.put(column, cell);
+                        break;
+                    case "row":
+                        if (columns == null) {
+                            columns = new HashMap<>();
+                            for (Map.Entry<Integer, String> header : row.entrySet()) {
+                                columns.put(header.getValue().replaceAll("\\s+", "").toLowerCase(Locale.ROOT), header.getKey());
+                            }
+                            if (!columns.containsKey("question")) throw new IOException("Sheet has no Question column");
+                        } else {
+                            addRow(batch, columns, row);
+                        }
+                        break;
+                    default:
+                }
+            }
+        }
+        xml.close();
+        return batch.commit();
+    }
+
+    private void addRow(Batch batch, Map<String, Integer> columns, Map<Integer, String> row) throws IOException {
+        String question = cell(columns, row, "question");
+        if (question == null) return;
+        StringBuilder text = new StringBuilder(question.trim());
+        String code = cell(columns, row, "code");
+        if (code != null) text.append("\n\n").append(code);
+
+        List<String> tags = new ArrayList<>();
+        String tagCell = cell(columns, row, "tags");
+        if (tagCell != null) for (String tag : tagCell.split(",")) if (!tag.isBlank()) tags.add(tag);
+
+        // Options A, B, ... while the columns last
+        Map<String, String> options = new LinkedHashMap<>();
+        for (char letter = 'a'; letter <= 'z'; letter++) {
+            if (!columns.containsKey("option" + letter)) break;
+            String option = cell(columns, row, "option" + letter);
+            if (option != null) options.put(String.valueOf(letter), option.trim());
+        }
+        if (!options.isEmpty()) {
+            tags.add(MULTIPLE_CHOICE_TAG);
+            text.append("\n");
+            options.forEach((letter, option) -> text.append("\n").append(letter.toUpperCase(Locale.ROOT)).append(") ").append(option));
+        }
+
+        List<String> tests = new ArrayList<>();
+        String testCell = cell(columns, row, "testcases");
+        if (testCell != null) {
+            for (String line : testCell.split("\\R")) if (!line.isBlank()) tests.add(line.trim());
+        }
+        String answer = cell(columns, row, "correctanswer");
+        if (tests.isEmpty() && answer != null) {
+            String expected = options.getOrDefault(answer.trim().toLowerCase(Locale.ROOT), answer.trim());
+            tests.add(" => " + expected.replace("\n", "\\n"));
+        }
+        batch.add(cell(columns, row, "id"), text.toString(), tags, tests);
+    }
+
+    private static String cell(Map<String, Integer> columns, Map<Integer, String> row, String name) {
+        Integer column = columns.get(name);
+        return column == null ? null : row.get(column);
+    }
+
+    private static int columnIndex(String ref) {
+        int index = 0;
+        for (int i = 0; i < ref.length() && Character.isLetter(ref.charAt(i)); i++) {
+            index = index * 26 + (Character.toUpperCase(ref.charAt(i)) - 'A' + 1);
+        }
+        return index - 1;
+    }
+
+    private static List<String> sharedStrings(ZipFile workbook) throws IOException, XMLStreamException {
+        ZipEntry entry = workbook.getEntry("xl/sharedStrings.xml");
+        List<String> strings = new ArrayList<>();
+        if (entry == null) return strings;
+        try (InputStream in = workbook.getInputStream(entry)) {
+            XMLStreamReader xml = xmlFactory().createXMLStreamReader(in);
+            StringBuilder value = new StringBuilder();
+            boolean inText = false;
+            while (xml.hasNext()) {
+                int event = xml.next();
+                if (event == XMLStreamConstants.START_ELEMENT) {
+                    if (xml.getLocalName().equals("si")) value.setLength(0);
+                    else if (xml.getLocalName().equals("t")) inText = true;
+                } else if (event == XMLStreamConstants.CHARACTERS || event == XMLStreamConstants.CDATA) {
+                    if (inText) value.append(xml.getText());
+                } else if (event == XMLStreamConstants.END_ELEMENT) {
+                    if (xml.getLocalName().equals("t")) inText = false;
+                    else if (xml.getLocalName().equals("si")) strings.add(value.toString());
+                }
+            }
+            xml.close();
+        }
+        return strings;
+    }
+
+    private static ZipEntry firstSheet(ZipFile workbook) {
+        ZipEntry first = workbook.getEntry("xl/worksheets/sheet1.xml");
+        if (first != null) return first;
+        for (Enumeration<? extends ZipEntry> e = workbook.entries(); e.hasMoreElements(); ) {
+            ZipEntry entry = e.nextElement();
+            if (entry.getName().startsWith("xl/worksheets/") && entry.getName().endsWith(".xml")) return entry;
+        }
+        return null;
+    }
+
+    private static XMLInputFactory xmlFactory() {
+        XMLInputFactory factory = XMLInputFactory.newInstance();
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        return factory;
+    }
+
+    private static String normalizeTag(String tag) {
+        return tag.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /** Questions of one upload; they are spooled as they arrive and indexed together at the end. */
+    private final class Batch {
+        private final String source;
+        private final Map<String, Entry> entries = new LinkedHashMap<>();
+        private final Map<String, List<String>> tags = new HashMap<>();
+
+        Batch(String source) {
+            this.source = source;
+        }
+
+        void add(String id, String text, List<String> questionTags, List<String> tests) throws IOException {
+            if (id == null || id.isBlank()) id = source + "-" + (entries.size() + 1);
+            List<String> normalized = new ArrayList<>();
+            for (String tag : questionTags) {
+                String t = normalizeTag(tag);
+                if (!normalized.contains(t)) normalized.add(t);
+            }
+            List<String> kept = tests.size() > maxTestCases ? tests.subList(0, maxTestCases) : tests;
+            Question question = new Question(id.trim(), text, normalized, kept);
+            entries.put(question.getId(), write(question));
+            for (String t : normalized) tags.computeIfAbsent(t, k -> new ArrayList<>()).add(question.getId());
+        }
+
+        int commit() {
+            if (entries.isEmpty()) return 0;
+            synchronized (QuestionBank.this) {
+                index();
+            }
+            System.out.println("✅ Indexed " + entries.size() + " question(s) from " + source
+                    + " (bank: " + byId.size() + ")");
+            return entries.size();
+        }
+
+        private void index() {
+            synchronized (cache) {
+                for (Map.Entry<String, Entry> e : entries.entrySet()) {
+                    Entry previous = byId.put(e.getKey(), e.getValue());
+                    if (previous != null) cache.remove(e.getKey());
+                }
+            }
+            tags.forEach((tag, ids) -> byTag.merge(tag, List.copyOf(ids), (old, added) -> {
+                List<String> merged = new ArrayList<>(old);
+                for (String id : added) if (!merged.contains(id)) merged.add(id);
+                return List.copyOf(merged);
+            }));
+            latest = List.copyOf(entries.keySet());
+            nextIndex.set(0);
+        }
+    }
+
+    // ---------------- Spool ----------------
+    // Record: id, text, tag count, tags, test count, tests; strings as length-prefixed UTF-8
+    private synchronized Entry write(Question question) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+        DataOutputStream out = new DataOutputStream(bytes);
+        writeString(out, question.getId());
+        writeString(out, question.getText());
+        out.writeInt(question.getTags().size());
+        for (String tag : question.getTags()) writeString(out, tag);
+        out.writeInt(question.getTestCases().size());
+        for (String test : question.getTestCases()) writeString(out, test);
+        out.flush();
+
+        ByteBuffer buffer = ByteBuffer.wrap(bytes.toByteArray());
+        Entry entry = new Entry(spoolSize, buffer.remaining());
+        long position = spoolSize;
+        while (buffer.hasRemaining()) position += spool.write(buffer, position);
+        spoolSize = position;
+        return entry;
+    }
+
+    private Question read(Entry entry) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(entry.length());
+        long position = entry.offset();
+        while (buffer.hasRemaining()) {
+            int n = spool.read(buffer, position);
+            if (n < 0) throw new IOException("Question spool is truncated");
+            position += n;
+        }
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(buffer.array()));
+        String id = readString(in);
+        String text = readString(in);
+        List<String> tags = new ArrayList<>();
+        for (int i = in.readInt(); i > 0; i--) tags.add(readString(in));
+        List<String> tests = new ArrayList<>();
+        for (int i = in.readInt(); i > 0; i--) tests.add(readString(in));
+        return new Question(id, text, tags, tests);
+    }
+
+    private static void writeString(DataOutputStream out, String s) throws IOException {
+        byte[] utf8 = s.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(utf8.length);
+        out.write(utf8);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        byte[] utf8 = new byte[in.readInt()];
+        in.readFully(utf8);
+        return new String(utf8, StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public void close() throws IOException {
+        spool.close();
+    }
+}
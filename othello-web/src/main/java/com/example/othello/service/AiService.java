@@ -0,0 +1,322 @@
+package com.example.othello.service;
+
+import com.example.othello.engine.BitBoard;
+import com.example.othello.engine.EndgameSolver;
+import com.example.othello.engine.Evaluator;
+import com.example.othello.engine.OpeningBook;
+import com.example.othello.engine.ParallelSearch;
+import com.example.othello.engine.Ponderer;
+import com.example.othello.engine.PositionCache;
+import com.example.othello.engine.Rules;
+import com.example.othello.engine.SearchEngine;
+import com.example.othello.engine.SearchResult;
+import com.example.othello.engine.SearchScheduler;
+import com.example.othello.engine.TranspositionTable;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Picks AI moves with the alpha-beta engine under a per-request time budget. Moves are
+ * searched on the {@link SearchScheduler}, never on request threads; the budget actually
+ * spent is what the scheduler grants, which shrinks when it is busy. Finished searches go
+ * into the shared {@link PositionCache}, so a position reached in another game (or in a
+ * rotation of it) is answered without searching again.
+ */
+@Service
+public class AiService {
+
+    @Value("${othello.ai.time-budget-ms:300}")
+    private long defaultBudgetMs;
+
+    @Value("${othello.ai.max-time-budget-ms:5000}")
+    private long maxBudgetMs;
+
+    @Value("${othello.ai.max-depth:20}")
+    private int maxDepth;
+
+    @Value("${othello.ai.parallel.enabled:false}")
+    private boolean parallelByDefault;
+
+    @Value("${othello.ai.endgame.empties:14}")
+    private int endgameEmpties;
+
+    @Value("${othello.ai.endgame.time-budget-ms:2000}")
+    private long endgameBudgetMs;
+
+    @Value("${othello.ai.ponder.enabled:true}")
+    private boolean ponderEnabled;
+
+    // A pondered reply at least this deep is played without searching again
+    @Value("${othello.ai.ponder.instant-depth:10}")
+    private int ponderInstantDepth;
+
+    // A cached heuristic reply at least this deep is played without searching again; solved ones always are
+    @Value("${othello.ai.cache.min-depth:10}")
+    private int cacheMinDepth;
+
+    @Value("${othello.ai.hint.time-budget-ms:200}")
+    private long hintBudgetMs;
+
+    private final TranspositionTable table;
+    private final ParallelSearch parallelSearch;
+    private final OpeningBook openingBook;
+    private final Ponderer ponderer;
+    private final SearchScheduler scheduler;
+    private final PositionCache cache;
+
+    // SearchEngine is single-threaded; each scheduler thread gets its own buffers but all share the table
+    private final ThreadLocal<SearchEngine> engines;
+    private final ThreadLocal<EndgameSolver> solvers = ThreadLocal.withInitial(EndgameSolver::new);
+
+    private final MeterRegistry meterRegistry;
+    private final DistributionSummary depthReached;
+    private final DistributionSummary nodesPerSecond;
+
+    public AiService(TranspositionTable table, ParallelSearch parallelSearch, OpeningBook openingBook,
+                     Evaluator evaluator, Ponderer ponderer, SearchScheduler scheduler, PositionCache cache,
+                     MeterRegistry meterRegistry) {
+        this.table = table;
+        this.parallelSearch = parallelSearch;
+        this.openingBook = openingBook;
+        this.ponderer = ponderer;
+        this.scheduler = scheduler;
+        this.cache = cache;
+        this.engines = ThreadLocal.withInitial(() -> new SearchEngine(table, evaluator));
+        this.meterRegistry = meterRegistry;
+        this.depthReached = DistributionSummary.builder("othello.ai.depth")
+                .description("Depth completed by heuristic AI searches")
+                .register(meterRegistry);
+        this.nodesPerSecond = DistributionSummary.builder("othello.ai.nodes.per.second")
+                .description("Search speed of AI moves that searched")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Runs {@code job} on the search scheduler as interactive work for {@code gameId}, asking
+     * for {@code budgetMs} (null or non-positive for the default, capped at the maximum). The
+     * job gets the granted budget to pass on to {@link #chooseMove}.
+     */
+    public <T> CompletableFuture<T> schedule(String gameId, Long budgetMs, SearchScheduler.Job<T> job) {
+        long budget = budgetMs == null || budgetMs <= 0 ? defaultBudgetMs : Math.min(budgetMs, maxBudgetMs);
+        return scheduler.submit(SearchScheduler.Priority.INTERACTIVE, gameId, budget, null, job);
+    }
+
+    /**
+     * Searches on the calling thread with the full budget; for callers that are not on the scheduler.
+     *
+     * @param parallel run a Lazy SMP search across the helper pool; null uses othello.ai.parallel.enabled
+     */
+    public SearchResult chooseMove(BitBoard position, int player, Long budgetMs, Boolean parallel) {
+        long legal = BitBoard.legalMoves(position.discs(player), position.discs(BitBoard.opponent(player)));
+        long budget = budgetMs == null || budgetMs <= 0 ? defaultBudgetMs : Math.min(budgetMs, maxBudgetMs);
+        SearchResult result = select(null, position, player, legal, budget, endgameBudgetMs, useParallel(parallel));
+        record(result);
+        return result;
+    }
+
+    /**
+     * Chooses a move within what the scheduler granted. A degraded grant also shortens the
+     * endgame solve and turns off the parallel search, whose helpers would only compete with
+     * the queued work for cores.
+     *
+     * @param gameId the game being played, whose ponder result (if any) is used; null for none
+     * @param legal the mover's legal squares, when the caller already has them cached
+     */
+    public SearchResult chooseMove(String gameId, BitBoard position, int player, long legal,
+                                   SearchScheduler.Grant grant, Boolean parallel) {
+        boolean degraded = grant.getScale() < 1.0;
+        SearchResult result = select(gameId, position, player, legal, grant.getBudgetMillis(),
+                grant.scale(endgameBudgetMs), !degraded && useParallel(parallel));
+        record(result);
+        return result;
+    }
+
+    private boolean useParallel(Boolean parallel) {
+        return parallel != null ? parallel : parallelByDefault;
+    }
+
+    private SearchResult select(String gameId, BitBoard position, int player, long legal, long budget,
+                                long endgameBudget, boolean parallel) {
+        long started = System.nanoTime();
+        long own = position.discs(player);
+        long opp = position.discs(BitBoard.opponent(player));
+        // Stops the game's ponder either way; a miss still leaves its table entries behind
+        SearchResult pondered = gameId != null ? ponderer.take(gameId, own, opp) : null;
+
+        // A forced move or pass needs no search
+        if (Long.bitCount(legal) <= 1) {
+            int move = legal == 0 ? -1 : Long.numberOfTrailingZeros(legal);
+            return new SearchResult(move, 0, 0, 0, System.nanoTime() - started);
+        }
+
+        // Book first: known opening positions cost a hash lookup, not a search
+        int bookMove = openingBook.lookup(position.getBlack(), position.getWhite(), player);
+        if (bookMove >= 0 && (legal & (1L << bookMove)) != 0) {
+            int score = openingBook.score(position.getBlack(), position.getWhite(), player);
+            return SearchResult.fromBook(bookMove, score, 0, System.nanoTime() - started);
+        }
+
+        // Then anything already searched, in any game: deep or solved entries stand in for a search
+        PositionCache.Entry cached = cache.get(position.getBlack(), position.getWhite(), player);
+        if (cached != null && Rules.isLegal(legal, cached.getMove())
+                && (cached.isExact() || cached.getDepth() >= Math.min(cacheMinDepth, maxDepth))) {
+            return SearchResult.fromCache(cached, System.nanoTime() - started);
+        }
+
+        // Few empties left: solve exactly, falling back to the heuristic search if the solve overruns
+        if (Long.bitCount(~(own | opp)) <= endgameEmpties) {
+            SearchResult solved = solvers.get().solve(own, opp, endgameBudget);
+            if (solved != null) return store(position, player, solved);
+        }
+
+        if (pondered != null && pondered.getDepth() >= Math.min(ponderInstantDepth, maxDepth)) {
+            return store(position, player, SearchResult.fromPonder(pondered, System.nanoTime() - started));
+        }
+
+        if (parallel && parallelSearch.getHelpers() > 0) {
+            return store(position, player, parallelSearch.search(own, opp, player, budget, maxDepth, gameId));
+        }
+        return store(position, player, engines.get().search(own, opp, player, budget, maxDepth));
+    }
+
+    private SearchResult store(BitBoard position, int player, SearchResult result) {
+        cache.put(position.getBlack(), position.getWhite(), player, result);
+        return result;
+    }
+
+    // Tagged by where the move came from, so a slow turn can be pinned on the book, solver or search
+    private void record(SearchResult result) {
+        boolean forced = !result.isFromBook() && !result.isCached() && result.getNodes() == 0;
+        String source = result.isFromBook() ? "book"
+                : result.isCached() ? "cache"
+                : forced ? "forced"
+                : result.isPondered() ? "ponder"
+                : result.isExact() ? "endgame"
+                : result.getThreads() > 1 ? "parallel" : "search";
+        Timer.builder("othello.ai.search")
+                .description("Time to choose an AI move")
+                .tag("source", source)
+                .register(meterRegistry)
+                .record(result.getElapsedNanos(), TimeUnit.NANOSECONDS);
+        if (result.isFromBook() || result.isCached() || forced) return;
+        if (result.isPondered()) {
+            depthReached.record(result.getDepth());
+            return;
+        }
+        nodesPerSecond.record(result.getNodesPerSecond());
+        if (!result.isExact()) depthReached.record(result.getDepth());
+    }
+
+    /** Search statistics in the shape returned to the client as {@code aiSearch}. */
+    public Map<String, Object> describe(SearchResult result) {
+        Map<String, Object> info = new LinkedHashMap<>();
+        if (result.isFromBook()) {
+            info.put("source", "book");
+        } else if (result.isCached()) {
+            info.put("source", "cache");
+        } else if (result.getNodes() == 0) {
+            info.put("source", "forced");
+        } else if (result.isPondered()) {
+            info.put("source", "ponder");
+        }
+        if (result.isExact()) {
+            info.put("solver", "endgame");
+            info.put("finalDiscDiff", result.getScore() / SearchEngine.WIN_SCALE);
+        }
+        info.put("depth", result.getDepth());
+        info.put("score", result.getScore());
+        info.put("nodes", result.getNodes());
+        info.put("nodesPerSecond", result.getNodesPerSecond());
+        info.put("timeMs", result.getElapsedNanos() / 1_000_000.0);
+        info.put("threads", result.getThreads());
+        info.put("speedup", result.getSpeedup());
+        info.put("nodeRatio", result.getNodeRatio());
+        info.put("ttHitRate", table.getHitRate());
+        return info;
+    }
+
+    /** As {@link #describe(SearchResult)}, plus the scheduler's grant and how long the move queued for it. */
+    public Map<String, Object> describe(SearchResult result, SearchScheduler.Grant grant) {
+        Map<String, Object> info = describe(result);
+        info.put("budgetMs", grant.getBudgetMillis());
+        info.put("queuedMs", grant.getQueuedNanos() / 1_000_000.0);
+        return info;
+    }
+
+    // ---------------- Hints ----------------
+    /**
+     * The move the AI would suggest to {@code player} in this position. A cached search of the
+     * position is returned at once, however shallow; otherwise a short search runs on the
+     * scheduler (budgetMs null or non-positive for othello.ai.hint.time-budget-ms) and its
+     * result is cached for later hints and AI replies alike. The search is background work:
+     * it is not charged to the game's move budget, does not preempt a ponder, and the future
+     * fails with RejectedExecutionException when the scheduler queue is full.
+     *
+     * @param position a copy the caller will not change while the search runs
+     */
+    public CompletableFuture<SearchResult> hint(BitBoard position, int player, Long budgetMs) {
+        long started = System.nanoTime();
+        long legal = BitBoard.legalMoves(position.discs(player), position.discs(BitBoard.opponent(player)));
+        PositionCache.Entry cached = cache.get(position.getBlack(), position.getWhite(), player);
+        if (cached != null && Rules.isLegal(legal, cached.getMove())) {
+            return CompletableFuture.completedFuture(SearchResult.fromCache(cached, System.nanoTime() - started));
+        }
+        long budget = budgetMs == null || budgetMs <= 0 ? hintBudgetMs : Math.min(budgetMs, maxBudgetMs);
+        return scheduler.submit(SearchScheduler.Priority.ANALYSIS, null, budget, null, grant -> {
+            long own = position.discs(player), opp = position.discs(BitBoard.opponent(player));
+            return store(position, player, engines.get().search(own, opp, player, grant.getBudgetMillis(), maxDepth));
+        });
+    }
+
+    // ---------------- Pondering ----------------
+    /**
+     * Starts searching White's replies while {@code player} (the human) thinks. Skipped when
+     * the replies would be solved exactly or pondering is off.
+     */
+    public void ponder(String gameId, BitBoard position, int player) {
+        if (!ponderEnabled) return;
+        long own = position.discs(player), opp = position.discs(BitBoard.opponent(player));
+        if (Long.bitCount(~(own | opp)) - 1 <= endgameEmpties) return;
+        ponderer.start(gameId, own, opp, player);
+    }
+
+    public void cancelPonder(String gameId) {
+        ponderer.cancel(gameId);
+    }
+
+    public Map<String, Object> tableStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("capacity", table.capacity());
+        stats.put("probes", table.getProbes());
+        stats.put("hits", table.getHits());
+        stats.put("stores", table.getStores());
+        stats.put("hitRate", table.getHitRate());
+        stats.put("bookPositions", openingBook.size());
+        stats.put("cacheSize", cache.size());
+        stats.put("cacheCapacity", cache.capacity());
+        stats.put("cacheHits", cache.getHits());
+        stats.put("cacheMisses", cache.getMisses());
+        stats.put("cacheHitRate", cache.getHitRate());
+        stats.put("ponderActive", ponderer.getActive());
+        stats.put("ponderHits", ponderer.getHits());
+        stats.put("ponderMisses", ponderer.getMisses());
+        stats.put("ponderRejected", ponderer.getRejected());
+        stats.put("schedulerThreads", scheduler.getThreads());
+        stats.put("schedulerRunning", scheduler.getRunning());
+        stats.put("schedulerQueued", scheduler.getQueued(SearchScheduler.Priority.INTERACTIVE)
+                + scheduler.getQueued(SearchScheduler.Priority.ANALYSIS)
+                + scheduler.getQueued(SearchScheduler.Priority.PONDER));
+        stats.put("schedulerDegraded", scheduler.getDegraded());
+        stats.put("schedulerRejected", scheduler.getRejected());
+        stats.put("schedulerPreempted", scheduler.getPreempted());
+        return stats;
+    }
+}
@@ -0,0 +1,173 @@
+package com.example.othello.service;
+
+import com.example.othello.engine.BitBoard;
+import com.example.othello.engine.GameAnalyzer;
+import com.example.othello.engine.MoveAnalysis;
+import com.example.othello.engine.MoveLog;
+import com.example.othello.engine.SearchEngine;
+import com.example.othello.model.GameSession;
+import com.example.othello.model.GameState;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Streams the post-game review of a finished game. Each analysed move is written as
+ * soon as its position is done, either as one JSON object per line (NDJSON) or as a
+ * "move" Server-Sent Event, followed by a summary with each side's average error.
+ * Solved plies and searched plies are averaged separately, since their errors are in
+ * different units: discs given up for the former, evaluation units for the latter.
+ * A client that disconnects stops the remaining work.
+ */
+@Service
+public class AnalysisService {
+
+    public static final String MOVE_EVENT = "move";
+    public static final String SUMMARY_EVENT = "summary";
+    public static final String ERROR_EVENT = "error";
+
+    @Value("${othello.analysis.depth:10}")
+    private int defaultDepth;
+
+    @Value("${othello.ai.max-depth:20}")
+    private int maxDepth;
+
+    @Value("${othello.analysis.time-budget-ms:2000}")
+    private long defaultBudgetMs;
+
+    @Value("${othello.analysis.max-time-budget-ms:10000}")
+    private long maxBudgetMs;
+
+    @Value("${othello.analysis.emitter-timeout-ms:300000}")
+    private long emitterTimeoutMs;
+
+    @Autowired
+    private GameSessionRegistry sessions;
+
+    @Lazy
+    @Autowired
+    private GameAnalyzer analyzer;
+
+    /** Analysis as NDJSON, one {@link MoveAnalysis} per line and a summary line last. */
+    public ResponseBodyEmitter streamLines(String gameId, Integer depth, Long budgetMs) {
+        ResponseBodyEmitter emitter = new ResponseBodyEmitter(emitterTimeoutMs);
+        start(gameId, depth, budgetMs, emitter, (name, body) -> {
+            emitter.send(body, MediaType.APPLICATION_JSON);
+            emitter.send("\n", MediaType.TEXT_PLAIN);
+        });
+        return emitter;
+    }
+
+    /** Analysis as Server-Sent Events: "move" per analysed ply, then "summary" (or "error"). */
+    public SseEmitter streamEvents(String gameId, Integer depth, Long budgetMs) {
+        SseEmitter emitter = new SseEmitter(emitterTimeoutMs);
+        start(gameId, depth, budgetMs, emitter,
+                (name, body) -> emitter.send(SseEmitter.event().name(name).data(body, MediaType.APPLICATION_JSON)));
+        return emitter;
+    }
+
+    private interface Writer {
+        void write(String event, Object body) throws IOException;
+    }
+
+    private void start(String gameId, Integer depth, Long budgetMs, ResponseBodyEmitter emitter, Writer writer) {
+        int searchDepth = Math.max(1, Math.min(depth != null ? depth : defaultDepth, maxDepth));
+        long budget = budgetMs == null || budgetMs <= 0 ? defaultBudgetMs : Math.min(budgetMs, maxBudgetMs);
+
+        // Copy the finished game under its lock; the analysis itself runs without it
+        GameSession session = sessions.lock(gameId);
+        MoveLog log;
+        try {
+            GameState state = session.getState();
+            if (state.getWinner() == null) {
+                fail(emitter, writer, "Game " + session.getGameId() + " is not finished yet");
+                return;
+            }
+            log = MoveLog.fromByteArray(state.getMoves().toByteArray());
+        } finally {
+            session.getLock().unlock();
+        }
+
+        AtomicBoolean stop = new AtomicBoolean();
+        emitter.onCompletion(() -> stop.set(true));
+        emitter.onTimeout(() -> stop.set(true));
+        emitter.onError(e -> stop.set(true));
+
+        System.out.println("🔎 Analysing " + log.size() + " plies of game " + session.getGameId()
+                + " at depth " + searchDepth + " on " + analyzer.getThreads() + " thread(s)");
+        long started = System.nanoTime();
+        // Indexed by player; exact plies are kept apart from searched ones
+        long[] errorSum = new long[3], exactErrorSum = new long[3];
+        int[] count = new int[3], exactCount = new int[3];
+        analyzer.analyze(log, searchDepth, budget, stop, analysis -> {
+            if (analysis.isExact()) {
+                exactErrorSum[analysis.getPlayer()] += analysis.getError();
+                exactCount[analysis.getPlayer()]++;
+            } else {
+                errorSum[analysis.getPlayer()] += analysis.getError();
+                count[analysis.getPlayer()]++;
+            }
+            try {
+                writer.write(MOVE_EVENT, analysis);
+            } catch (IOException | IllegalStateException e) {
+                // Client went away: skip whatever is still queued
+                stop.set(true);
+            }
+        }).whenComplete((v, e) -> {
+            if (stop.get()) return;
+            if (e != null) {
+                Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+                fail(emitter, writer, cause instanceof RejectedExecutionException
+                        ? "The AI is busy, try the analysis again shortly"
+                        : "Analysis failed: " + cause.getMessage());
+                return;
+            }
+            Map<String, Object> summary = new LinkedHashMap<>();
+            summary.put("gameId", session.getGameId());
+            summary.put("analyzed", count[BitBoard.BLACK] + count[BitBoard.WHITE]
+                    + exactCount[BitBoard.BLACK] + exactCount[BitBoard.WHITE]);
+            summary.put("solved", exactCount[BitBoard.BLACK] + exactCount[BitBoard.WHITE]);
+            summary.put("depth", searchDepth);
+            // Searched plies, in evaluation units
+            summary.put("blackAverageError", average(errorSum[BitBoard.BLACK], count[BitBoard.BLACK]));
+            summary.put("whiteAverageError", average(errorSum[BitBoard.WHITE], count[BitBoard.WHITE]));
+            // Solved plies, in discs of final margin given away
+            summary.put("blackAverageDiscError", average(exactErrorSum[BitBoard.BLACK], exactCount[BitBoard.BLACK])
+                    / SearchEngine.WIN_SCALE);
+            summary.put("whiteAverageDiscError", average(exactErrorSum[BitBoard.WHITE], exactCount[BitBoard.WHITE])
+                    / SearchEngine.WIN_SCALE);
+            summary.put("threads", analyzer.getThreads());
+            summary.put("timeMs", (System.nanoTime() - started) / 1_000_000.0);
+            try {
+                writer.write(SUMMARY_EVENT, summary);
+                emitter.complete();
+            } catch (IOException | IllegalStateException ex) {
+                stop.set(true);
+            }
+        });
+    }
+
+    private static double average(long sum, int count) {
+        return count == 0 ? 0.0 : (double) sum / count;
+    }
+
+    private static void fail(ResponseBodyEmitter emitter, Writer writer, String message) {
+        try {
+            writer.write(ERROR_EVENT, Map.of("error", message));
+            emitter.complete();
+        } catch (IOException | IllegalStateException e) {
+            emitter.completeWithError(e);
+        }
+    }
+}
@@ -0,0 +1,247 @@
+package com.example.othello.service;
+
+import com.example.othello.model.CompactGameState;
+import com.example.othello.model.GameState;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Pushes game state to browsers over Server-Sent Events, one stream per game.
+ *
+ * A change is serialized once per wire format, under the caller's game lock so the
+ * snapshot is consistent, and the same JSON is queued for every subscriber. Each
+ * subscriber has its own queue, drained by at most one thread of a shared sender pool
+ * at a time, so events reach each client in the order they were published while a
+ * client that stops reading holds up only itself. Game threads never block on a slow
+ * client: one whose backlog passes {@code max-backlog} events is disconnected, and its
+ * EventSource reconnects to a fresh snapshot.
+ */
+@Component
+public class GameEventBroadcaster {
+
+    public static final String STATE_EVENT = "state";
+
+    @Value("${othello.events.emitter-timeout-ms:1800000}")
+    private long emitterTimeoutMs;
+
+    @Value("${othello.events.max-backlog:32}")
+    private int maxBacklog;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    // Queued in place of a JSON payload to send a keep-alive comment
+    private static final Object HEARTBEAT = new Object();
+
+    /** One open stream, the wire format it asked for, and what is still to be written to it. */
+    private static final class Subscriber {
+        final SseEmitter emitter;
+        final boolean compact;
+        final Queue<Object> backlog = new ConcurrentLinkedQueue<>();
+        final AtomicInteger backlogSize = new AtomicInteger();
+        // Set while a sender thread owns this subscriber's queue
+        final AtomicBoolean draining = new AtomicBoolean();
+        volatile boolean closed;
+
+        Subscriber(SseEmitter emitter, boolean compact) {
+            this.emitter = emitter;
+            this.compact = compact;
+        }
+    }
+
+    /** Streams of one game, plus how much history compact subscribers have already been sent. */
+    private static final class Channel {
+        final Set<Subscriber> subscribers = new CopyOnWriteArraySet<>();
+        // Only touched under the game's lock
+        int historySent;
+    }
+
+    private final Map<String, Channel> channels = new ConcurrentHashMap<>();
+    private final ExecutorService sender;
+    private final AtomicLong dropped = new AtomicLong();
+
+    public GameEventBroadcaster(@Value("${othello.events.sender-threads:4}") int senderThreads) {
+        AtomicInteger threadIndex = new AtomicInteger();
+        this.sender = Executors.newFixedThreadPool(Math.max(1, senderThreads), r -> {
+            Thread t = new Thread(r, "othello-sse-sender-" + threadIndex.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    /**
+     * Opens a stream for gameId. The current state is sent straight away so (re)connecting
+     * clients catch up; like {@link #publish}, call while holding the game's lock.
+     * Compact subscribers receive {@link CompactGameState} events carrying only new history.
+     */
+    public SseEmitter subscribe(String gameId, GameState current, boolean compact) {
+        Subscriber subscriber = new Subscriber(newEmitter(), compact);
+        channels.compute(gameId, (id, channel) -> {
+            if (channel == null) {
+                channel = new Channel();
+                channel.historySent = current.historySize();
+            }
+            channel.subscribers.add(subscriber);
+            return channel;
+        });
+        SseEmitter emitter = subscriber.emitter;
+        emitter.onCompletion(() -> remove(gameId, subscriber));
+        emitter.onTimeout(() -> remove(gameId, subscriber));
+        emitter.onError(e -> remove(gameId, subscriber));
+
+        // The first event always carries the whole history
+        String json = serialize(compact ? CompactGameState.of(current, 0) : current);
+        if (json != null) enqueue(gameId, subscriber, json);
+        return emitter;
+    }
+
+    /** Call while holding the game's lock, after the state has changed. */
+    public void publish(String gameId, GameState state) {
+        Channel channel = channels.get(gameId);
+        if (channel == null || channel.subscribers.isEmpty()) return;
+
+        boolean anyFull = false, anyCompact = false;
+        for (Subscriber s : channel.subscribers) {
+            if (s.compact) anyCompact = true;
+            else anyFull = true;
+        }
+        // Each format is serialized at most once per change, whatever the subscriber count
+        String fullJson = anyFull ? serialize(state) : null;
+        String compactJson = anyCompact ? serialize(CompactGameState.of(state, channel.historySent)) : null;
+        channel.historySent = state.historySize();
+
+        for (Subscriber s : channel.subscribers) {
+            String json = s.compact ? compactJson : fullJson;
+            if (json != null) enqueue(gameId, s, json);
+        }
+    }
+
+    public int subscriberCount() {
+        int count = 0;
+        for (Channel channel : channels.values()) count += channel.subscribers.size();
+        return count;
+    }
+
+    /** Subscribers disconnected because their backlog outgrew max-backlog. */
+    public long getDropped() {
+        return dropped.get();
+    }
+
+    /** Ends every stream of gameId, for a game that has left memory; clients reconnect to a fresh snapshot. */
+    public void close(String gameId) {
+        Channel channel = channels.remove(gameId);
+        if (channel == null) return;
+        for (Subscriber s : channel.subscribers) {
+            // Completed by the drain, since a send may still be blocked on the emitter
+            s.closed = true;
+            if (s.draining.compareAndSet(false, true)) {
+                sender.execute(() -> drain(gameId, s));
+            }
+        }
+    }
+
+    @Scheduled(fixedRateString = "${othello.events.heartbeat-ms:15000}")
+    public void heartbeat() {
+        channels.forEach((gameId, channel) -> {
+            for (Subscriber s : channel.subscribers) enqueue(gameId, s, HEARTBEAT);
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        sender.shutdownNow();
+        channels.values().forEach(channel -> channel.subscribers.forEach(s -> s.emitter.complete()));
+        channels.clear();
+    }
+
+    // ---------------- Sending ----------------
+    // Overridden by tests to watch what each subscriber is sent
+    SseEmitter newEmitter() {
+        return new SseEmitter(emitterTimeoutMs);
+    }
+
+    private void enqueue(String gameId, Subscriber subscriber, Object event) {
+        if (subscriber.closed) return;
+        if (subscriber.backlogSize.incrementAndGet() > maxBacklog) {
+            // Not reading: cut it loose rather than buffer for it. The emitter is completed by
+            // the drain, since a send may still be blocked on it.
+            subscriber.closed = true;
+            remove(gameId, subscriber);
+            dropped.incrementAndGet();
+        } else {
+            subscriber.backlog.add(event);
+        }
+        if (subscriber.draining.compareAndSet(false, true)) {
+            sender.execute(() -> drain(gameId, subscriber));
+        }
+    }
+
+    // Runs on one sender thread at a time per subscriber, which keeps its events in order
+    private void drain(String gameId, Subscriber subscriber) {
+        while (true) {
+            Object event;
+            while ((event = subscriber.backlog.poll()) != null) {
+                subscriber.backlogSize.decrementAndGet();
+                if (!subscriber.closed) send(gameId, subscriber, event);
+            }
+            if (subscriber.closed) {
+                subscriber.backlog.clear();
+                subscriber.emitter.complete();
+            }
+            subscriber.draining.set(false);
+            // An event queued after the last poll but before the flag was cleared needs a new owner
+            if (subscriber.backlog.isEmpty() || !subscriber.draining.compareAndSet(false, true)) return;
+        }
+    }
+
+    private void send(String gameId, Subscriber subscriber, Object event) {
+        try {
+            if (event == HEARTBEAT) {
+                // Comment lines keep proxies from closing idle streams and flush out dead clients
+                subscriber.emitter.send(SseEmitter.event().comment("keep-alive"));
+            } else {
+                subscriber.emitter.send(SseEmitter.event().name(STATE_EVENT).data(event, MediaType.APPLICATION_JSON));
+            }
+        } catch (IOException | IllegalStateException e) {
+            // Client went away; the servlet container completes the emitter
+            subscriber.closed = true;
+            remove(gameId, subscriber);
+        }
+    }
+
+    private String serialize(Object state) {
+        try {
+            return objectMapper.writeValueAsString(state);
+        } catch (JsonProcessingException e) {
+            System.err.println("❌ Failed to serialize game state for SSE: " + e.getMessage());
+            return null;
+        }
+    }
+
+    private void remove(String gameId, Subscriber subscriber) {
+        channels.computeIfPresent(gameId, (id, channel) -> {
+            channel.subscribers.remove(subscriber);
+            return channel.subscribers.isEmpty() ? null : channel;
+        });
+    }
+}
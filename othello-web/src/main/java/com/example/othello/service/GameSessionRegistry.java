@@ -0,0 +1,114 @@
+package com.example.othello.service;
+
+import com.example.othello.model.GameSession;
+import com.example.othello.persistence.GameStore;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Holds every live game keyed by game id. Each GameSession carries its own lock,
+ * so games never contend with each other; idle games are evicted on a timer.
+ * A game that is not in memory is resumed from the GameStore when it was saved before.
+ *
+ * Eviction only removes a session while holding its lock, so code that changes a game
+ * takes it through {@link #lock}: a session still registered once locked stays registered
+ * until it is unlocked, and changes never land on a copy that has already left memory.
+ */
+@Component
+public class GameSessionRegistry {
+
+    /** Used when a client does not send a gameId (older frontends). */
+    public static final String DEFAULT_GAME_ID = "default";
+
+    @Value("${othello.session.idle-timeout-minutes:30}")
+    private long idleTimeoutMinutes;
+
+    @Autowired
+    private GameStore store;
+
+    @Autowired
+    private AiService aiService;
+
+    @Autowired
+    private GameEventBroadcaster events;
+
+    private final ConcurrentHashMap<String, GameSession> sessions = new ConcurrentHashMap<>();
+
+    public GameSession create() {
+        String gameId = UUID.randomUUID().toString();
+        GameSession session = new GameSession(gameId);
+        sessions.put(gameId, session);
+        return session;
+    }
+
+    /** Returns the session for gameId, resuming it from the database or creating a fresh game if it is not in memory. */
+    public GameSession get(String gameId) {
+        String id = (gameId == null || gameId.isBlank()) ? DEFAULT_GAME_ID : gameId;
+        GameSession session = sessions.get(id);
+        if (session == null) {
+            // Loaded outside computeIfAbsent so the database read does not block other games
+            GameSession stored = store.load(id);
+            session = sessions.computeIfAbsent(id, key -> stored != null ? stored : new GameSession(key));
+        }
+        session.touch();
+        return session;
+    }
+
+    /**
+     * Returns the session for gameId, as {@link #get} does, with its lock held. Unlock it when done.
+     */
+    public GameSession lock(String gameId) {
+        while (true) {
+            GameSession session = get(gameId);
+            session.getLock().lock();
+            if (sessions.get(session.getGameId()) == session) return session;
+            // Evicted between get and lock: that copy is stale, so resume the game again
+            session.getLock().unlock();
+        }
+    }
+
+    public int size() {
+        return sessions.size();
+    }
+
+    public Collection<GameSession> all() {
+        return sessions.values();
+    }
+
+    // ---------------- Idle eviction ----------------
+    @Scheduled(fixedDelayString = "${othello.session.eviction-interval-ms:60000}")
+    public void evictIdleSessions() {
+        long cutoff = System.currentTimeMillis() - idleTimeoutMinutes * 60_000L;
+        List<String> evicted = new ArrayList<>();
+        for (Map.Entry<String, GameSession> entry : sessions.entrySet()) {
+            GameSession session = entry.getValue();
+            if (session.getLastAccessMillis() >= cutoff) continue;
+            // Skip games that are mid-request; they will be looked at again next round
+            if (!session.getLock().tryLock()) continue;
+            try {
+                if (session.getLastAccessMillis() < cutoff && sessions.remove(entry.getKey(), session)) {
+                    evicted.add(entry.getKey());
+                }
+            } finally {
+                session.getLock().unlock();
+            }
+        }
+        // Nothing should keep working for a game that left memory; its streams reconnect and resume it
+        for (String gameId : evicted) {
+            aiService.cancelPonder(gameId);
+            events.close(gameId);
+        }
+        if (!evicted.isEmpty()) {
+            System.out.println("🧹 Evicted " + evicted.size() + " idle game(s), " + sessions.size() + " active.");
+        }
+    }
+}
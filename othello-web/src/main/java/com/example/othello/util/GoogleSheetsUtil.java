@@ -21,7 +21,7 @@ public class GoogleSheetsUtil {
     private static final String SERVICE_ACCOUNT_KEY = "/credentials.json"; // put your JSON in resources folder
     private static final String SHEET_NAME = "Logs"; // tab name in your spreadsheet
 
-    private static Sheets getSheetsService() throws IOException, GeneralSecurityException {
+    private static synchronized Sheets getSheetsService() throws IOException, GeneralSecurityException {
         if (sheetsService == null) {
             try (InputStream in = GoogleSheetsUtil.class.getResourceAsStream(SERVICE_ACCOUNT_KEY)) {
                 if (in == null) {
@@ -45,17 +45,30 @@ public class GoogleSheetsUtil {
 
     public static void appendLogRow(String spreadsheetId, List<Object> rowValues) {
         try {
-            Sheets service = getSheetsService();
-            ValueRange appendBody = new ValueRange().setValues(Arrays.asList(rowValues));
-            service.spreadsheets().values()
-                    .append(spreadsheetId, SHEET_NAME + "!A:F", appendBody)
-                    .setValueInputOption("RAW")
-                    .execute();
-            System.out.println("✅ Row appended successfully to Google Sheet");
-        } catch (IOException | GeneralSecurityException e) {
+            appendLogRows(spreadsheetId, Arrays.asList(rowValues));
+        } catch (IOException e) {
             System.err.println("❌ Failed to append to Google Sheet: " + e.getMessage());
         }
     }
+
+    /**
+     * Appends several rows in one API call. Unlike appendLogRow this throws on failure,
+     * so callers (the log pipeline) can retry.
+     */
+    public static void appendLogRows(String spreadsheetId, List<List<Object>> rows) throws IOException {
+        Sheets service;
+        try {
+            service = getSheetsService();
+        } catch (GeneralSecurityException e) {
+            throw new IOException("Could not create Sheets transport", e);
+        }
+        ValueRange appendBody = new ValueRange().setValues(rows);
+        service.spreadsheets().values()
+                .append(spreadsheetId, SHEET_NAME + "!A:F", appendBody)
+                .setValueInputOption("RAW")
+                .execute();
+        System.out.println("✅ " + rows.size() + " row(s) appended successfully to Google Sheet");
+    }
 }
 
 
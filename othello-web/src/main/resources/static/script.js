@@ -5,6 +5,7 @@ const boardSize = 8;
 const boardDiv = document.getElementById("board");
 const indicator = document.getElementById("turn-indicator");
 const resetButton = document.getElementById("reset");
+const hintButton = document.getElementById("hint");
 const startBtn = document.getElementById("start-btn");
 
 // Coding UI
@@ -16,45 +17,76 @@ const codingQuestion = document.getElementById("coding-question");
 
 let currentBoard = [];
 let currentPlayer = 1;
+let gameId = "";
+// History entries already received; responses only carry what was added after this
+let historySize = 0;
+
+// Compact wire format: 64-char board string, square-index lastMove, history deltas
+const COMPACT = { headers: { Accept: "application/vnd.othello.compact+json" } };
+
+function gameParam(prefix = "?") {
+  return gameId ? `${prefix}gameId=${encodeURIComponent(gameId)}` : "";
+}
 
 // ---------- Game logic ----------
-async function fetchState() {
-  try {
-    const res = await fetch(`${API}/state`);
-    const state = await res.json();
-    currentPlayer = state.currentPlayer;
-    renderBoard(state.board, state.lastMove);
-    updateTurnIndicator(state.currentPlayer);
-    updateCodeSubmissionUI(state.currentPlayer);
-
-    const overlay = document.getElementById("winner-overlay");
-    const text = document.getElementById("winner-text");
-    overlay.classList.remove("show");
-    if (state.winner !== undefined && state.winner !== null) {
-      let winnerText = state.winner === 1 ? "🏆 Black Wins!" : state.winner === 2 ? "🏆 White Wins!" : "🤝 It's a Tie!";
-      text.textContent = winnerText;
-      overlay.classList.add("show");
-    }
-  } catch (err) {
-    console.error(err);
+// State arrives as "state" events on one SSE stream per game; the browser reconnects on its own
+let events = null;
+
+function subscribe() {
+  if (events) events.close();
+  events = new EventSource(`${API}/events?format=compact${gameParam("&")}`);
+  events.addEventListener("state", e => enqueueState(JSON.parse(e.data)));
+  events.onerror = () => console.warn("Game event stream interrupted, reconnecting...");
+}
+
+// Pushed states render in order; the AI reply lands a moment after the human move, as before
+let renderQueue = Promise.resolve();
+function enqueueState(state) {
+  renderQueue = renderQueue.then(async () => {
+    if (currentPlayer === 2 && state.currentPlayer === 1) await new Promise(r => setTimeout(r, 700));
+    applyState(state);
+  });
+}
+
+function streamOpen() {
+  return events && events.readyState === EventSource.OPEN;
+}
+
+function decodeBoard(s) {
+  const board = [];
+  for (let r = 0; r < boardSize; r++) {
+    board.push([...s.slice(r * boardSize, (r + 1) * boardSize)].map(ch => (ch === "B" ? 1 : ch === "W" ? 2 : 0)));
+  }
+  return board;
+}
+
+function applyState(state) {
+  const lastMove = state.lastMove != null ? [Math.floor(state.lastMove / 8), state.lastMove % 8] : null;
+  const aiJustMoved = currentPlayer === 2 && state.currentPlayer === 1 && lastMove;
+  currentPlayer = state.currentPlayer;
+  historySize = state.historySize;
+  renderBoard(decodeBoard(state.board), lastMove, state.currentPlayer === 1 ? state.validMoves : []);
+  if (aiJustMoved) highlightAIMove(lastMove[0], lastMove[1]);
+  updateTurnIndicator(state.currentPlayer);
+  updateCodeSubmissionUI(state.currentPlayer);
+
+  const overlay = document.getElementById("winner-overlay");
+  const text = document.getElementById("winner-text");
+  overlay.classList.remove("show");
+  if (state.winner !== undefined && state.winner !== null) {
+    let winnerText = state.winner === 1 ? "🏆 Black Wins!" : state.winner === 2 ? "🏆 White Wins!" : "🤝 It's a Tie!";
+    text.textContent = winnerText;
+    overlay.classList.add("show");
   }
 }
 
 async function makeMove(row, col) {
   try {
-    await fetch(`${API}/move?row=${row}&col=${col}`, { method: "POST" });
+    // One call plays the move and the AI reply; both states are pushed over the stream
+    const res = await fetch(`${API}/turn?row=${row}&col=${col}&since=${historySize}${gameParam("&")}`,
+      { method: "POST", ...COMPACT });
     logMove(row, col);
-    await fetchState();
-    await new Promise(r => setTimeout(r, 700));
-    const aiRes = await fetch(`${API}/move?ai=true`, { method: "POST" });
-    const aiState = await aiRes.json();
-    if (aiState.lastMove) {
-          highlightAIMove(aiState.lastMove[0], aiState.lastMove[1]);
-          await new Promise(resolve => setTimeout(resolve, 600));
-        }
-    renderBoard(aiState.board, aiState.lastMove);
-    updateTurnIndicator(aiState.currentPlayer);
-    updateCodeSubmissionUI(aiState.currentPlayer);
+    if (!streamOpen()) applyState(await res.json());
   } catch (err) {
     console.error(err);
   }
@@ -62,24 +94,40 @@ async function makeMove(row, col) {
 
 async function resetGame() {
   try {
-    await fetch(`${API}/reset`, { method: "POST" });
-    fetchState();
+    const res = await fetch(`${API}/reset${gameParam()}`, { method: "POST", ...COMPACT });
+    if (!streamOpen()) applyState(await res.json());
     clearMoveLog();
   } catch (err) {
     console.error(err);
   }
 }
 
+// Outlines the square the AI would play for Black; the outline goes with the next render
+async function showHint() {
+  try {
+    const res = await fetch(`${API}/hint${gameParam()}`);
+    const hint = await res.json();
+    if (!hint.success) return alert(hint.error);
+    const cell = document.querySelector(`.cell[data-row="${hint.row}"][data-col="${hint.col}"]`);
+    if (cell) cell.classList.add("suggested");
+  } catch (err) {
+    console.error(err);
+  }
+}
 
 async function startGame() {
   const playerName = document.getElementById("player-name").value.trim();
   if (!playerName) return alert("Enter name");
 
   try {
-    await fetch(`${API}/start?playerName=${encodeURIComponent(playerName)}`, { method: "POST" });
+    const res = await fetch(`${API}/start?playerName=${encodeURIComponent(playerName)}`, { method: "POST", ...COMPACT });
+    const state = await res.json();
+    gameId = state.gameId || "";
     document.getElementById("start-screen").style.display = "none";
     document.getElementById("main-container").style.display = "flex"; // side-by-side layout
-    await fetchState();
+    applyState(state);
+    subscribe();
+    loadCodingQuestion();
   } catch (err) {
     console.error(err);
   }
@@ -90,7 +138,8 @@ async function startGame() {
 // ---------- Coding sandbox ----------
 async function loadCodingQuestion() {
   try {
-    const res = await fetch(`${API}/codingQuestion`);
+    // Once a game is running, show the question assigned to it
+    const res = await fetch(`${API}/codingQuestion${gameParam()}`);
     const data = await res.json();
 
     const q = data.question || "";
@@ -106,6 +155,7 @@ async function loadCodingQuestion() {
       testEl.textContent = tests.length
         ? tests.map((t, i) => `Testcase${i + 1}: ${t}`).join("\n")
         : "No testcases available.";
+      if (gameId) return;
 
       // Show start screen only (hide everything else)
       document.body.style.background = "#1c1c1c";
@@ -132,14 +182,16 @@ async function runCode() {
 
   try {
     // ✅ send code as JSON body, not query param
-    const res = await fetch(`${API}/submitCode`, {
+    const res = await fetch(`${API}/submitCode${gameParam()}`, {
       method: "POST",
       headers: { "Content-Type": "application/json" },
       body: JSON.stringify({ code })
     });
 
     const result = await res.json();
-    if (result.success) {
+    if (result.tests) {
+      codeOutput.textContent = formatTestResults(result);
+    } else if (result.success) {
       let out = "";
       if (result.compile_output) out += "Compile Output:\n" + result.compile_output + "\n\n";
       if (result.stderr) out += "Error:\n" + result.stderr + "\n\n";
@@ -156,6 +208,21 @@ async function runCode() {
   }
 }
 
+// One line per test case, with the compiler output once if the build failed
+function formatTestResults(result) {
+  let out = `Passed ${result.passed}/${result.total} test(s)\n\n`;
+  if (result.compile_output) out += "Compile Output:\n" + result.compile_output + "\n\n";
+  result.tests.forEach(t => {
+    const cpu = t.cpuTime ? `, cpu ${t.cpuTime}s` : "";
+    out += `${t.passed ? "✅" : "❌"} Testcase${t.index + 1}: ${t.verdict} (${t.wallTimeMs} ms${cpu})\n`;
+    if (!t.passed && t.expectedOutput != null) {
+      out += `   expected: ${t.expectedOutput}\n   got:      ${t.stdout || ""}\n`;
+    }
+    if (t.stderr) out += `   stderr: ${t.stderr}\n`;
+  });
+  return out;
+}
+
 
 function clearCode() {
   codeEditor.value = "";
@@ -163,7 +230,9 @@ function clearCode() {
 }
 
 // ---------- UI helpers ----------
-function renderBoard(board, lastMove = null) {
+// hints: square indices the server reports as legal for the player to move
+function renderBoard(board, lastMove = null, hints = []) {
+  const legal = new Set(hints);
   boardDiv.innerHTML = "";
   for (let r = 0; r < boardSize; r++) {
     for (let c = 0; c < boardSize; c++) {
@@ -174,6 +243,7 @@ function renderBoard(board, lastMove = null) {
       const v = board[r][c];
       if (v === 1) cell.classList.add("black");
       if (v === 2) cell.classList.add("white");
+      if (legal.has(r * boardSize + c)) cell.classList.add("hint");
       cell.addEventListener("click", () => makeMove(r, c));
       boardDiv.appendChild(cell);
     }
@@ -217,11 +287,12 @@ function updateCodeSubmissionUI(player) {
 // ---------- Init ----------
 document.addEventListener("DOMContentLoaded", () => {
   document.getElementById("main-container").style.display = "block";
-  fetchState();
+  subscribe();
   loadCodingQuestion();
 
   if (startBtn) startBtn.addEventListener("click", startGame);
   if (resetButton) resetButton.addEventListener("click", resetGame);
+  if (hintButton) hintButton.addEventListener("click", showHint);
   if (runCodeBtn) runCodeBtn.addEventListener("click", runCode);
   if (clearCodeBtn) clearCodeBtn.addEventListener("click", clearCode);
 });
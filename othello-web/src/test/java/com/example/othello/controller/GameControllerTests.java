@@ -0,0 +1,47 @@
+package com.example.othello.controller;
+
+import com.example.othello.model.GameState;
+import com.example.othello.service.OthelloService;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class GameControllerTests {
+
+    private final OthelloService service = mock(OthelloService.class);
+
+    private GameController controller() {
+        GameController controller = new GameController();
+        ReflectionTestUtils.setField(controller, "service", service);
+        return controller;
+    }
+
+    @Test
+    void turnHandsTheWholeTurnToTheService() {
+        CompletableFuture<GameState> reply = new CompletableFuture<>();
+        when(service.playTurn("g", 2, 3, 150L, true)).thenReturn(reply);
+
+        // Not completed here: the AI's reply finishes the request later, off the request thread
+        assertSame(reply, controller().playTurn("g", 2, 3, 150L, true));
+        verify(service).playTurn("g", 2, 3, 150L, true);
+    }
+
+    @Test
+    void eventsPicksTheWireFormatFromTheFormatParameter() {
+        SseEmitter full = new SseEmitter(), compact = new SseEmitter();
+        when(service.subscribe("g", false)).thenReturn(full);
+        when(service.subscribe("g", true)).thenReturn(compact);
+        GameController controller = controller();
+
+        assertSame(full, controller.events("g", "full"));
+        assertSame(compact, controller.events("g", "compact"));
+        assertSame(compact, controller.events("g", "COMPACT"));
+        // Anything unknown gets the full format older clients expect
+        assertSame(full, controller.events("g", "binary"));
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.othello.judge;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CodeExecutionServiceTests {
+
+    private static final String PROGRAM = "int main() { return 0; }";
+
+    @Test
+    void pollsUntilTheRunFinishes() throws Exception {
+        LocalStubExecutionClient stub = new LocalStubExecutionClient(3);
+        try (CodeExecutionService service = new CodeExecutionService(stub, 10, 5, 5_000, 2, new SimpleMeterRegistry())) {
+            ExecutionResult result = service.execute(PROGRAM, 50, "hello").get(5, TimeUnit.SECONDS);
+
+            assertTrue(result.isAccepted());
+            assertEquals("hello", result.getStdout());
+        }
+    }
+
+    @Test
+    void identicalSubmissionsAreServedFromTheCache() throws Exception {
+        LocalStubExecutionClient stub = new LocalStubExecutionClient(1);
+        try (CodeExecutionService service = new CodeExecutionService(stub, 10, 5, 5_000, 2, new SimpleMeterRegistry())) {
+            service.execute(PROGRAM, 50, "hello").get(5, TimeUnit.SECONDS);
+            service.execute(PROGRAM, 50, "hello").get(5, TimeUnit.SECONDS);
+            service.execute(PROGRAM, 50, "other input").get(5, TimeUnit.SECONDS);
+
+            assertEquals(2, stub.getSubmissions());
+            assertEquals(1L, service.stats().get("cacheHits"));
+        }
+    }
+
+    @Test
+    void gradesEveryTestCaseInOneBatch() throws Exception {
+        LocalStubExecutionClient stub = new LocalStubExecutionClient(2);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        try (CodeExecutionService service = new CodeExecutionService(stub, 10, 5, 5_000, 2, registry)) {
+            List<TestCase> tests = List.of(
+                    TestCase.parse("abc => abc"),
+                    TestCase.parse("abc => cba"),
+                    TestCase.parse("plain input"));
+            List<TestVerdict> verdicts = service.grade(PROGRAM, 50, tests).get(5, TimeUnit.SECONDS);
+
+            assertEquals(3, verdicts.size());
+            assertTrue(verdicts.get(0).isPassed());
+            assertEquals("Wrong Answer", verdicts.get(1).getVerdict());
+            assertTrue(verdicts.get(2).isPassed());
+            assertEquals(1.0, registry.counter("othello.judge.verdicts", "verdict", "Wrong Answer").count());
+        }
+    }
+
+    @Test
+    void failsWithTimeoutWhenTheRunNeverFinishes() {
+        LocalStubExecutionClient stub = new LocalStubExecutionClient(Integer.MAX_VALUE);
+        try (CodeExecutionService service = new CodeExecutionService(stub, 10, 5, 50, 2, new SimpleMeterRegistry())) {
+            ExecutionException e = assertThrows(ExecutionException.class,
+                    () -> service.execute(PROGRAM, 50, "hello").get(5, TimeUnit.SECONDS));
+            assertInstanceOf(TimeoutException.class, e.getCause());
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.othello.logging;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LogPipelineTests {
+
+    @Test
+    void coalescesRowsIntoBatches() {
+        InMemoryLogSink sink = new InMemoryLogSink();
+        LogPipeline pipeline = new LogPipeline(sink, 100, 10, 200, LogPipeline.DropPolicy.DROP_NEWEST, 0, 1, 1);
+        for (int i = 0; i < 25; i++) {
+            assertTrue(pipeline.enqueue(List.of("row", i)));
+        }
+        pipeline.close();
+
+        assertEquals(25, sink.getRows().size());
+        assertTrue(sink.getBatchSizes().size() < 25, "rows should be appended in batches");
+        assertEquals(25, pipeline.getWritten());
+        assertEquals(0, pipeline.getDropped());
+    }
+
+    @Test
+    void retriesFailedBatchesWithBackoff() {
+        AtomicInteger calls = new AtomicInteger();
+        InMemoryLogSink delegate = new InMemoryLogSink();
+        LogSink flaky = rows -> {
+            if (calls.incrementAndGet() < 3) throw new IOException("sheets unavailable");
+            delegate.append(rows);
+        };
+        LogPipeline pipeline = new LogPipeline(flaky, 100, 10, 10, LogPipeline.DropPolicy.DROP_NEWEST, 0, 5, 5);
+        pipeline.enqueue(List.of("only row"));
+
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (delegate.getRows().isEmpty() && System.currentTimeMillis() < deadline) {
+            Thread.onSpinWait();
+        }
+        pipeline.close();
+
+        assertEquals(1, delegate.getRows().size());
+        assertEquals(3, calls.get());
+        assertEquals(0, pipeline.getFailedBatches());
+    }
+
+    @Test
+    void dropsNewestRowsWhenQueueIsFull() {
+        // A sink that never returns keeps the flusher busy so the queue fills up
+        LogSink stuck = rows -> {
+            try {
+                Thread.sleep(10_000);
+            } catch (InterruptedException e) {
+                throw new IOException("interrupted");
+            }
+        };
+        LogPipeline pipeline = new LogPipeline(stuck, 2, 1, 10, LogPipeline.DropPolicy.DROP_NEWEST, 0, 1, 1);
+        int accepted = 0;
+        for (int i = 0; i < 10; i++) {
+            if (pipeline.enqueue(List.of(i))) accepted++;
+        }
+        assertTrue(accepted <= 3, "at most one in flight plus two queued");
+        assertTrue(pipeline.getDropped() >= 7);
+        pipeline.close(100);
+    }
+}
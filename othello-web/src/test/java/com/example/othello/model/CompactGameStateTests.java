@@ -0,0 +1,58 @@
+package com.example.othello.model;
+
+import com.example.othello.engine.BitBoard;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CompactGameStateTests {
+
+    @Test
+    void encodesTheBoardAsSixtyFourCharacters() {
+        GameState state = new GameState();
+        state.setLastMove(new int[]{2, 3});
+
+        CompactGameState compact = CompactGameState.of(state, 0);
+
+        assertEquals(64, compact.getBoard().length());
+        assertEquals('W', compact.getBoard().charAt(3 * 8 + 3));
+        assertEquals('B', compact.getBoard().charAt(3 * 8 + 4));
+        assertEquals('.', compact.getBoard().charAt(0));
+        assertEquals(19, compact.getLastMove());
+    }
+
+    @Test
+    void sendsOnlyHistoryAfterTheCursor() {
+        GameState state = new GameState();
+        state.getMoves().addMove(BitBoard.square(2, 3), false);
+        state.getMoves().addMove(BitBoard.square(2, 2), true);
+        state.getMoves().addMove(BitBoard.square(3, 2), false);
+
+        CompactGameState delta = CompactGameState.of(state, 2);
+        assertEquals(2, delta.getHistoryFrom());
+        assertEquals(3, delta.getHistorySize());
+        assertEquals(List.of("Black: (4, 3)"), delta.getHistory());
+
+        // A cursor past the end (e.g. after a reset) restarts from what the server has
+        CompactGameState reset = CompactGameState.of(new GameState(), 3);
+        assertEquals(0, reset.getHistoryFrom());
+        assertTrue(reset.getHistory().isEmpty());
+    }
+
+    @Test
+    void listsTheLegalSquaresOfTheSideToMove() {
+        GameState state = new GameState();
+        assertEquals(List.of(19, 26, 37, 44), CompactGameState.of(state, 0).getValidMoves());
+
+        // The cached masks follow the board as it changes
+        state.getPosition().applyMove(2, 3, BitBoard.BLACK);
+        state.setCurrentPlayer(BitBoard.WHITE);
+        assertEquals(List.of(18, 20, 34), CompactGameState.of(state, 0).getValidMoves());
+        assertEquals(state.getPosition().legalMoves(BitBoard.BLACK), state.legalMoves(BitBoard.BLACK));
+
+        state.setWinner(0);
+        assertTrue(CompactGameState.of(state, 0).getValidMoves().isEmpty());
+    }
+}
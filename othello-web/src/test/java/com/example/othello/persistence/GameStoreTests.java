@@ -0,0 +1,210 @@
+package com.example.othello.persistence;
+
+import com.example.othello.engine.BitBoard;
+import com.example.othello.engine.Game;
+import com.example.othello.model.GameSession;
+import com.example.othello.model.GameState;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class GameStoreTests {
+
+    // The tables, kept in memory behind mocked repositories
+    private final Map<String, GameRecord> gameRows = new ConcurrentHashMap<>();
+    private final List<MoveRecord> moveRows = new CopyOnWriteArrayList<>();
+    private final List<BoardSnapshot> snapshotRows = new CopyOnWriteArrayList<>();
+
+    // A submission write parks the writer thread until released
+    private final CountDownLatch writerBlocked = new CountDownLatch(1);
+    private final CountDownLatch releaseWriter = new CountDownLatch(1);
+
+    private GameStore store;
+
+    @AfterEach
+    void stopWriter() {
+        releaseWriter.countDown();
+        if (store != null) store.shutdown();
+    }
+
+    @Test
+    void snapshotPlusTailRestoresTheGameThroughPlaysAndUndo() {
+        store = store(10_000);
+        GameSession session = new GameSession("g1");
+        Game game = play(session, new Random(7), 25);
+        assertEquals(25, game.moves().size());
+
+        // Undo back to ply 15: the snapshot at 20 and the moves from 15 on are stale
+        GameState state = session.getState();
+        state.getMoves().truncate(15);
+        state.setCurrentPlayer(state.getMoves().replay(15, state.getPosition()));
+        store.save(session);
+        store.shutdown();
+
+        assertEquals(List.of(10), snapshotRows.stream().map(BoardSnapshot::getPly).toList());
+        assertEquals(5, moveRows.stream().filter(m -> m.getPly() >= 10).count());
+
+        GameSession loaded = store.load("g1");
+        assertNotNull(loaded);
+        GameState restored = loaded.getState();
+        assertEquals(state.getPosition().getBlack(), restored.getPosition().getBlack());
+        assertEquals(state.getPosition().getWhite(), restored.getPosition().getWhite());
+        assertArrayEquals(state.getMoves().toByteArray(), restored.getMoves().toByteArray());
+        assertEquals(state.getCurrentPlayer(), restored.getCurrentPlayer());
+        // Nothing was missing, so the next save only appends
+        assertEquals(15, loaded.getPersistedPlies());
+        assertNull(store.load("never-saved"));
+    }
+
+    @Test
+    void loadWaitsForTheGamesOwnQueuedWritesOnly() throws Exception {
+        store = store(10_000);
+        blockWriter();
+        GameSession session = new GameSession("g2");
+        play(session, new Random(11), 3);
+
+        CompletableFuture<GameSession> load = CompletableFuture.supplyAsync(() -> store.load("g2"));
+        assertThrows(TimeoutException.class, () -> load.get(200, TimeUnit.MILLISECONDS));
+        // A game with nothing queued does not wait behind the stuck writer
+        long started = System.nanoTime();
+        assertNull(store.load("g3"));
+        assertTrue(System.nanoTime() - started < TimeUnit.SECONDS.toNanos(1));
+
+        releaseWriter.countDown();
+        GameSession loaded = load.get(5, TimeUnit.SECONDS);
+        assertNotNull(loaded);
+        assertEquals(3, loaded.getState().getMoves().size());
+    }
+
+    @Test
+    void aRefusedWriteKeepsTheGamesEarlierWritesPending() throws Exception {
+        store = store(1);
+        blockWriter();
+        GameSession session = new GameSession("g4");
+        Game game = play(session, new Random(13), 1);
+        // The queue holds the first ply; the second is refused
+        play(session, game, new Random(13), 1);
+        assertEquals(1, store.getDropped());
+        assertEquals(-1, session.getPersistedPlies());
+
+        CompletableFuture<GameSession> load = CompletableFuture.supplyAsync(() -> store.load("g4"));
+        assertThrows(TimeoutException.class, () -> load.get(200, TimeUnit.MILLISECONDS));
+        releaseWriter.countDown();
+        assertEquals(1, load.get(5, TimeUnit.SECONDS).getState().getMoves().size());
+
+        // The next save rewrites the game, refused ply included
+        store.save(session);
+        store.shutdown();
+        GameSession loaded = store.load("g4");
+        assertArrayEquals(session.getState().getMoves().toByteArray(), loaded.getState().getMoves().toByteArray());
+    }
+
+    // ---------------- Helpers ----------------
+    private GameStore store(int queueCapacity) {
+        GameRecordRepository games = mock(GameRecordRepository.class);
+        when(games.findById(anyString())).thenAnswer(inv -> Optional.ofNullable(gameRows.get(inv.getArgument(0))));
+        when(games.save(any(GameRecord.class))).thenAnswer(inv -> {
+            GameRecord record = inv.getArgument(0);
+            gameRows.put(record.getGameId(), record);
+            return record;
+        });
+
+        MoveRecordRepository moves = mock(MoveRecordRepository.class);
+        when(moves.saveAll(anyList())).thenAnswer(inv -> {
+            List<MoveRecord> records = inv.getArgument(0);
+            moveRows.addAll(records);
+            return records;
+        });
+        when(moves.deleteFromPly(anyString(), anyInt())).thenAnswer(inv -> {
+            String gameId = inv.getArgument(0);
+            int ply = inv.getArgument(1);
+            moveRows.removeIf(m -> m.getGameId().equals(gameId) && m.getPly() >= ply);
+            return 0;
+        });
+        when(moves.findByGameIdAndPlyGreaterThanEqualOrderByPlyAsc(anyString(), anyInt())).thenAnswer(inv -> {
+            String gameId = inv.getArgument(0);
+            int ply = inv.getArgument(1);
+            return moveRows.stream().filter(m -> m.getGameId().equals(gameId) && m.getPly() >= ply)
+                    .sorted(Comparator.comparingInt(MoveRecord::getPly)).toList();
+        });
+
+        BoardSnapshotRepository snapshots = mock(BoardSnapshotRepository.class);
+        when(snapshots.save(any(BoardSnapshot.class))).thenAnswer(inv -> {
+            snapshotRows.add(inv.getArgument(0));
+            return inv.getArgument(0);
+        });
+        when(snapshots.deleteAfterPly(anyString(), anyInt())).thenAnswer(inv -> {
+            String gameId = inv.getArgument(0);
+            int ply = inv.getArgument(1);
+            snapshotRows.removeIf(s -> s.getGameId().equals(gameId) && s.getPly() > ply);
+            return 0;
+        });
+        when(snapshots.findTopByGameIdOrderByPlyDesc(anyString())).thenAnswer(inv -> snapshotRows.stream()
+                .filter(s -> s.getGameId().equals(inv.getArgument(0)))
+                .max(Comparator.comparingInt(BoardSnapshot::getPly)));
+
+        CodeSubmissionRepository submissions = mock(CodeSubmissionRepository.class);
+        when(submissions.save(any(CodeSubmissionRecord.class))).thenAnswer(inv -> {
+            writerBlocked.countDown();
+            releaseWriter.await();
+            return inv.getArgument(0);
+        });
+
+        GameStore store = new GameStore();
+        ReflectionTestUtils.setField(store, "enabled", true);
+        ReflectionTestUtils.setField(store, "queueCapacity", queueCapacity);
+        ReflectionTestUtils.setField(store, "batchSize", 200);
+        ReflectionTestUtils.setField(store, "snapshotInterval", 10);
+        ReflectionTestUtils.setField(store, "loadWaitMs", 5_000L);
+        ReflectionTestUtils.setField(store, "games", games);
+        ReflectionTestUtils.setField(store, "moves", moves);
+        ReflectionTestUtils.setField(store, "snapshots", snapshots);
+        ReflectionTestUtils.setField(store, "submissions", submissions);
+        TransactionTemplate transactions = new TransactionTemplate(mock(PlatformTransactionManager.class));
+        ReflectionTestUtils.setField(store, "transactions", transactions);
+        store.start();
+        return store;
+    }
+
+    // Parks the writer inside another game's commit, so everything queued after stays queued
+    private void blockWriter() throws InterruptedException {
+        store.saveSubmission("other", "player", "question", "code", 0, 0);
+        assertTrue(writerBlocked.await(5, TimeUnit.SECONDS));
+    }
+
+    private Game play(GameSession session, Random random, int plies) {
+        Game game = new Game();
+        session.getState().setPosition(game.position());
+        session.getState().setMoves(game.moves());
+        play(session, game, random, plies);
+        return game;
+    }
+
+    // Random legal moves, White's marked as the AI's, saved after each as the service does
+    private void play(GameSession session, Game game, Random random, int plies) {
+        for (int ply = 0; ply < plies && !game.isOver(); ply++) {
+            long moves = game.legalMoves();
+            for (int skip = random.nextInt(Long.bitCount(moves)); skip > 0; skip--) moves &= moves - 1;
+            game.play(Long.numberOfTrailingZeros(moves), game.sideToMove() == BitBoard.WHITE);
+            session.getState().setCurrentPlayer(game.sideToMove());
+            store.save(session);
+        }
+    }
+}
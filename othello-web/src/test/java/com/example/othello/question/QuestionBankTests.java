@@ -0,0 +1,75 @@
+package com.example.othello.question;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class QuestionBankTests {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void indexesTextUploadsByIdAndTag() throws IOException {
+        try (QuestionBank bank = new QuestionBank(dir.resolve("q.bank"), 1, 5)) {
+            String upload = "Reverse a string\nhello => olleh\n---\n@id sum\n@tags Math, easy\nAdd two numbers\n1 2 => 3\n";
+            assertEquals(2, bank.ingestText(stream(upload), "upload"));
+
+            assertEquals(List.of("hello => olleh"), bank.get("upload-1").getTestCases());
+            assertEquals("Add two numbers", bank.get("sum").getText());
+            assertEquals(List.of("sum"), bank.idsTagged("math"));
+
+            // New games take the latest upload in turn
+            assertEquals("upload-1", bank.next(null).getId());
+            assertEquals("sum", bank.next(null).getId());
+            assertEquals("upload-1", bank.next(null).getId());
+            assertEquals("sum", bank.next("EASY").getId());
+            assertNull(bank.next("unknown"));
+        }
+    }
+
+    @Test
+    void readsEvictedQuestionsBackFromTheSpool() throws IOException {
+        try (QuestionBank bank = new QuestionBank(dir.resolve("q.bank"), 2, 5)) {
+            StringBuilder upload = new StringBuilder();
+            for (int i = 0; i < 20; i++) upload.append("Question ").append(i).append("\n").append(i).append("\n---\n");
+            assertEquals(20, bank.ingestText(stream(upload.toString()), "many"));
+
+            for (int round = 0; round < 2; round++) {
+                for (int i = 0; i < 20; i++) {
+                    Question q = bank.get("many-" + (i + 1));
+                    assertEquals("Question " + i, q.getText());
+                    assertEquals(List.of(String.valueOf(i)), q.getTestCases());
+                }
+            }
+            assertEquals(2, bank.stats().get("cached"));
+        }
+    }
+
+    @Test
+    void loadsTheBundledWorkbook() throws IOException {
+        try (QuestionBank bank = new QuestionBank(dir.resolve("q.bank"), 16, 5);
+             InputStream in = getClass().getResourceAsStream("/questions.xlsx")) {
+            assertEquals(100, bank.ingestWorkbook(in, "questions"));
+
+            Question first = bank.get("questions-1");
+            assertTrue(first.getText().startsWith("What is the output?"));
+            assertTrue(first.getText().contains("printf"));
+            assertEquals(List.of("multiple-choice"), first.getTags());
+            // Answer B of the first row is "2"
+            assertEquals(List.of(" => 2"), first.getTestCases());
+        }
+    }
+
+    private static InputStream stream(String s) {
+        return new ByteArrayInputStream(s.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,190 @@
+package com.example.othello.service;
+
+import com.example.othello.engine.BitBoard;
+import com.example.othello.engine.Evaluator;
+import com.example.othello.engine.Game;
+import com.example.othello.engine.OpeningBook;
+import com.example.othello.engine.ParallelSearch;
+import com.example.othello.engine.Ponderer;
+import com.example.othello.engine.PositionCache;
+import com.example.othello.engine.Rules;
+import com.example.othello.engine.SearchResult;
+import com.example.othello.engine.SearchScheduler;
+import com.example.othello.engine.TranspositionTable;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class AiServiceTests {
+
+    private final TranspositionTable table = new TranspositionTable(1);
+    private final SearchScheduler scheduler = new SearchScheduler(2, 16, 60_000, 60_000, 60_000, 20);
+    private final Ponderer ponderer = mock(Ponderer.class);
+    private final OpeningBook book = mock(OpeningBook.class);
+    private final PositionCache cache = new PositionCache(64);
+
+    // A middlegame position, well outside the endgame solver's reach, with a real choice of moves
+    private BitBoard position;
+    private int player;
+    private long legal;
+    private long own, opp;
+
+    private AiService aiService;
+
+    @BeforeEach
+    void setUp() {
+        when(book.lookup(anyLong(), anyLong(), anyInt())).thenReturn(-1);
+        aiService = new AiService(table, new ParallelSearch(table, 0, Evaluator.HEURISTIC, scheduler), book,
+                Evaluator.HEURISTIC, ponderer, scheduler, cache, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(aiService, "defaultBudgetMs", 50L);
+        ReflectionTestUtils.setField(aiService, "maxBudgetMs", 1_000L);
+        ReflectionTestUtils.setField(aiService, "maxDepth", 4);
+        ReflectionTestUtils.setField(aiService, "endgameEmpties", 14);
+        ReflectionTestUtils.setField(aiService, "endgameBudgetMs", 1_000L);
+        ReflectionTestUtils.setField(aiService, "ponderInstantDepth", 10);
+        ReflectionTestUtils.setField(aiService, "cacheMinDepth", 10);
+        ReflectionTestUtils.setField(aiService, "hintBudgetMs", 50L);
+
+        Game game = new Game();
+        Random random = new Random(17);
+        for (int ply = 0; ply < 12; ply++) {
+            long moves = game.legalMoves();
+            for (int skip = random.nextInt(Long.bitCount(moves)); skip > 0; skip--) moves &= moves - 1;
+            game.play(Long.numberOfTrailingZeros(moves), false);
+        }
+        position = game.position().copy();
+        player = game.sideToMove();
+        own = position.discs(player);
+        opp = position.discs(BitBoard.opponent(player));
+        legal = BitBoard.legalMoves(own, opp);
+        assertTrue(Long.bitCount(legal) > 1);
+    }
+
+    @AfterEach
+    void stopScheduler() {
+        scheduler.shutdown();
+    }
+
+    @Test
+    void aDeepPonderedReplyIsPlayedWithoutSearching() throws Exception {
+        int move = lastLegal();
+        when(ponderer.take("g", own, opp)).thenReturn(new SearchResult(move, 40, 12, 90_000, 5_000_000));
+
+        SearchResult result = choose("g");
+
+        assertTrue(result.isPondered());
+        assertEquals(move, result.getMove());
+        assertEquals(12, result.getDepth());
+        assertEquals(0, table.getProbes());
+        // Kept for any game that reaches this position later
+        assertEquals(12, cache.get(position.getBlack(), position.getWhite(), player).getDepth());
+    }
+
+    @Test
+    void aShallowPonderedReplyIsSearchedAgain() throws Exception {
+        when(ponderer.take("g", own, opp)).thenReturn(new SearchResult(lastLegal(), 40, 3, 900, 5_000_000));
+
+        SearchResult result = choose("g");
+
+        assertFalse(result.isPondered());
+        assertEquals(4, result.getDepth());
+        assertTrue(table.getProbes() > 0);
+    }
+
+    @Test
+    void theBookStillStopsThePonderBeforeAnsweringFirst() throws Exception {
+        int move = lastLegal();
+        when(book.lookup(position.getBlack(), position.getWhite(), player)).thenReturn(move);
+        when(ponderer.take("g", own, opp)).thenReturn(new SearchResult(move, 40, 12, 90_000, 5_000_000));
+
+        SearchResult result = choose("g");
+
+        assertTrue(result.isFromBook());
+        assertEquals(move, result.getMove());
+        verify(ponderer).take("g", own, opp);
+        assertEquals(0, table.getProbes());
+    }
+
+    @Test
+    void aCachedReplyIsPlayedWithoutSearchingAndBeforeThePonder() throws Exception {
+        int move = lastLegal();
+        cache.put(position.getBlack(), position.getWhite(), player, new SearchResult(move, 40, 12, 90_000, 5_000_000));
+        when(ponderer.take("g", own, opp)).thenReturn(new SearchResult(firstLegal(), 10, 14, 90_000, 5_000_000));
+
+        SearchResult result = choose("g");
+
+        assertTrue(result.isCached());
+        assertEquals(move, result.getMove());
+        assertEquals(0, table.getProbes());
+        // The ponder was stopped all the same
+        verify(ponderer).take("g", own, opp);
+    }
+
+    @Test
+    void anIllegalCachedMoveFallsBackToASearch() throws Exception {
+        int occupied = Long.numberOfTrailingZeros(own);
+        cache.put(position.getBlack(), position.getWhite(), player,
+                new SearchResult(occupied, 40, 12, 90_000, 5_000_000));
+
+        SearchResult result = choose("g");
+
+        assertFalse(result.isCached());
+        assertTrue(Rules.isLegal(legal, result.getMove()));
+        assertTrue(table.getProbes() > 0);
+    }
+
+    @Test
+    void aHintIsAnsweredFromTheCacheHoweverShallow() {
+        int move = lastLegal();
+        cache.put(position.getBlack(), position.getWhite(), player, new SearchResult(move, 40, 2, 300, 1_000_000));
+
+        CompletableFuture<SearchResult> hint = aiService.hint(position, player, null);
+
+        assertTrue(hint.isDone());
+        assertTrue(hint.join().isCached());
+        assertEquals(move, hint.join().getMove());
+        assertEquals(0, scheduler.getCompleted());
+        assertEquals(0, table.getProbes());
+    }
+
+    @Test
+    void aHintWithNothingUsableCachedIsSearchedAndCached() throws Exception {
+        int occupied = Long.numberOfTrailingZeros(own);
+        cache.put(position.getBlack(), position.getWhite(), player, new SearchResult(occupied, 40, 1, 10, 1_000_000));
+
+        SearchResult result = aiService.hint(position, player, null).get(5, TimeUnit.SECONDS);
+
+        assertFalse(result.isCached());
+        assertTrue(Rules.isLegal(legal, result.getMove()));
+        assertEquals(1, scheduler.getCompleted());
+        // The next hint, or an AI reply in any game, can use it
+        assertEquals(result.getMove(), cache.get(position.getBlack(), position.getWhite(), player).getMove());
+        assertTrue(aiService.hint(position, player, null).join().isCached());
+    }
+
+    // ---------------- Helpers ----------------
+    private SearchResult choose(String gameId) throws Exception {
+        return aiService.schedule(gameId, 100L,
+                grant -> aiService.chooseMove(gameId, position, player, legal, grant, false)).get(5, TimeUnit.SECONDS);
+    }
+
+    // Any legal reply will do: the tests look at where the answer came from
+    private int firstLegal() {
+        return Long.numberOfTrailingZeros(legal);
+    }
+
+    private int lastLegal() {
+        int move = 63 - Long.numberOfLeadingZeros(legal);
+        assertTrue(Rules.isLegal(legal, move));
+        return move;
+    }
+}
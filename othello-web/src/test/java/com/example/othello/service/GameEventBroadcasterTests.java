@@ -0,0 +1,235 @@
+package com.example.othello.service;
+
+import com.example.othello.engine.Game;
+import com.example.othello.model.GameState;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameEventBroadcasterTests {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final List<RecordingEmitter> emitters = new CopyOnWriteArrayList<>();
+    // The next emitter created hangs on every send until released
+    private volatile boolean holdNext;
+    private GameEventBroadcaster broadcaster;
+
+    @AfterEach
+    void stopSenders() {
+        emitters.forEach(e -> e.release.countDown());
+        if (broadcaster != null) broadcaster.shutdown();
+    }
+
+    @Test
+    void eachSubscriberGetsEveryChangeInOrder() throws Exception {
+        broadcaster = broadcaster(1_000);
+        GameState state = new GameState();
+        Game game = game(state);
+        List<RecordingEmitter> subscribers = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            subscribers.add(subscribe("g", state, i % 2 == 1));
+            // Senders run at different speeds, so subscribers drift apart
+            subscribers.get(i).delayMillis = i;
+        }
+
+        Random random = new Random(3);
+        List<Integer> expected = new ArrayList<>(List.of(0));
+        for (int ply = 0; ply < 30 && !game.isOver(); ply++) {
+            playRandom(game, random);
+            broadcaster.publish("g", state);
+            expected.add(state.historySize());
+        }
+
+        for (RecordingEmitter subscriber : subscribers) {
+            subscriber.awaitStates(expected.size());
+            List<Integer> sizes = new ArrayList<>();
+            for (String json : subscriber.states) sizes.add(historySize(json, subscriber.compact));
+            assertEquals(expected, sizes);
+        }
+        assertEquals(6, broadcaster.subscriberCount());
+        assertEquals(0, broadcaster.getDropped());
+    }
+
+    @Test
+    void aSubscriberThatStopsReadingIsDroppedAtMaxBacklog() throws Exception {
+        broadcaster = broadcaster(4);
+        GameState state = new GameState();
+        Game game = game(state);
+        holdNext = true;
+        RecordingEmitter slow = subscribe("g", state, false);
+        holdNext = false;
+        RecordingEmitter fast = subscribe("g", state, false);
+        // The snapshot is taken off the queue, then its send hangs
+        assertTrue(slow.sending.await(5, TimeUnit.SECONDS));
+
+        Random random = new Random(5);
+        for (int ply = 1; ply <= 4; ply++) {
+            playRandom(game, random);
+            broadcaster.publish("g", state);
+        }
+        assertEquals(0, broadcaster.getDropped());
+        assertEquals(2, broadcaster.subscriberCount());
+
+        // One more than the backlog holds: cut loose without waiting on it
+        playRandom(game, random);
+        long started = System.nanoTime();
+        broadcaster.publish("g", state);
+        assertTrue(System.nanoTime() - started < TimeUnit.SECONDS.toNanos(1));
+        assertEquals(1, broadcaster.getDropped());
+        assertEquals(1, broadcaster.subscriberCount());
+
+        // The others carry on, and later changes skip the dropped one
+        playRandom(game, random);
+        broadcaster.publish("g", state);
+        fast.awaitStates(7);
+        assertEquals(7, fast.states.size());
+
+        // Once its send returns, the rest of its backlog is thrown away and the stream ends
+        slow.release.countDown();
+        assertTrue(slow.completed.await(5, TimeUnit.SECONDS));
+        assertEquals(1, slow.states.size());
+    }
+
+    @Test
+    void compactSubscribersJoiningAtDifferentPliesGetWholeHistoryThenDeltas() throws Exception {
+        broadcaster = broadcaster(1_000);
+        GameState state = new GameState();
+        Game game = game(state);
+        Random random = new Random(9);
+        playRandom(game, random);
+
+        RecordingEmitter early = subscribe("g", state, true);
+        for (int i = 0; i < 3; i++) {
+            playRandom(game, random);
+            broadcaster.publish("g", state);
+        }
+        RecordingEmitter late = subscribe("g", state, true);
+        for (int i = 0; i < 2; i++) {
+            playRandom(game, random);
+            broadcaster.publish("g", state);
+        }
+
+        early.awaitStates(6);
+        late.awaitStates(3);
+        // Both catch up from their own snapshot, then get the same small deltas
+        assertEquals(List.of(0, 1, 2, 3, 4, 5), historyFroms(early));
+        assertEquals(List.of(0, 4, 5), historyFroms(late));
+        assertEquals(early.states.subList(4, 6), late.states.subList(1, 3));
+        assertEquals(state.getMoveHistory(), history(early));
+        assertEquals(state.getMoveHistory(), history(late));
+    }
+
+    // ---------------- Helpers ----------------
+    private GameEventBroadcaster broadcaster(int maxBacklog) {
+        GameEventBroadcaster broadcaster = new GameEventBroadcaster(4) {
+            @Override
+            SseEmitter newEmitter() {
+                RecordingEmitter emitter = new RecordingEmitter(holdNext);
+                emitters.add(emitter);
+                return emitter;
+            }
+        };
+        ReflectionTestUtils.setField(broadcaster, "emitterTimeoutMs", 60_000L);
+        ReflectionTestUtils.setField(broadcaster, "maxBacklog", maxBacklog);
+        ReflectionTestUtils.setField(broadcaster, "objectMapper", objectMapper);
+        return broadcaster;
+    }
+
+    // Subscribes as the service does, under the game's (here uncontended) lock
+    private RecordingEmitter subscribe(String gameId, GameState state, boolean compact) {
+        RecordingEmitter emitter = (RecordingEmitter) broadcaster.subscribe(gameId, state, compact);
+        emitter.compact = compact;
+        return emitter;
+    }
+
+    private static Game game(GameState state) {
+        Game game = new Game();
+        state.setPosition(game.position());
+        state.setMoves(game.moves());
+        return game;
+    }
+
+    private static void playRandom(Game game, Random random) {
+        long moves = game.legalMoves();
+        for (int skip = random.nextInt(Long.bitCount(moves)); skip > 0; skip--) moves &= moves - 1;
+        game.play(Long.numberOfTrailingZeros(moves), false);
+    }
+
+    private int historySize(String json, boolean compact) throws IOException {
+        JsonNode state = objectMapper.readTree(json);
+        return compact ? state.get("historySize").asInt() : state.get("moveHistory").size();
+    }
+
+    private List<Integer> historyFroms(RecordingEmitter emitter) throws IOException {
+        List<Integer> froms = new ArrayList<>();
+        for (String json : emitter.states) froms.add(objectMapper.readTree(json).get("historyFrom").asInt());
+        return froms;
+    }
+
+    // The history a compact client rebuilds by splicing each delta in at its historyFrom
+    private List<String> history(RecordingEmitter emitter) throws IOException {
+        List<String> lines = new ArrayList<>();
+        for (String json : emitter.states) {
+            JsonNode delta = objectMapper.readTree(json);
+            lines.subList(delta.get("historyFrom").asInt(), lines.size()).clear();
+            delta.get("history").forEach(line -> lines.add(line.asText()));
+        }
+        return lines;
+    }
+
+    /** Records the JSON of every state event; sends can be held up to play a client that stopped reading. */
+    static class RecordingEmitter extends SseEmitter {
+        final List<String> states = new CopyOnWriteArrayList<>();
+        final CountDownLatch sending = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final CountDownLatch completed = new CountDownLatch(1);
+        final boolean held;
+        volatile long delayMillis;
+        boolean compact;
+
+        RecordingEmitter(boolean held) {
+            this.held = held;
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            sending.countDown();
+            try {
+                if (held) release.await();
+                if (delayMillis > 0) Thread.sleep(delayMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException(e);
+            }
+            for (DataWithMediaType part : builder.build()) {
+                if (MediaType.APPLICATION_JSON.equals(part.getMediaType())) states.add((String) part.getData());
+            }
+        }
+
+        @Override
+        public void complete() {
+            completed.countDown();
+            super.complete();
+        }
+
+        void awaitStates(int count) throws InterruptedException {
+            long deadline = System.currentTimeMillis() + 5_000;
+            while (states.size() < count && System.currentTimeMillis() < deadline) Thread.sleep(5);
+            assertEquals(count, states.size());
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package com.example.othello.service;
+
+import com.example.othello.model.GameSession;
+import com.example.othello.persistence.GameStore;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class GameSessionRegistryTests {
+
+    private final GameStore store = mock(GameStore.class);
+    private final AiService aiService = mock(AiService.class);
+    private final GameEventBroadcaster events = mock(GameEventBroadcaster.class);
+
+    private GameSessionRegistry registry(long idleTimeoutMinutes) {
+        GameSessionRegistry registry = new GameSessionRegistry();
+        ReflectionTestUtils.setField(registry, "idleTimeoutMinutes", idleTimeoutMinutes);
+        ReflectionTestUtils.setField(registry, "store", store);
+        ReflectionTestUtils.setField(registry, "aiService", aiService);
+        ReflectionTestUtils.setField(registry, "events", events);
+        return registry;
+    }
+
+    @Test
+    void resumesStoredGamesAndCreatesUnknownOnes() {
+        GameSession stored = new GameSession("saved");
+        when(store.load("saved")).thenReturn(stored);
+        GameSessionRegistry registry = registry(30);
+
+        assertSame(stored, registry.get("saved"));
+        assertSame(stored, registry.get("saved"));
+        verify(store, times(1)).load("saved");
+
+        assertEquals("fresh", registry.get("fresh").getGameId());
+        assertEquals(GameSessionRegistry.DEFAULT_GAME_ID, registry.get(null).getGameId());
+        assertSame(registry.get(" "), registry.get(null));
+        assertEquals(3, registry.size());
+    }
+
+    @Test
+    void evictsIdleUnlockedGamesAndStopsTheirPondersAndStreams() throws Exception {
+        GameSessionRegistry registry = registry(0);
+        GameSession busy = registry.get("busy");
+        GameSession idle = registry.get("idle");
+        Thread.sleep(5);
+
+        // A game mid-request keeps its lock and stays
+        CompletableFuture<Void> holding = new CompletableFuture<>();
+        CompletableFuture<Void> done = new CompletableFuture<>();
+        new Thread(() -> {
+            busy.getLock().lock();
+            try {
+                holding.complete(null);
+                done.join();
+            } finally {
+                busy.getLock().unlock();
+            }
+        }).start();
+        holding.get(5, TimeUnit.SECONDS);
+        registry.evictIdleSessions();
+        done.complete(null);
+
+        assertEquals(1, registry.size());
+        assertTrue(registry.all().contains(busy));
+        verify(aiService).cancelPonder("idle");
+        verify(events).close("idle");
+        verify(aiService, never()).cancelPonder("busy");
+
+        // Coming back resumes it from the store, as a new copy
+        assertNotSame(idle, registry.get("idle"));
+        verify(store, times(2)).load("idle");
+    }
+
+    @Test
+    void lockNeverHandsOutAnEvictedCopy() throws Exception {
+        // Evicts anything not touched this millisecond, so eviction races every get
+        GameSessionRegistry registry = registry(0);
+        AtomicReference<GameSession> holder = new AtomicReference<>();
+        AtomicBoolean stop = new AtomicBoolean();
+        List<String> failures = new ArrayList<>();
+
+        Thread evictor = new Thread(() -> {
+            while (!stop.get()) registry.evictIdleSessions();
+        });
+        List<Thread> workers = new ArrayList<>();
+        for (int w = 0; w < 4; w++) {
+            workers.add(new Thread(() -> {
+                for (int i = 0; i < 500; i++) {
+                    // Now and then leave the game alone long enough to look idle
+                    if (i % 10 == 0) pause();
+                    GameSession session = registry.lock("g");
+                    try {
+                        // Only one copy of the game may be worked on at a time
+                        if (!holder.compareAndSet(null, session)) {
+                            synchronized (failures) {
+                                failures.add("two copies of the game locked at once");
+                            }
+                        }
+                        if (!registry.all().contains(session)) {
+                            synchronized (failures) {
+                                failures.add("locked session is not registered");
+                            }
+                        }
+                        holder.set(null);
+                    } finally {
+                        session.getLock().unlock();
+                    }
+                }
+            }));
+        }
+        evictor.start();
+        workers.forEach(Thread::start);
+        for (Thread worker : workers) worker.join(30_000);
+        stop.set(true);
+        evictor.join(5_000);
+
+        assertEquals(List.of(), failures);
+        // Evictions did happen, and each one resumed the game from the store
+        verify(store, atLeast(2)).load("g");
+    }
+
+    private static void pause() {
+        try {
+            Thread.sleep(2);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package com.example.othello.service;
+
+import com.example.othello.engine.BitBoard;
+import com.example.othello.engine.Evaluator;
+import com.example.othello.engine.OpeningBook;
+import com.example.othello.engine.ParallelSearch;
+import com.example.othello.engine.Ponderer;
+import com.example.othello.engine.PositionCache;
+import com.example.othello.engine.Rules;
+import com.example.othello.engine.SearchScheduler;
+import com.example.othello.engine.TranspositionTable;
+import com.example.othello.logging.LogPipeline;
+import com.example.othello.model.GameSession;
+import com.example.othello.model.GameState;
+import com.example.othello.persistence.GameStore;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class OthelloServiceTests {
+
+    private final GameSession session = new GameSession("g");
+    private final GameSessionRegistry sessions = mock(GameSessionRegistry.class);
+    private final GameEventBroadcaster events = mock(GameEventBroadcaster.class);
+    private final GameStore gameStore = mock(GameStore.class);
+    private final SearchScheduler scheduler = new SearchScheduler(2, 16, 60_000, 60_000, 60_000, 20);
+
+    // What subscribers were sent, as "plies played/side to move" at each publish
+    private final List<String> published = new CopyOnWriteArrayList<>();
+
+    private OthelloService service;
+
+    @BeforeEach
+    void setUp() {
+        when(sessions.lock(anyString())).thenAnswer(inv -> {
+            session.getLock().lock();
+            return session;
+        });
+        doAnswer(inv -> {
+            GameState state = inv.getArgument(1);
+            assertTrue(session.getLock().isHeldByCurrentThread());
+            published.add(state.getMoves().size() + "/" + state.getCurrentPlayer());
+            return null;
+        }).when(events).publish(anyString(), any(GameState.class));
+
+        service = new OthelloService();
+        ReflectionTestUtils.setField(service, "sessions", sessions);
+        ReflectionTestUtils.setField(service, "aiService", aiService());
+        ReflectionTestUtils.setField(service, "logPipeline", mock(LogPipeline.class));
+        ReflectionTestUtils.setField(service, "events", events);
+        ReflectionTestUtils.setField(service, "gameStore", gameStore);
+        ReflectionTestUtils.setField(service, "meterRegistry", new SimpleMeterRegistry());
+        service.registerMeters();
+    }
+
+    @AfterEach
+    void stopScheduler() {
+        scheduler.shutdown();
+    }
+
+    @Test
+    void playTurnPublishesTheHumanMoveBeforeTheReply() throws Exception {
+        GameState state = service.playTurn("g", 2, 3, 50L, false).get(5, TimeUnit.SECONDS);
+
+        // Black's d3, then White's reply, each pushed and queued for the database as it happened
+        assertEquals(List.of("1/2", "2/1"), published);
+        verify(gameStore, times(2)).save(session);
+        assertEquals(2, state.getMoves().size());
+        assertEquals(BitBoard.BLACK, state.getCurrentPlayer());
+        assertNotNull(state.getAiSearch());
+        assertEquals(1, scheduler.getCompleted());
+        assertFalse(session.getLock().isLocked());
+    }
+
+    @Test
+    void anIllegalTurnIsAnsweredAtOnceWithoutQueueingASearch() {
+        CompletableFuture<GameState> turn = service.playTurn("g", 0, 0, 50L, false);
+
+        assertTrue(turn.isDone());
+        assertEquals(0, turn.join().getMoves().size());
+        assertEquals(BitBoard.BLACK, turn.join().getCurrentPlayer());
+        assertEquals(List.of(), published);
+        verifyNoInteractions(gameStore);
+        assertEquals(0, scheduler.getCompleted());
+        assertFalse(session.getLock().isLocked());
+    }
+
+    @Test
+    void hintsAreSearchedOnceThenServedFromTheCache() throws Exception {
+        Map<String, Object> first = service.getHint("g", 50L).get(5, TimeUnit.SECONDS);
+        assertEquals(true, first.get("success"));
+        assertEquals("search", first.get("source"));
+        int square = BitBoard.square((Integer) first.get("row"), (Integer) first.get("col"));
+        assertTrue(Rules.isLegal(session.getState().legalMoves(BitBoard.BLACK), square));
+        // The game is not held while the hint is searched
+        assertFalse(session.getLock().isLocked());
+
+        Map<String, Object> second = service.getHint("g", 50L).get(5, TimeUnit.SECONDS);
+        assertEquals("cache", second.get("source"));
+        assertEquals(first.get("row"), second.get("row"));
+        assertEquals(first.get("col"), second.get("col"));
+        assertEquals(1, scheduler.getCompleted());
+    }
+
+    @Test
+    void noHintIsSearchedOffBlacksTurn() {
+        session.getState().setCurrentPlayer(BitBoard.WHITE);
+
+        Map<String, Object> hint = service.getHint("g", 50L).join();
+
+        assertEquals(false, hint.get("success"));
+        assertEquals(0, scheduler.getCompleted());
+    }
+
+    @Test
+    void subscribeTakesTheSnapshotUnderTheGameLock() {
+        when(events.subscribe(eq("g"), same(session.getState()), eq(true))).thenAnswer(inv -> {
+            assertTrue(session.getLock().isHeldByCurrentThread());
+            return null;
+        });
+
+        service.subscribe("g", true);
+
+        verify(events).subscribe("g", session.getState(), true);
+        assertFalse(session.getLock().isLocked());
+    }
+
+    // ---------------- Helpers ----------------
+    // A real engine on a small table: no book, no pondering, and shallow searches
+    private AiService aiService() {
+        TranspositionTable table = new TranspositionTable(1);
+        AiService aiService = new AiService(table, new ParallelSearch(table, 0, Evaluator.HEURISTIC, scheduler),
+                OpeningBook.empty(), Evaluator.HEURISTIC, mock(Ponderer.class), scheduler, new PositionCache(64),
+                new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(aiService, "defaultBudgetMs", 50L);
+        ReflectionTestUtils.setField(aiService, "maxBudgetMs", 1_000L);
+        ReflectionTestUtils.setField(aiService, "maxDepth", 4);
+        ReflectionTestUtils.setField(aiService, "endgameEmpties", 0);
+        ReflectionTestUtils.setField(aiService, "cacheMinDepth", 10);
+        ReflectionTestUtils.setField(aiService, "ponderInstantDepth", 10);
+        ReflectionTestUtils.setField(aiService, "hintBudgetMs", 50L);
+        return aiService;
+    }
+}